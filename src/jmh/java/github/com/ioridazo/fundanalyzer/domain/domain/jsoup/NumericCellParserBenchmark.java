@@ -0,0 +1,50 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表の数値の解析処理を従来の置換による解析と比較する
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec} で実行する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumericCellParserBenchmark {
+
+    @Param({"1,234,567", "△12,345", "※1 1,000,000", "注2 523,400株", "－"})
+    String value;
+
+    private NumericCellParser numericCellParser;
+
+    @Setup
+    public void setUp() {
+        numericCellParser = new NumericCellParser();
+    }
+
+    @Benchmark
+    public Optional<Long> scan() {
+        return numericCellParser.parse(value);
+    }
+
+    @Benchmark
+    public Optional<Long> replace() {
+        return numericCellParser.parseByReplacing(value);
+    }
+}
@@ -0,0 +1,210 @@
+package github.com.ioridazo.fundanalyzer.client.edinet;
+
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRestClientException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * EDINETから取得した書類一覧と書類をローカルディレクトリに保管する
+ * <p>
+ * 記録モードではEDINETから取得したレスポンスをアーカイブに保存し、
+ * 再生モードではEDINETにアクセスせずにアーカイブからレスポンスを返却する。
+ * アーカイブは書類一覧を {@code list/<提出日>_<取得情報>.json}、書類を {@code documents/<書類管理番号>.zip} として保管する。
+ */
+@Component
+class EdinetArchive {
+
+    private static final Logger log = LogManager.getLogger(EdinetArchive.class);
+
+    private final Mode mode;
+    private final Path listDirectory;
+    private final Path documentDirectory;
+
+    EdinetArchive(
+            @Value("${app.config.edinet.archive.mode}") final String mode,
+            @Value("${app.settings.file.path.edinet-archive}") final String directory) {
+        this.mode = Mode.fromValue(mode);
+        this.listDirectory = Paths.get(directory, "list");
+        this.documentDirectory = Paths.get(directory, "documents");
+    }
+
+    /**
+     * アーカイブから再生するか
+     *
+     * @return 再生モードのときは true
+     */
+    boolean isReplay() {
+        return Mode.REPLAY == mode;
+    }
+
+    /**
+     * アーカイブに記録するか
+     *
+     * @return 記録モードのときは true
+     */
+    boolean isRecord() {
+        return Mode.RECORD == mode;
+    }
+
+    /**
+     * アーカイブから書類一覧のレスポンスボディを取得する
+     *
+     * @param parameter パラメータ
+     * @return レスポンスボディの入力ストリーム
+     */
+    InputStream replayList(final ListRequestParameter parameter) {
+        // 提出書類一覧にはメタデータも含まれる
+        final List<ListType> typeList = ListType.DEFAULT == parameter.getType()
+                ? List.of(ListType.DEFAULT, ListType.GET_LIST)
+                : List.of(ListType.GET_LIST);
+        for (final ListType type : typeList) {
+            final Path file = listFile(parameter.getDate(), type);
+            if (Files.exists(file)) {
+                try {
+                    return Files.newInputStream(file);
+                } catch (IOException e) {
+                    throw new FundanalyzerRestClientException(
+                            MessageFormat.format("アーカイブの書類一覧を読み込めませんでした。\tファイル:{0}", file), e);
+                }
+            }
+        }
+        throw new FundanalyzerRestClientException(MessageFormat.format(
+                "アーカイブに書類一覧が存在しません。記録モードで取得してください。\t取得対象日:{0}", parameter.getDate()));
+    }
+
+    /**
+     * アーカイブから書類を保存先にコピーする
+     *
+     * @param docId 書類管理番号
+     * @param path  保存先
+     */
+    void replayDocument(final String docId, final Path path) {
+        final Path file = documentFile(docId);
+        if (!Files.exists(file)) {
+            throw new FundanalyzerRestClientException(MessageFormat.format(
+                    "アーカイブに書類が存在しません。記録モードで取得してください。\t書類管理番号:{0}", docId));
+        }
+        try {
+            Files.copy(file, path);
+        } catch (FileAlreadyExistsException e) {
+            // ファイルが既に存在していた場合、throwしない
+        } catch (IOException e) {
+            throw new FundanalyzerRestClientException(
+                    MessageFormat.format("アーカイブの書類をコピーできませんでした。\tファイル:{0}", file), e);
+        }
+    }
+
+    /**
+     * 書類一覧のレスポンスボディをアーカイブに保存する
+     *
+     * @param parameter パラメータ
+     * @param body      レスポンスボディを書き出したファイル
+     */
+    void recordList(final ListRequestParameter parameter, final Path body) {
+        if (Mode.RECORD != mode) {
+            return;
+        }
+
+        final Path file = listFile(parameter.getDate(), parameter.getType());
+        try {
+            Files.createDirectories(listDirectory);
+            // 書き込み途中のファイルを再生しないように、一時ファイルから置き換える
+            final Path temporary = Files.createTempFile(listDirectory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.copy(body, temporary, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // 置き換えられなかったときは一時ファイルを残さない
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn(FundanalyzerLogClient.toClientLogObject(
+                    MessageFormat.format("書類一覧をアーカイブに保存できませんでした。\tファイル:{0}", file),
+                    Category.DOCUMENT,
+                    Process.EDINET
+            ), e);
+        }
+    }
+
+    /**
+     * ダウンロードした書類をアーカイブに保存する
+     *
+     * @param docId 書類管理番号
+     * @param path  ダウンロードした書類
+     */
+    void recordDocument(final String docId, final Path path) {
+        if (Mode.RECORD != mode) {
+            return;
+        }
+
+        final Path file = documentFile(docId);
+        try {
+            Files.createDirectories(documentDirectory);
+            final Path temporary = Files.createTempFile(documentDirectory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.copy(path, temporary, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // 置き換えられなかったときは一時ファイルを残さない
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn(FundanalyzerLogClient.toClientLogObject(
+                    MessageFormat.format("書類をアーカイブに保存できませんでした。\t書類管理番号:{0}", docId),
+                    Category.DOCUMENT,
+                    Process.DOWNLOAD
+            ), e);
+        }
+    }
+
+    private Path listFile(final LocalDate date, final ListType type) {
+        return listDirectory.resolve(date + "_" + type.toValue() + ".json");
+    }
+
+    private Path documentFile(final String docId) {
+        return documentDirectory.resolve(docId + ".zip");
+    }
+
+    enum Mode {
+        // EDINETから取得する
+        LIVE("live"),
+        // EDINETから取得してアーカイブに保存する
+        RECORD("record"),
+        // アーカイブから取得する
+        REPLAY("replay"),
+        ;
+
+        private final String value;
+
+        Mode(final String value) {
+            this.value = value;
+        }
+
+        static Mode fromValue(final String value) {
+            return Arrays.stream(values())
+                    .filter(v -> v.value.equals(value))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            MessageFormat.format("EDINETのアーカイブモードが誤っています。\tモード:{0}", value)));
+        }
+    }
+}
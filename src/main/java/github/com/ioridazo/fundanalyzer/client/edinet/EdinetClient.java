@@ -1,15 +1,21 @@
 package github.com.ioridazo.fundanalyzer.client.edinet;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.AcquisitionRequestParameter;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.EdinetResponse;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Metadata;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRestClientException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.sleuth.annotation.NewSpan;
 import org.springframework.http.HttpMethod;
@@ -23,14 +29,20 @@ import org.springframework.web.client.RestTemplate;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Component
 public class EdinetClient {
@@ -39,12 +51,24 @@ public class EdinetClient {
 
     private final RestTemplate restTemplate;
     private final String baseUri;
+    private final RequestLimiter requestLimiter;
+    private final EdinetListCache edinetListCache;
+    private final EdinetArchive edinetArchive;
+    // レスポンスボディの入力ストリームは呼び出し元で閉じる
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
 
     public EdinetClient(
-            final RestTemplate restTemplate,
-            @Value("${app.api.edinet}") final String baseUri) {
+            @Qualifier("edinetRestTemplate") final RestTemplate restTemplate,
+            @Value("${app.api.edinet}") final String baseUri,
+            @Value("${app.config.edinet.requests-per-second}") final double requestsPerSecond,
+            @Value("${app.config.edinet.max-in-flight}") final int maxInFlight,
+            final EdinetListCache edinetListCache,
+            final EdinetArchive edinetArchive) {
         this.restTemplate = restTemplate;
         this.baseUri = baseUri;
+        this.requestLimiter = new RequestLimiter(requestsPerSecond, maxInFlight);
+        this.edinetListCache = edinetListCache;
+        this.edinetArchive = edinetArchive;
     }
 
     /**
@@ -56,41 +80,135 @@ public class EdinetClient {
      */
     @NewSpan
     public EdinetResponse list(final ListRequestParameter parameter) {
+        String message;
+        if (ListType.DEFAULT.equals(parameter.getType())) {
+            message = MessageFormat.format("書類一覧（メタデータ）取得処理を実行します。\t取得対象日:{0}", parameter.getDate());
+        } else {
+            message = MessageFormat.format("書類一覧（提出書類一覧及びメタデータ）取得処理を実行します。\t取得対象日:{0}", parameter.getDate());
+        }
+        log.info(FundanalyzerLogClient.toClientLogObject(
+                message,
+                Category.DOCUMENT,
+                Process.EDINET
+        ));
+
+        final EdinetResponse edinetResponse = fetchList(
+                parameter,
+                this::readResponse,
+                er -> Optional.ofNullable(er).map(EdinetResponse::getMetadata).orElse(null)
+        );
+
+        if (ListType.DEFAULT.equals(parameter.getType())) {
+            message = MessageFormat.format("書類一覧（メタデータ）を正常に取得しました。\t取得対象日:{0}\t対象ファイル件数:{1}",
+                    parameter.getDate(),
+                    Optional.ofNullable(edinetResponse)
+                            .map(er -> er.getMetadata().getResultset().getCount())
+                            .orElse("0"));
+        } else {
+            message = "書類一覧（提出書類一覧及びメタデータ）を正常に取得しました。データベースへの登録作業を開始します。";
+        }
+        log.info(FundanalyzerLogClient.toClientLogObject(
+                message,
+                Category.DOCUMENT,
+                Process.EDINET
+        ));
+
+        return edinetResponse;
+    }
+
+    /**
+     * EDINETの書類一覧API<br/>
+     * 提出書類一覧を読み取りながら、指定件数ごとに処理する
+     * <p>
+     * 提出書類一覧の全件をオブジェクトに変換せずに処理するため、提出書類の多い提出日でもメモリ使用量を抑えられる。
+     *
+     * @param parameter パラメータ
+     * @param batchSize まとめて処理する件数
+     * @param consumer  提出書類一覧を処理する
+     * @return メタデータ
+     */
+    @NewSpan
+    public Metadata listResults(
+            final ListRequestParameter parameter,
+            final int batchSize,
+            final Consumer<List<Results>> consumer) {
+        log.info(FundanalyzerLogClient.toClientLogObject(
+                MessageFormat.format("書類一覧（提出書類一覧及びメタデータ）取得処理を実行します。\t取得対象日:{0}", parameter.getDate()),
+                Category.DOCUMENT,
+                Process.EDINET
+        ));
+
+        final Metadata metadata = fetchList(parameter, body -> readResults(body, batchSize, consumer), Function.identity());
+
+        log.info(FundanalyzerLogClient.toClientLogObject(
+                MessageFormat.format("書類一覧（提出書類一覧及びメタデータ）を正常に取得しました。\t取得対象日:{0}\t対象ファイル件数:{1}",
+                        parameter.getDate(),
+                        Optional.ofNullable(metadata)
+                                .map(Metadata::getResultset)
+                                .map(Metadata.ResultSet::getCount)
+                                .orElse("0")),
+                Category.DOCUMENT,
+                Process.EDINET
+        ));
+
+        return metadata;
+    }
+
+    /**
+     * 書類一覧のレスポンスボディを取得して読み取る
+     * <p>
+     * アーカイブ、キャッシュの順に取得し、存在しなかったらEDINETから取得する。
+     * いずれもレスポンスボディ全体をメモリに保持せずに、入力ストリームから読み取る。
+     *
+     * @param parameter パラメータ
+     * @param reader    レスポンスボディを読み取る
+     * @param metadata  読み取った結果からメタデータを取得する
+     * @param <T>       読み取った結果の型
+     * @return 読み取った結果
+     */
+    private <T> T fetchList(
+            final ListRequestParameter parameter,
+            final Function<InputStream, T> reader,
+            final Function<T, Metadata> metadata) {
         try {
-            String message;
-            if (ListType.DEFAULT.equals(parameter.getType())) {
-                message = MessageFormat.format("書類一覧（メタデータ）取得処理を実行します。\t取得対象日:{0}", parameter.getDate());
-            } else {
-                message = MessageFormat.format("書類一覧（提出書類一覧及びメタデータ）取得処理を実行します。\t取得対象日:{0}", parameter.getDate());
+            if (edinetArchive.isReplay()) {
+                final T result;
+                try (InputStream body = edinetArchive.replayList(parameter)) {
+                    result = reader.apply(body);
+                }
+
+                log.info(FundanalyzerLogClient.toClientLogObject(
+                        MessageFormat.format("書類一覧をアーカイブから取得しました。\t取得対象日:{0}", parameter.getDate()),
+                        Category.DOCUMENT,
+                        Process.EDINET
+                ));
+                return result;
             }
-            log.info(FundanalyzerLogClient.toClientLogObject(
-                    message,
-                    Category.DOCUMENT,
-                    Process.EDINET
-            ));
 
-            final EdinetResponse edinetResponse = restTemplate.getForObject(
-                    baseUri + "/api/v1/documents.json?date={date}&type={type}",
-                    EdinetResponse.class,
-                    Map.of("date", parameter.getDate().toString(), "type", parameter.getType().toValue())
-            );
+            final Optional<InputStream> cached = edinetListCache.find(parameter);
+            if (cached.isPresent()) {
+                final T result;
+                try (InputStream body = cached.get()) {
+                    result = reader.apply(body);
+                }
 
-            if (ListType.DEFAULT.equals(parameter.getType())) {
-                message = MessageFormat.format("書類一覧（メタデータ）を正常に取得しました。\t取得対象日:{0}\t対象ファイル件数:{1}",
-                        parameter.getDate(),
-                        Optional.ofNullable(edinetResponse)
-                                .map(er -> er.getMetadata().getResultset().getCount())
-                                .orElse("0"));
-            } else {
-                message = "書類一覧（提出書類一覧及びメタデータ）を正常に取得しました。データベースへの登録作業を開始します。";
+                log.info(FundanalyzerLogClient.toClientLogObject(
+                        MessageFormat.format("書類一覧をキャッシュから取得しました。\t取得対象日:{0}", parameter.getDate()),
+                        Category.DOCUMENT,
+                        Process.EDINET
+                ));
+                return result;
             }
-            log.info(FundanalyzerLogClient.toClientLogObject(
-                    message,
-                    Category.DOCUMENT,
-                    Process.EDINET
-            ));
 
-            return edinetResponse;
+            return limit(() -> restTemplate.execute(
+                    baseUri + "/api/v1/documents.json?date={date}&type={type}",
+                    HttpMethod.GET,
+                    request -> request
+                            .getHeaders()
+                            .setAccept(Arrays.asList(MediaType.APPLICATION_JSON, MediaType.ALL)),
+                    response -> readAndStore(parameter, response.getBody(), reader, metadata),
+                    Map.of("date", parameter.getDate().toString(), "type", parameter.getType().toValue())
+            ));
         } catch (final RestClientResponseException e) {
             log.error(FundanalyzerLogClient.toClientLogObject(
                     MessageFormat.format(
@@ -119,6 +237,8 @@ public class EdinetClient {
         } catch (final ResourceAccessException e) {
             throw new FundanalyzerRestClientException(
                     "IO系のエラーにより、HTTP通信に失敗しました。スタックトレースを参考に原因を特定してください。", e);
+        } catch (final IOException e) {
+            throw new FundanalyzerRestClientException("書類一覧のレスポンスを読み取れませんでした。", e);
         }
     }
 
@@ -138,15 +258,21 @@ public class EdinetClient {
                     Process.DOWNLOAD
             ));
 
-            restTemplate.execute(
-                    baseUri + "/api/v1/documents/{docId}?type={type}",
-                    HttpMethod.GET,
-                    request -> request
-                            .getHeaders()
-                            .setAccept(Arrays.asList(MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL)),
-                    response -> copyFile(response.getBody(), Paths.get(storagePath + "/" + parameter.getDocId() + ".zip")),
-                    Map.of("docId", parameter.getDocId(), "type", parameter.getType().toValue())
-            );
+            final Path path = Paths.get(storagePath + "/" + parameter.getDocId() + ".zip");
+            if (edinetArchive.isReplay()) {
+                edinetArchive.replayDocument(parameter.getDocId(), path);
+            } else {
+                limit(() -> restTemplate.execute(
+                        baseUri + "/api/v1/documents/{docId}?type={type}",
+                        HttpMethod.GET,
+                        request -> request
+                                .getHeaders()
+                                .setAccept(Arrays.asList(MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL)),
+                        response -> copyFile(response.getBody(), path),
+                        Map.of("docId", parameter.getDocId(), "type", parameter.getType().toValue())
+                ));
+                edinetArchive.recordDocument(parameter.getDocId(), path);
+            }
 
             log.info(FundanalyzerLogClient.toClientLogObject(
                     MessageFormat.format("書類のダウンロードが正常に実行されました。\t書類管理番号:{0}", parameter.getDocId()),
@@ -189,6 +315,147 @@ public class EdinetClient {
         }
     }
 
+    /**
+     * EDINETから取得した書類一覧のレスポンスボディを読み取る
+     * <p>
+     * キャッシュまたはアーカイブに保存するときは、読み取りながら一時ファイルに書き出し、
+     * 正常に取得できたときにその一時ファイルを保存する。
+     *
+     * @param parameter パラメータ
+     * @param body      レスポンスボディ
+     * @param reader    レスポンスボディを読み取る
+     * @param metadata  読み取った結果からメタデータを取得する
+     * @param <T>       読み取った結果の型
+     * @return 読み取った結果
+     * @throws IOException 一時ファイルの書き出しに失敗したとき
+     */
+    private <T> T readAndStore(
+            final ListRequestParameter parameter,
+            final InputStream body,
+            final Function<InputStream, T> reader,
+            final Function<T, Metadata> metadata) throws IOException {
+        if (!edinetListCache.isEnabled() && !edinetArchive.isRecord()) {
+            return reader.apply(body);
+        }
+
+        final Path temporary = Files.createTempFile("edinet-list-", ".json");
+        try {
+            final T result;
+            try (InputStream tee = new TeeInputStream(body, Files.newOutputStream(temporary))) {
+                result = reader.apply(tee);
+                // 読み取り後に残った内容も書き出す
+                tee.transferTo(OutputStream.nullOutputStream());
+            }
+
+            if (isSucceeded(metadata.apply(result))) {
+                edinetListCache.save(parameter, temporary);
+                edinetArchive.recordList(parameter, temporary);
+            }
+            return result;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * 書類一覧のレスポンスボディを読み取る
+     *
+     * @param body レスポンスボディ
+     * @return EdinetResponse
+     */
+    private EdinetResponse readResponse(final InputStream body) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() == null) {
+                // レスポンスボディが空のとき
+                return null;
+            }
+            return parser.readValueAs(EdinetResponse.class);
+        } catch (final IOException e) {
+            throw new FundanalyzerRestClientException("書類一覧のレスポンスを読み取れませんでした。", e);
+        }
+    }
+
+    /**
+     * 書類一覧のレスポンスボディを読み取りながら、提出書類一覧を指定件数ごとに処理する
+     *
+     * @param body      レスポンスボディ
+     * @param batchSize まとめて処理する件数
+     * @param consumer  提出書類一覧を処理する
+     * @return メタデータ
+     */
+    private Metadata readResults(final InputStream body, final int batchSize, final Consumer<List<Results>> consumer) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            final JsonToken first = parser.nextToken();
+            if (first == null) {
+                // レスポンスボディが空のとき
+                return null;
+            }
+            if (first != JsonToken.START_OBJECT) {
+                throw new FundanalyzerRestClientException("書類一覧のレスポンスを読み取れませんでした。");
+            }
+
+            Metadata metadata = null;
+            List<Results> resultsList = new ArrayList<>(batchSize);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                if ("metadata".equals(field)) {
+                    metadata = parser.readValueAs(Metadata.class);
+                } else if ("results".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        resultsList.add(parser.readValueAs(Results.class));
+                        if (resultsList.size() >= batchSize) {
+                            consumer.accept(resultsList);
+                            resultsList = new ArrayList<>(batchSize);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!resultsList.isEmpty()) {
+                consumer.accept(resultsList);
+            }
+            return metadata;
+        } catch (final IOException e) {
+            throw new FundanalyzerRestClientException("書類一覧のレスポンスを読み取れませんでした。", e);
+        }
+    }
+
+    /**
+     * 書類一覧を正常に取得できたか
+     *
+     * @param metadata メタデータ
+     * @return boolean
+     */
+    private static boolean isSucceeded(final Metadata metadata) {
+        return Optional.ofNullable(metadata)
+                .map(Metadata::getStatus)
+                .filter("200"::equals)
+                .isPresent();
+    }
+
+    /**
+     * リクエスト数の上限の範囲内で実行する
+     *
+     * @param request リクエスト
+     * @param <T>     レスポンスの型
+     * @return レスポンス
+     */
+    private <T> T limit(final Supplier<T> request) {
+        try {
+            requestLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FundanalyzerRestClientException("EDINETへのリクエストの待機中に割り込みが発生しました。", e);
+        }
+        try {
+            return request.get();
+        } finally {
+            requestLimiter.release();
+        }
+    }
+
     /**
      * ファイルの保存先が存在しなかったら作成する
      *
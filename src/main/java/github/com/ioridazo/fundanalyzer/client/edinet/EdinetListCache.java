@@ -0,0 +1,139 @@
+package github.com.ioridazo.fundanalyzer.client.edinet;
+
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * EDINETの書類一覧をローカルディスクにキャッシュする
+ * <p>
+ * 提出日と取得情報ごとにレスポンスボディを保存する。提出日の翌日以降に保存した書類一覧は変わらないため期限を設けず、
+ * 提出日の当日までに保存した書類一覧は指定の時間だけ保持する。
+ * メタデータの取得は、同じ提出日の提出書類一覧がキャッシュされていればそのメタデータで代用する。
+ */
+@Component
+class EdinetListCache {
+
+    private static final Logger log = LogManager.getLogger(EdinetListCache.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long ttl;
+
+    EdinetListCache(
+            @Value("${app.config.edinet.list-cache.enabled}") final boolean enabled,
+            @Value("${app.settings.file.path.edinet-list}") final String directory,
+            @Value("${app.config.edinet.list-cache.ttl}") final long ttl) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.ttl = ttl;
+    }
+
+    /**
+     * キャッシュするか
+     *
+     * @return キャッシュするときは true
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * キャッシュしたレスポンスボディを取得する
+     *
+     * @param parameter パラメータ
+     * @return レスポンスボディの入力ストリーム
+     */
+    Optional<InputStream> find(final ListRequestParameter parameter) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        // 提出書類一覧にはメタデータも含まれる
+        final List<ListType> typeList = ListType.DEFAULT == parameter.getType()
+                ? List.of(ListType.DEFAULT, ListType.GET_LIST)
+                : List.of(ListType.GET_LIST);
+        for (final ListType type : typeList) {
+            final Path file = file(parameter.getDate(), type);
+            if (Files.exists(file) && isFresh(parameter.getDate(), file)) {
+                try {
+                    return Optional.of(Files.newInputStream(file));
+                } catch (IOException e) {
+                    log.warn(FundanalyzerLogClient.toClientLogObject(
+                            MessageFormat.format("書類一覧のキャッシュを読み込めませんでした。\tファイル:{0}", file),
+                            Category.DOCUMENT,
+                            Process.EDINET
+                    ), e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * レスポンスボディをキャッシュする
+     *
+     * @param parameter パラメータ
+     * @param body      レスポンスボディを書き出したファイル
+     */
+    void save(final ListRequestParameter parameter, final Path body) {
+        if (!enabled) {
+            return;
+        }
+
+        final Path file = file(parameter.getDate(), parameter.getType());
+        try {
+            Files.createDirectories(directory);
+            // 書き込み途中のファイルを読み込まないように、一時ファイルから置き換える
+            final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.copy(body, temporary, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // 置き換えられなかったときは一時ファイルを残さない
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            log.warn(FundanalyzerLogClient.toClientLogObject(
+                    MessageFormat.format("書類一覧をキャッシュできませんでした。\tファイル:{0}", file),
+                    Category.DOCUMENT,
+                    Process.EDINET
+            ), e);
+        }
+    }
+
+    private Path file(final LocalDate date, final ListType type) {
+        return directory.resolve(date + "_" + type.toValue() + ".json");
+    }
+
+    private boolean isFresh(final LocalDate date, final Path file) {
+        try {
+            final long lastModified = Files.getLastModifiedTime(file).toMillis();
+            // 提出日の翌日以降に保存した書類一覧は、それ以上追加されないため期限を設けない
+            if (lastModified >= date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli()) {
+                return true;
+            }
+            return System.currentTimeMillis() - lastModified < ttl;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
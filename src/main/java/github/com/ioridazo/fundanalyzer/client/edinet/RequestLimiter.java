@@ -0,0 +1,63 @@
+package github.com.ioridazo.fundanalyzer.client.edinet;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EDINETへのリクエストを制限する
+ * <p>
+ * 1秒あたりのリクエスト数と同時に実行するリクエスト数の上限を、すべての呼び出し元で共有する。
+ * リクエストの開始時刻は一定の間隔を空けて割り当てる。
+ */
+class RequestLimiter {
+
+    private final Semaphore inFlight;
+
+    // リクエストの開始間隔（0のときは制限しない）
+    private final long intervalNanos;
+
+    // 次にリクエストを開始できる時刻
+    private long nextSlotNanos;
+
+    /**
+     * @param requestsPerSecond 1秒あたりのリクエスト数の上限（0以下のときは制限しない）
+     * @param maxInFlight       同時に実行するリクエスト数の上限
+     */
+    RequestLimiter(final double requestsPerSecond, final int maxInFlight) {
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.intervalNanos = requestsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond) : 0;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    /**
+     * リクエストを開始できるまで待機する
+     *
+     * @throws InterruptedException 待機中に割り込まれたとき
+     */
+    void acquire() throws InterruptedException {
+        inFlight.acquire();
+        try {
+            final long waitNanos = reserve();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * リクエストの終了を通知する
+     */
+    void release() {
+        inFlight.release();
+    }
+
+    private synchronized long reserve() {
+        final long now = System.nanoTime();
+        final long slot = Math.max(now, nextSlotNanos);
+        nextSlotNanos = slot + intervalNanos;
+        return slot - now;
+    }
+}
@@ -0,0 +1,71 @@
+package github.com.ioridazo.fundanalyzer.client.edinet;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 読み取った内容を出力先にも書き出す入力ストリーム
+ * <p>
+ * レスポンスボディを読み取りながら、同じ内容をファイルに保存するために使用する。
+ * 閉じるときは出力先も閉じる。
+ */
+class TeeInputStream extends FilterInputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 8 * 1024;
+
+    private final OutputStream branch;
+
+    TeeInputStream(final InputStream in, final OutputStream branch) {
+        super(in);
+        this.branch = branch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+        if (b != -1) {
+            branch.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int n = super.read(b, off, len);
+        if (n > 0) {
+            branch.write(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        // 読み飛ばした内容も書き出すため、読み取って捨てる
+        final byte[] buffer = new byte[(int) Math.min(n, SKIP_BUFFER_SIZE)];
+        long skipped = 0;
+        while (skipped < n) {
+            final int len = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+            if (len < 0) {
+                break;
+            }
+            skipped += len;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            branch.close();
+        }
+    }
+}
@@ -3,90 +3,181 @@ package github.com.ioridazo.fundanalyzer.client.file;
 import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.sleuth.annotation.NewSpan;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.spi.FileSystemProvider;
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 @Component
 public class FileOperator {
 
     private static final Logger log = LogManager.getLogger(FileOperator.class);
 
+    private static final FileSystemProvider ZIP_FILE_SYSTEM_PROVIDER = FileSystemProvider.installedProviders().stream()
+            .filter(provider -> "jar".equalsIgnoreCase(provider.getScheme()))
+            .findFirst()
+            .orElseThrow();
+
+    private static final Charset MS932 = Charset.forName("MS932");
+
+    private static final String METRICS_BYTES_WRITTEN = "fundanalyzer.file.decode.bytes.written";
+    private static final String METRICS_ENTRIES_SKIPPED = "fundanalyzer.file.decode.entries.skipped";
+
     @Value("${app.settings.file.path.company.company}")
     String pathCompany;
     @Value("${app.settings.file.path.company.zip}")
     String pathCompanyZip;
     @Value("${app.settings.file.path.decode}")
     String pathDecode;
+    @Value("${app.settings.file.path.edinet}")
+    String pathEdinet;
 
-    FileOperator() {
+    private final MeterRegistry meterRegistry;
+    private final Executor decodeExecutor;
+
+    FileOperator(
+            final MeterRegistry meterRegistry,
+            @Qualifier("decodeExecutor") final Executor decodeExecutor) {
+        this.meterRegistry = meterRegistry;
+        this.decodeExecutor = decodeExecutor;
     }
 
+    /**
+     * zipファイルをすべて解凍する
+     *
+     * @param fileInputPath  zipファイルのパス（拡張子を除く）
+     * @param fileOutputPath 解凍先のフォルダ
+     * @throws IOException 解凍に失敗したとき
+     */
     @NewSpan
     public void decodeZipFile(final File fileInputPath, final File fileOutputPath) throws IOException {
+        decodeZipFile(fileInputPath, fileOutputPath, List.of());
+    }
+
+    /**
+     * zipファイルのうち対象のファイルのみを解凍する
+     * <p>
+     * 対象はzipファイル内のパスの末尾に対するglobパターンで指定する（"PublicDoc/*honbun*"、"*.xbrl"など）。
+     * パターンを指定しないときはすべてのファイルを解凍する。
+     * ファイルごとに独立して展開できるため、解凍用のスレッドで並列に解凍する。
+     *
+     * @param fileInputPath  zipファイルのパス（拡張子を除く）
+     * @param fileOutputPath 解凍先のフォルダ
+     * @param targetList     解凍対象のパターン
+     * @throws IOException 解凍に失敗したとき
+     */
+    @NewSpan
+    public void decodeZipFile(
+            final File fileInputPath, final File fileOutputPath, final List<String> targetList) throws IOException {
         log.info(FundanalyzerLogClient.toClientLogObject(
                 MessageFormat.format("zipファイルの解凍処理を実行します。\tパス:{0}", fileInputPath.getPath()),
                 Category.DOCUMENT,
                 Process.DECODE
         ));
 
-        byte[] buffer = new byte[1024];
-
-        FileInputStream fis = new FileInputStream(fileInputPath + ".zip");
-        BufferedInputStream bis = new BufferedInputStream(fis);
-        ZipInputStream zis = new ZipInputStream(bis, Charset.forName("MS932"));
-
-        if (!fileOutputPath.exists()) {
-            //noinspection ResultOfMethodCallIgnored
-            fileOutputPath.mkdir();
-        }
-
-        ZipEntry zipEntry = zis.getNextEntry();
-        while (zipEntry != null) {
-            File newFile = new File(String.format("%s/%s%s", fileOutputPath, File.separator, zipEntry.getName()));
-
-            //noinspection ResultOfMethodCallIgnored
-            new File(newFile.getParent()).mkdirs();
-
-            FileOutputStream fos = new FileOutputStream(newFile);
-            BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(fos);
+        final Path outputPath = fileOutputPath.toPath().toAbsolutePath().normalize();
+        final List<PathMatcher> matcherList = targetList.stream()
+                .flatMap(target -> Stream.of(target, "**/" + target))
+                .map(target -> FileSystems.getDefault().getPathMatcher("glob:" + target))
+                .collect(Collectors.toList());
+
+        final long bytesWritten;
+        final long skippedCount;
+        try (ZipFile zipFile = new ZipFile(new File(fileInputPath + ".zip"), MS932)) {
+            final List<? extends ZipEntry> entryList = zipFile.stream()
+                    .filter(entry -> !entry.isDirectory())
+                    .collect(Collectors.toList());
+
+            final Map<ZipEntry, Path> targetMap = new LinkedHashMap<>();
+            for (final ZipEntry entry : entryList) {
+                final Path entryPath = Path.of(entry.getName());
+                if (matcherList.isEmpty() || matcherList.stream().anyMatch(matcher -> matcher.matches(entryPath))) {
+                    targetMap.put(entry, resolve(outputPath, entry));
+                }
+            }
+            skippedCount = entryList.size() - targetMap.size();
 
-            int len;
-            while ((len = zis.read(buffer)) > 0) {
-                bufferedOutputStream.write(buffer, 0, len);
+            // フォルダはまとめて作成しておく
+            Files.createDirectories(outputPath);
+            for (final Path directory : targetMap.values().stream().map(Path::getParent).collect(Collectors.toSet())) {
+                Files.createDirectories(directory);
             }
-            bufferedOutputStream.close();
 
-            zipEntry = zis.getNextEntry();
+            final List<CompletableFuture<Long>> futureList = targetMap.entrySet().stream()
+                    .map(target -> CompletableFuture.supplyAsync(
+                            () -> extract(zipFile, target.getKey(), target.getValue()), decodeExecutor))
+                    .collect(Collectors.toList());
+            try {
+                bytesWritten = futureList.stream().mapToLong(CompletableFuture::join).sum();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw e;
+            } finally {
+                // zipファイルを閉じる前に、すべての展開が終わるのを待つ
+                futureList.forEach(future -> future.exceptionally(e -> 0L).join());
+            }
         }
-        zis.closeEntry();
-        zis.close();
+
+        meterRegistry.summary(METRICS_BYTES_WRITTEN).record(bytesWritten);
+        meterRegistry.summary(METRICS_ENTRIES_SKIPPED).record(skippedCount);
 
         log.info(FundanalyzerLogClient.toClientLogObject(
-                MessageFormat.format("zipファイルの解凍処理が正常に実行されました。\tパス:{0}", fileOutputPath.getPath()),
+                MessageFormat.format(
+                        "zipファイルの解凍処理が正常に実行されました。\tパス:{0}\t書き込みバイト数:{1}\t対象外ファイル数:{2}",
+                        fileOutputPath.getPath(),
+                        String.valueOf(bytesWritten),
+                        String.valueOf(skippedCount)
+                ),
                 Category.DOCUMENT,
                 Process.DECODE
         ));
     }
 
+    /**
+     * zipファイルを解凍せずに読み取るためのファイルシステムを取得する
+     * <p>
+     * 呼び出し元で使用後にクローズすること。
+     *
+     * @param fileInputPath zipファイルのパス（拡張子を除く）
+     * @return zipファイルのファイルシステム
+     * @throws IOException zipファイルの読み取りに失敗したとき
+     */
+    public FileSystem openZipFile(final File fileInputPath) throws IOException {
+        return ZIP_FILE_SYSTEM_PROVIDER.newFileSystem(Path.of(fileInputPath + ".zip"), Map.of("encoding", "MS932"));
+    }
+
     /**
      * デコード済みのファイルを取得する
      *
@@ -101,7 +192,37 @@ public class FileOperator {
                 .or(Optional::empty);
     }
 
+    /**
+     * 取得済みのzipファイルを取得する
+     *
+     * @param targetDate 提出日
+     * @return ファイルリスト
+     */
+    public Optional<List<String>> findZipFile(final LocalDate targetDate) {
+        return Optional.ofNullable(makeTargetPath(pathEdinet, targetDate).listFiles())
+                .map(Arrays::stream)
+                .map(fileList -> fileList.map(File::getName))
+                .map(fileName -> fileName.collect(Collectors.toList()))
+                .or(Optional::empty);
+    }
+
     private File makeTargetPath(final String prePath, final LocalDate targetDate) {
         return new File(String.format("%s/%d/%s/%s", prePath, targetDate.getYear(), targetDate.getMonth(), targetDate));
     }
+
+    private static Path resolve(final Path outputPath, final ZipEntry entry) throws IOException {
+        final Path target = outputPath.resolve(entry.getName()).normalize();
+        if (!target.startsWith(outputPath)) {
+            throw new IOException(MessageFormat.format("解凍先のフォルダ外に展開されるファイルが含まれています。\tファイル名:{0}", entry.getName()));
+        }
+        return target;
+    }
+
+    private static long extract(final ZipFile zipFile, final ZipEntry entry, final Path target) {
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            return Files.copy(is, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -1,20 +1,29 @@
 package github.com.ioridazo.fundanalyzer.config;
 
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @EnableAsync
 @Configuration
 public class AppConfig {
 
+    @Primary
     @Bean
     public RestTemplate restTemplate(
             @Value("${app.config.rest-template.connect-timeout}") final int connectTimeout,
@@ -25,6 +34,28 @@ public class AppConfig {
                 .build();
     }
 
+    @Bean
+    public RestTemplate edinetRestTemplate(
+            @Value("${app.config.rest-template.connect-timeout}") final int connectTimeout,
+            @Value("${app.config.rest-template.read-timeout}") final int readTimeout,
+            @Value("${app.config.edinet.pooled}") final boolean pooled,
+            @Value("${app.config.edinet.max-idle-connections}") final int maxIdleConnections,
+            @Value("${app.config.edinet.keep-alive}") final long keepAlive) {
+        if (!pooled) {
+            return restTemplate(connectTimeout, readTimeout);
+        }
+
+        // EDINETへのコネクションを保持して使い回す
+        final OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive, TimeUnit.MILLISECONDS))
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .readTimeout(Duration.ofMillis(readTimeout))
+                .build();
+        return new RestTemplateBuilder()
+                .requestFactory(() -> new OkHttp3ClientHttpRequestFactory(okHttpClient))
+                .build();
+    }
+
     @Bean
     public Executor executor(
             @Value("${app.config.executor.core-pool-size}") final int corePoolSize,
@@ -38,4 +69,14 @@ public class AppConfig {
         return executor;
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService scrapingExecutor(@Value("${app.config.scraping.parallelism}") final int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("scraping-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService decodeExecutor(@Value("${app.config.scraping.decode-parallelism}") final int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("decode-"));
+    }
+
 }
@@ -1,12 +1,16 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.dao.master;
 
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.CompanyEntity;
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.BatchUpdate;
 import org.seasar.doma.Dao;
 import org.seasar.doma.Insert;
 import org.seasar.doma.Select;
 import org.seasar.doma.Update;
 import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchResult;
 import org.seasar.doma.jdbc.Result;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,9 +28,21 @@ public interface CompanyDao {
     @Select
     Optional<CompanyEntity> selectByCode(String code);
 
+    // 指定したEDINETコードのうち、登録済みのEDINETコードを取得する
+    @Select
+    List<String> selectEdinetCodeByEdinetCodeList(List<String> edinetCodeList);
+
     @Insert
     Result<CompanyEntity> insert(CompanyEntity company);
 
+    @Transactional
+    @BatchInsert
+    BatchResult<CompanyEntity> batchInsert(List<CompanyEntity> companyList);
+
     @Update
     Result<CompanyEntity> update(CompanyEntity company);
+
+    @Transactional
+    @BatchUpdate
+    BatchResult<CompanyEntity> batchUpdate(List<CompanyEntity> companyList);
 }
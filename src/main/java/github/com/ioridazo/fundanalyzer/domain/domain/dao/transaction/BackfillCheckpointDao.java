@@ -0,0 +1,27 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillCheckpointEntity;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.Result;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ConfigAutowireable
+@Dao
+public interface BackfillCheckpointDao {
+
+    @Select
+    List<BackfillCheckpointEntity> selectByJobId(Integer jobId);
+
+    @Insert
+    Result<BackfillCheckpointEntity> insert(BackfillCheckpointEntity backfillCheckpointEntity);
+
+    @Update(sqlFile = true)
+    int updatePhase(Integer jobId, LocalDate targetDate, String phase, LocalDateTime updatedAt);
+}
@@ -0,0 +1,26 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillJobEntity;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.Result;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@ConfigAutowireable
+@Dao
+public interface BackfillJobDao {
+
+    @Select
+    Optional<BackfillJobEntity> selectIncomplete(LocalDate fromDate, LocalDate toDate);
+
+    @Insert
+    Result<BackfillJobEntity> insert(BackfillJobEntity backfillJobEntity);
+
+    @Update(excludeNull = true)
+    Result<BackfillJobEntity> update(BackfillJobEntity backfillJobEntity);
+}
@@ -0,0 +1,22 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.CompanySyncEntity;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.Result;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@ConfigAutowireable
+@Dao
+public interface CompanySyncDao {
+
+    @Select
+    Optional<LocalDateTime> selectLatestSyncedAt();
+
+    @Insert
+    Result<CompanySyncEntity> insert(CompanySyncEntity companySyncEntity);
+}
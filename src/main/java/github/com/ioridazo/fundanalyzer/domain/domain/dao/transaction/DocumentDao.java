@@ -1,11 +1,14 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
 
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentEntity;
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.BatchUpdate;
 import org.seasar.doma.Dao;
 import org.seasar.doma.Insert;
 import org.seasar.doma.Select;
 import org.seasar.doma.Update;
 import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchResult;
 import org.seasar.doma.jdbc.Result;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,9 @@ public interface DocumentDao {
     @Select
     DocumentEntity selectByDocumentId(String documentId);
 
+    @Select
+    List<DocumentEntity> selectByDocumentIdList(List<String> documentIdList);
+
     // 検索結果が1件以上存在することを保証する
     @Select(ensureResult = true)
     DocumentEntity selectDocumentBy(String edinetCode, String documentTypeCode, LocalDate submitDate, String yearOfPeriod);
@@ -45,6 +51,15 @@ public interface DocumentDao {
     @Insert(excludeNull = true)
     Result<DocumentEntity> insert(DocumentEntity documentEntity);
 
+    // 値の存在しない処理ステータスはデフォルト値で登録する
+    @Transactional
+    @BatchInsert(sqlFile = true)
+    BatchResult<DocumentEntity> batchInsert(List<DocumentEntity> documentEntityList);
+
     @Update(excludeNull = true)
     Result<DocumentEntity> update(DocumentEntity documentEntity);
+
+    // 値の存在する処理ステータスのみをまとめて更新する
+    @BatchUpdate(sqlFile = true)
+    BatchResult<DocumentEntity> updateStatus(List<DocumentEntity> documentEntityList);
 }
@@ -1,10 +1,12 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
 
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.EdinetDocumentEntity;
+import org.seasar.doma.BatchInsert;
 import org.seasar.doma.Dao;
 import org.seasar.doma.Insert;
 import org.seasar.doma.Select;
 import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchResult;
 import org.seasar.doma.jdbc.Result;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +22,15 @@ public interface EdinetDocumentDao {
     @Select
     EdinetDocumentEntity selectByDocId(String docId);
 
+    // 指定した書類IDのうち、登録済みの書類IDを取得する
+    @Select
+    List<String> selectDocIdByDocIdList(List<String> docIdList);
+
     @Transactional
     @Insert
     Result<EdinetDocumentEntity> insert(EdinetDocumentEntity edinetDocumentEntity);
+
+    @Transactional
+    @BatchInsert
+    BatchResult<EdinetDocumentEntity> batchInsert(List<EdinetDocumentEntity> edinetDocumentEntityList);
 }
@@ -25,6 +25,15 @@ public interface FinancialStatementDao {
             String documentTypeCode,
             LocalDate submitDate);
 
+    // ドキュメントに関する財務諸表の値をまとめて取得する
+    @Select
+    List<FinancialStatementEntity> selectByCodeAndYear(
+            String edinetCode, String dayOfYear, String documentTypeCode, LocalDate submitDate);
+
+    // 複数のドキュメントに関する財務諸表の値をまとめて取得する
+    @Select
+    List<FinancialStatementEntity> selectByCodeListAndSubmitDateList(List<String> edinetCodeList, List<LocalDate> submitDateList);
+
     @Select
     List<FinancialStatementEntity> selectByCode(String edinetCode);
 
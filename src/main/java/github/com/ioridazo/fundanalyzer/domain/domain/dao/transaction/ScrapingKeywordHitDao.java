@@ -0,0 +1,32 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.ScrapingKeywordHitEntity;
+import org.seasar.doma.BatchUpdate;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchResult;
+import org.seasar.doma.jdbc.Result;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ConfigAutowireable
+@Dao
+public interface ScrapingKeywordHitDao {
+
+    @Select
+    List<ScrapingKeywordHitEntity> selectAll();
+
+    @Insert
+    Result<ScrapingKeywordHitEntity> insert(ScrapingKeywordHitEntity scrapingKeywordHitEntity);
+
+    @Update(sqlFile = true)
+    int increment(Integer scrapingKeywordId, String documentTypeCode, long count, LocalDateTime updatedAt);
+
+    // 合致件数をまとめて加算する
+    @BatchUpdate(sqlFile = true)
+    BatchResult<ScrapingKeywordHitEntity> batchIncrement(List<ScrapingKeywordHitEntity> scrapingKeywordHitEntityList);
+}
@@ -0,0 +1,49 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction;
+
+import lombok.Value;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value
+@Entity(immutable = true)
+@Table(name = "backfill_checkpoint")
+public class BackfillCheckpointEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private final Integer id;
+
+    private final Integer jobId;
+
+    private final LocalDate targetDate;
+
+    private final String phase;
+
+    @Column(updatable = false)
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    public static BackfillCheckpointEntity of(
+            final Integer jobId,
+            final LocalDate targetDate,
+            final BackfillPhase phase,
+            final LocalDateTime nowLocalDateTime) {
+        return new BackfillCheckpointEntity(
+                null,
+                jobId,
+                targetDate,
+                phase.toValue(),
+                nowLocalDateTime,
+                nowLocalDateTime
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction;
+
+import lombok.Value;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value
+@Entity(immutable = true)
+@Table(name = "backfill_job")
+public class BackfillJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private final Integer id;
+
+    private final LocalDate fromDate;
+
+    private final LocalDate toDate;
+
+    private final String completed;
+
+    @Column(updatable = false)
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    public static BackfillJobEntity of(
+            final LocalDate fromDate,
+            final LocalDate toDate,
+            final LocalDateTime nowLocalDateTime) {
+        return new BackfillJobEntity(
+                null,
+                fromDate,
+                toDate,
+                Flag.OFF.toValue(),
+                nowLocalDateTime,
+                nowLocalDateTime
+        );
+    }
+
+    public static BackfillJobEntity ofCompleted(final Integer id, final LocalDateTime updatedAt) {
+        return new BackfillJobEntity(
+                id,
+                null,
+                null,
+                Flag.ON.toValue(),
+                null,
+                updatedAt
+        );
+    }
+}
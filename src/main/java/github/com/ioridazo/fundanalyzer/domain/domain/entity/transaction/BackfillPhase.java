@@ -0,0 +1,52 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction;
+
+import java.util.Arrays;
+
+public enum BackfillPhase {
+
+    LIST_SAVED("1", "書類一覧登録"),
+    SCRAPED("2", "スクレイピング"),
+    ANALYZED("3", "分析"),
+    STOCK_IMPORTED("4", "株価取得"),
+    VIEW_UPDATED("5", "表示更新"),
+    ;
+
+    private final String code;
+
+    private final String name;
+
+    BackfillPhase(final String code, final String name) {
+        this.code = code;
+        this.name = name;
+    }
+
+    public static BackfillPhase fromValue(final String code) {
+        return Arrays.stream(values())
+                .filter(v -> v.code.equals(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.valueOf(code)));
+    }
+
+    public String toValue() {
+        return this.code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 指定の処理段階まで完了しているか
+     *
+     * @param phase 処理段階
+     * @return 完了しているかどうか
+     */
+    public boolean isDone(final BackfillPhase phase) {
+        return this.compareTo(phase) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BackfillPhase[code = %s]", this.code);
+    }
+}
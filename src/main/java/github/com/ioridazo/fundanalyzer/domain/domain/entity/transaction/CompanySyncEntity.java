@@ -0,0 +1,35 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction;
+
+import lombok.Value;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+
+import java.time.LocalDateTime;
+
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value
+@Entity(immutable = true)
+@Table(name = "company_sync")
+public class CompanySyncEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private final Integer id;
+
+    private final LocalDateTime syncedAt;
+
+    @Column(updatable = false)
+    private final LocalDateTime createdAt;
+
+    public static CompanySyncEntity of(final LocalDateTime nowLocalDateTime) {
+        return new CompanySyncEntity(
+                null,
+                nowLocalDateTime,
+                nowLocalDateTime
+        );
+    }
+}
@@ -163,6 +163,37 @@ public class DocumentEntity {
         }
     }
 
+    /**
+     * 処理ステータスの更新内容をまとめる
+     * <p>
+     * 後から更新した項目を優先する。
+     *
+     * @param current 更新内容
+     * @param update  後から更新した内容
+     * @return まとめた更新内容
+     */
+    public static DocumentEntity merge(final DocumentEntity current, final DocumentEntity update) {
+        return DocumentEntity.builder()
+                .documentId(update.documentId)
+                .downloaded(latest(update.downloaded, current.downloaded))
+                .decoded(latest(update.decoded, current.decoded))
+                .scrapedNumberOfShares(latest(update.scrapedNumberOfShares, current.scrapedNumberOfShares))
+                .numberOfSharesDocumentPath(latest(update.numberOfSharesDocumentPath, current.numberOfSharesDocumentPath))
+                .scrapedBs(latest(update.scrapedBs, current.scrapedBs))
+                .bsDocumentPath(latest(update.bsDocumentPath, current.bsDocumentPath))
+                .scrapedPl(latest(update.scrapedPl, current.scrapedPl))
+                .plDocumentPath(latest(update.plDocumentPath, current.plDocumentPath))
+                .scrapedCf(latest(update.scrapedCf, current.scrapedCf))
+                .cfDocumentPath(latest(update.cfDocumentPath, current.cfDocumentPath))
+                .removed(latest(update.removed, current.removed))
+                .updatedAt(latest(update.updatedAt, current.updatedAt))
+                .build();
+    }
+
+    private static <T> T latest(final T update, final T current) {
+        return update != null ? update : current;
+    }
+
     public Optional<String> getDocumentTypeCode() {
         return Optional.ofNullable(documentTypeCode);
     }
@@ -0,0 +1,48 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction;
+
+import lombok.Value;
+import org.seasar.doma.Column;
+import org.seasar.doma.Entity;
+import org.seasar.doma.GeneratedValue;
+import org.seasar.doma.GenerationType;
+import org.seasar.doma.Id;
+import org.seasar.doma.Table;
+
+import java.time.LocalDateTime;
+
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value
+@Entity(immutable = true)
+@Table(name = "scraping_keyword_hit")
+public class ScrapingKeywordHitEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private final Integer id;
+
+    private final Integer scrapingKeywordId;
+
+    private final String documentTypeCode;
+
+    private final Long hitCount;
+
+    @Column(updatable = false)
+    private final LocalDateTime createdAt;
+
+    private final LocalDateTime updatedAt;
+
+    public static ScrapingKeywordHitEntity of(
+            final Integer scrapingKeywordId,
+            final DocumentTypeCode documentTypeCode,
+            final long hitCount,
+            final LocalDateTime nowLocalDateTime) {
+        return new ScrapingKeywordHitEntity(
+                null,
+                scrapingKeywordId,
+                documentTypeCode.toValue(),
+                hitCount,
+                nowLocalDateTime,
+                nowLocalDateTime
+        );
+    }
+}
@@ -0,0 +1,342 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * インラインXBRL（XHTML）をDOMを構築せずに読み取る
+ * <p>
+ * 要素のテキストはJsoupの {@code Element#text()} と同じ規則で正規化する。
+ * XMLとして読み取れないファイルは {@link XMLStreamException} を返却するため、呼び出し元でDOM解析に切り替えること。
+ */
+class InlineXbrlStreamReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "html", "head", "body", "frameset", "script", "noscript", "style", "meta", "link", "title", "frame",
+            "noframes", "section", "nav", "aside", "hgroup", "header", "footer", "p", "h1", "h2", "h3", "h4", "h5", "h6",
+            "ul", "ol", "pre", "div", "blockquote", "hr", "address", "figure", "figcaption", "form", "fieldset", "ins",
+            "del", "s", "dl", "dt", "dd", "li", "table", "caption", "thead", "tfoot", "tbody", "colgroup", "col", "tr", "th",
+            "td", "video", "audio", "canvas", "details", "menu", "plaintext", "template", "article", "main",
+            "svg", "math"
+    );
+
+    private static final Set<String> PRESERVE_WHITESPACE_TAGS = Set.of("pre", "plaintext", "title", "textarea");
+
+    private static final Set<String> DATA_TAGS = Set.of("script", "style");
+
+    private InlineXbrlStreamReader() {
+    }
+
+    private static XMLInputFactory createFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * テキストを持つ要素の"name"属性の値を取得する
+     *
+     * @param file 対象ファイル
+     * @return "name"属性の値
+     * @throws IOException        ファイルの読み取りに失敗したとき
+     * @throws XMLStreamException XMLとして読み取れなかったとき
+     */
+    static Set<String> readNamesHavingText(final Path file) throws IOException, XMLStreamException {
+        final Set<String> nameSet = new LinkedHashSet<>();
+        // "name"属性を持つ要素のうち、テキストが見つかっていないもの
+        final Deque<NamedElement> openElements = new ArrayDeque<>();
+        final Deque<String> tagStack = new ArrayDeque<>();
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            final XMLStreamReader reader = FACTORY.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            final String tag = tagName(reader);
+                            tagStack.push(tag);
+                            openElements.push(new NamedElement(attribute(reader, "name"), tagStack.size()));
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (!openElements.isEmpty() && openElements.peek().depth == tagStack.size()) {
+                                openElements.pop();
+                            }
+                            tagStack.pop();
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            if (!openElements.isEmpty() && !isDataTag(tagStack) && !isBlank(reader)) {
+                                // 祖先の要素はすべてテキストを持つ
+                                openElements.stream()
+                                        .filter(element -> element.name != null)
+                                        .forEach(element -> nameSet.add(element.name));
+                                openElements.clear();
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return nameSet;
+    }
+
+    /**
+     * "name"属性がキーワードに合致する要素の配下にあるテーブルを読み取る
+     * <p>
+     * 合致する要素を読み終えた時点で読み取りを終了する。
+     *
+     * @param file    対象ファイル
+     * @param keyWord キーワード
+     * @return テーブルの内容
+     * @throws IOException        ファイルの読み取りに失敗したとき
+     * @throws XMLStreamException XMLとして読み取れなかったとき
+     */
+    static TableContent readTable(final Path file, final String keyWord) throws IOException, XMLStreamException {
+        final List<Row> rowList = new ArrayList<>();
+        final List<TextCollector> tableList = new ArrayList<>();
+
+        final Deque<String> tagStack = new ArrayDeque<>();
+        final Deque<TextCollector> openCollectors = new ArrayDeque<>();
+        final Deque<Row> openRows = new ArrayDeque<>();
+        int matchedDepth = 0;
+        int tableDepth = 0;
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+            final XMLStreamReader reader = FACTORY.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        final String tag = tagName(reader);
+                        tagStack.push(tag);
+
+                        if (matchedDepth == 0) {
+                            final String name = attribute(reader, "name");
+                            if (name == null || !keyWord.equalsIgnoreCase(name.trim())) {
+                                // 合致する要素までは読み飛ばす
+                                continue;
+                            }
+                            matchedDepth = tagStack.size();
+                        }
+
+                        openCollectors.forEach(collector -> collector.startElement(tag));
+
+                        if ("table".equals(tag)) {
+                            final TextCollector table = new TextCollector(tagStack.size());
+                            tableList.add(table);
+                            openCollectors.push(table);
+                            tableDepth++;
+                        } else if ("tr".equals(tag) && tableDepth > 0) {
+                            final Row row = new Row(tagStack.size());
+                            rowList.add(row);
+                            openRows.push(row);
+                        } else if ("td".equals(tag) && !openRows.isEmpty()) {
+                            final TextCollector td = new TextCollector(tagStack.size());
+                            openRows.forEach(row -> row.cellList.add(td));
+                            openCollectors.push(td);
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        final String tag = tagStack.peek();
+                        if (matchedDepth > 0) {
+                            if (!openCollectors.isEmpty() && openCollectors.peek().depth == tagStack.size()) {
+                                openCollectors.pop();
+                            }
+                            if ("table".equals(tag) && tableDepth > 0) {
+                                tableDepth--;
+                            } else if (!openRows.isEmpty() && openRows.peek().depth == tagStack.size()) {
+                                openRows.pop();
+                            }
+                            if (matchedDepth == tagStack.size()) {
+                                break;
+                            }
+                        }
+                        tagStack.pop();
+                    } else if (matchedDepth > 0
+                            && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                            && !isDataTag(tagStack)) {
+                        final String text = reader.getText();
+                        final boolean preserve = isPreserveWhitespace(tagStack);
+                        openCollectors.forEach(collector -> collector.append(text, preserve));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        return new TableContent(
+                rowList.stream()
+                        .map(row -> row.cellList.stream().map(TextCollector::text).collect(Collectors.toList()))
+                        .collect(Collectors.toList()),
+                tableList.stream().map(TextCollector::text).collect(Collectors.toList())
+        );
+    }
+
+    private static String tagName(final XMLStreamReader reader) {
+        return reader.getLocalName().toLowerCase(Locale.ROOT);
+    }
+
+    private static String attribute(final XMLStreamReader reader, final String key) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (key.equalsIgnoreCase(reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDataTag(final Deque<String> tagStack) {
+        return !tagStack.isEmpty() && DATA_TAGS.contains(tagStack.peek());
+    }
+
+    private static boolean isPreserveWhitespace(final Deque<String> tagStack) {
+        // 親要素とその一つ上の要素のみを確認する（Jsoupと同じ）
+        final var iterator = tagStack.iterator();
+        for (int i = 0; i < 2 && iterator.hasNext(); i++) {
+            if (PRESERVE_WHITESPACE_TAGS.contains(iterator.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBlank(final XMLStreamReader reader) {
+        final char[] chars = reader.getTextCharacters();
+        final int end = reader.getTextStart() + reader.getTextLength();
+        for (int i = reader.getTextStart(); i < end; i++) {
+            if (!isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * テーブルの内容
+     */
+    static class TableContent {
+
+        // 行ごとの"td"のテキスト
+        private final List<List<String>> rowList;
+
+        // テーブルごとのテキスト
+        private final List<String> tableTextList;
+
+        TableContent(final List<List<String>> rowList, final List<String> tableTextList) {
+            this.rowList = rowList;
+            this.tableTextList = tableTextList;
+        }
+
+        List<List<String>> getRowList() {
+            return rowList;
+        }
+
+        List<String> getTableTextList() {
+            return tableTextList;
+        }
+    }
+
+    private static class NamedElement {
+
+        private final String name;
+
+        private final int depth;
+
+        NamedElement(final String name, final int depth) {
+            this.name = name;
+            this.depth = depth;
+        }
+    }
+
+    private static class Row {
+
+        private final int depth;
+
+        private final List<TextCollector> cellList = new ArrayList<>();
+
+        Row(final int depth) {
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * 要素のテキストを {@code Element#text()} と同じ規則で組み立てる
+     */
+    private static class TextCollector {
+
+        private final int depth;
+
+        private final StringBuilder accum = new StringBuilder();
+
+        private TextCollector(final int depth) {
+            this.depth = depth;
+        }
+
+        void startElement(final String tag) {
+            if (accum.length() > 0 && (BLOCK_TAGS.contains(tag) || "br".equals(tag)) && !lastCharIsWhitespace()) {
+                accum.append(' ');
+            }
+        }
+
+        void append(final String text, final boolean preserveWhitespace) {
+            if (preserveWhitespace) {
+                accum.append(text);
+                return;
+            }
+
+            final boolean stripLeading = lastCharIsWhitespace();
+            boolean lastWasWhite = false;
+            boolean reachedNonWhite = false;
+            for (int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if (isWhitespace(c)) {
+                    if ((stripLeading && !reachedNonWhite) || lastWasWhite) {
+                        continue;
+                    }
+                    accum.append(' ');
+                    lastWasWhite = true;
+                } else {
+                    accum.append(c);
+                    lastWasWhite = false;
+                    reachedNonWhite = true;
+                }
+            }
+        }
+
+        String text() {
+            return accum.toString().trim();
+        }
+
+        private boolean lastCharIsWhitespace() {
+            return accum.length() != 0 && accum.charAt(accum.length() - 1) == ' ';
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 複数のキーワードを一度に照合する
+ * <p>
+ * キーワードからオートマトン（Aho-Corasick法）を構築し、文字列を1回走査するだけで
+ * 含まれるキーワードをすべて判定する。判定結果はキーワードの順番をビット位置とするビット列で返却する。
+ */
+final class KeywordMatcher {
+
+    private static final int MAX_KEYWORD_SIZE = Long.SIZE;
+
+    private final List<String> keywordList;
+
+    // 状態ごとの遷移先（遷移文字の昇順）
+    private final char[][] transitionChars;
+
+    private final int[][] transitionStates;
+
+    private final int[] failure;
+
+    // 状態に到達したときに含まれることが確定するキーワード
+    private final long[] output;
+
+    private KeywordMatcher(
+            final List<String> keywordList,
+            final char[][] transitionChars,
+            final int[][] transitionStates,
+            final int[] failure,
+            final long[] output) {
+        this.keywordList = keywordList;
+        this.transitionChars = transitionChars;
+        this.transitionStates = transitionStates;
+        this.failure = failure;
+        this.output = output;
+    }
+
+    /**
+     * キーワードからオートマトンを構築する
+     *
+     * @param keywordList キーワード（64個まで）
+     * @return KeywordMatcher
+     */
+    static KeywordMatcher of(final List<String> keywordList) {
+        if (keywordList.size() > MAX_KEYWORD_SIZE) {
+            throw new IllegalArgumentException("キーワードは" + MAX_KEYWORD_SIZE + "個までです。");
+        }
+
+        // トライ木を構築する
+        final List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        final List<Long> outputList = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        outputList.add(0L);
+        for (int i = 0; i < keywordList.size(); i++) {
+            int state = 0;
+            for (final char c : keywordList.get(i).toCharArray()) {
+                final Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    trie.add(new TreeMap<>());
+                    outputList.add(0L);
+                    trie.get(state).put(c, trie.size() - 1);
+                    state = trie.size() - 1;
+                } else {
+                    state = next;
+                }
+            }
+            outputList.set(state, outputList.get(state) | (1L << i));
+        }
+
+        // 失敗時の遷移先を幅優先で求める
+        final int size = trie.size();
+        final int[] failure = new int[size];
+        final long[] output = new long[size];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        output[0] = outputList.get(0);
+        trie.get(0).values().forEach(queue::add);
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            output[state] = outputList.get(state) | output[failure[state]];
+            trie.get(state).forEach((c, next) -> {
+                int f = failure[state];
+                while (f != 0 && !trie.get(f).containsKey(c)) {
+                    f = failure[f];
+                }
+                final Integer target = trie.get(f).get(c);
+                failure[next] = target != null && target != next ? target : 0;
+                queue.add(next);
+            });
+        }
+
+        final char[][] transitionChars = new char[size][];
+        final int[][] transitionStates = new int[size][];
+        for (int state = 0; state < size; state++) {
+            final TreeMap<Character, Integer> transition = trie.get(state);
+            transitionChars[state] = new char[transition.size()];
+            transitionStates[state] = new int[transition.size()];
+            int i = 0;
+            for (final var entry : transition.entrySet()) {
+                transitionChars[state][i] = entry.getKey();
+                transitionStates[state][i] = entry.getValue();
+                i++;
+            }
+        }
+
+        return new KeywordMatcher(List.copyOf(keywordList), transitionChars, transitionStates, failure, output);
+    }
+
+    /**
+     * 文字列に含まれるキーワードを判定する
+     *
+     * @param text 文字列
+     * @return 含まれるキーワードのビット列
+     */
+    long match(final CharSequence text) {
+        long matched = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            int next = next(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = next(state, c);
+            }
+            state = Math.max(next, 0);
+            matched |= output[state];
+        }
+        return matched;
+    }
+
+    /**
+     * キーワードのビットを取得する
+     *
+     * @param keyword キーワード
+     * @return ビット
+     */
+    long bitOf(final String keyword) {
+        final int index = keywordList.indexOf(keyword);
+        if (index < 0) {
+            throw new IllegalArgumentException("登録されていないキーワードです。\tキーワード:" + keyword);
+        }
+        return 1L << index;
+    }
+
+    /**
+     * キーワードすべてのビットを取得する
+     *
+     * @param keywordList キーワード
+     * @return ビット列
+     */
+    long bitsOf(final List<String> keywordList) {
+        return keywordList.stream().mapToLong(this::bitOf).reduce(0L, (a, b) -> a | b);
+    }
+
+    private int next(final int state, final char c) {
+        final char[] chars = transitionChars[state];
+        int low = 0;
+        int high = chars.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (chars[mid] < c) {
+                low = mid + 1;
+            } else if (chars[mid] > c) {
+                high = mid - 1;
+            } else {
+                return transitionStates[state][mid];
+            }
+        }
+        return -1;
+    }
+}
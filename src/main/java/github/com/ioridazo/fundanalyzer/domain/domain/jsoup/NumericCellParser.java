@@ -0,0 +1,194 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import java.text.MessageFormat;
+import java.util.Optional;
+
+/**
+ * スクレイピングした表の数値を解析する
+ * <p>
+ * 注記記号（"※1"、"注1"、"*1"など）、ダッシュ、"△"による負数、桁区切りのカンマ、"株"を
+ * 中間文字列を生成せずに1回の走査で読み取る。
+ * 想定外の文字を含むときは、従来の置換による解析と同じ結果を返却するためにそちらで解析する。
+ */
+@Component
+public class NumericCellParser {
+
+    private static final Logger log = LogManager.getLogger(NumericCellParser.class);
+
+    private static final char NBSP = '\u00a0';
+
+    // 1回の走査で解析できなかったことを示す値
+    private static final long UNPARSED = Long.MIN_VALUE;
+
+    /**
+     * 数値を解析する
+     *
+     * @param value 数値
+     * @return 値
+     */
+    public Optional<Long> parse(final String value) {
+        if (value.isBlank() || (value.length() == 1 && value.charAt(0) == NBSP)) {
+            return Optional.empty();
+        }
+
+        final long parsed = scan(value);
+        if (parsed != UNPARSED) {
+            return Optional.of(parsed);
+        }
+        return parseByReplacing(value);
+    }
+
+    /**
+     * 1回の走査で数値を解析する
+     * <p>
+     * 注記記号は直後の番号と合わせて読み飛ばし、番号を伴わない注記記号などは解析できなかったものとする。
+     *
+     * @param value 数値
+     * @return 値（解析できなかったときは {@link #UNPARSED}）
+     */
+    static long scan(final String value) {
+        final int length = value.length();
+        boolean negative = false;
+        boolean hasDigit = false;
+        // Long#parseLong と同じく負の値として積み上げる
+        long result = 0;
+
+        int i = 0;
+        while (i < length) {
+            final char c = value.charAt(i);
+            int digit = digit(c);
+            if (digit < 0) {
+                switch (c) {
+                    case '※':
+                        if (i + 1 < length && (value.charAt(i + 1) == ' ' || isFootnoteNumber(value.charAt(i + 1), 9))) {
+                            i += 2;
+                            continue;
+                        }
+                        return UNPARSED;
+                    case '注':
+                        if (i + 1 < length && isFootnoteNumber(value.charAt(i + 1), 5)) {
+                            i += 2;
+                            continue;
+                        }
+                        return UNPARSED;
+                    case '*':
+                        if (i + 1 < length && (value.charAt(i + 1) == '1' || value.charAt(i + 1) == '2')) {
+                            i += 2;
+                            continue;
+                        }
+                        return UNPARSED;
+                    case '株':
+                    case ' ':
+                    case NBSP:
+                    case ',':
+                        i++;
+                        continue;
+                    case '－':
+                    case '―':
+                    case '-':
+                        digit = 0;
+                        break;
+                    case '△':
+                        // 符号は先頭にのみ許容する
+                        if (negative || hasDigit) {
+                            return UNPARSED;
+                        }
+                        negative = true;
+                        i++;
+                        continue;
+                    default:
+                        return UNPARSED;
+                }
+            }
+
+            final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            if (result < limit / 10) {
+                return UNPARSED;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return UNPARSED;
+            }
+            result -= digit;
+            hasDigit = true;
+            i++;
+        }
+
+        if (!hasDigit) {
+            return UNPARSED;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 置換を繰り返して数値を解析する
+     *
+     * @param value 数値
+     * @return 値
+     */
+    Optional<Long> parseByReplacing(final String value) {
+        try {
+            return Optional.of(value)
+                    .filter(v -> !v.isBlank())
+                    .filter(v -> !" ".equals(v))
+                    .map(s -> Long.parseLong(s
+                            .replace("※ ", "")
+                            .replace("※1", "").replace("※１", "")
+                            .replace("※2", "").replace("※２", "")
+                            .replace("※3", "").replace("※３", "")
+                            .replace("※4", "").replace("※４", "")
+                            .replace("※5", "").replace("※５", "")
+                            .replace("※6", "").replace("※６", "")
+                            .replace("※7", "").replace("※７", "")
+                            .replace("※8", "").replace("※８", "")
+                            .replace("※9", "").replace("※９", "")
+                            .replace("※10", "").replace("※11", "")
+                            .replace("※12", "").replace("※13", "")
+                            .replace("※14", "").replace("※15", "")
+                            .replace("※16", "").replace("※17", "")
+                            .replace("注1", "").replace("注１", "")
+                            .replace("注2", "").replace("注２", "")
+                            .replace("注3", "").replace("注３", "")
+                            .replace("注4", "").replace("注４", "")
+                            .replace("注5", "").replace("注５", "")
+                            .replace("*1", "").replace("*2", "")
+                            .replace("株", "")
+                            .replace("－", "0").replace("―", "0")
+                            .replace("-", "0")
+                            .replace(" ", "").replace(" ", "")
+                            .replace(",", "")
+                            .replace("△", "-")
+                    ));
+        } catch (NumberFormatException e) {
+            log.warn(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format(
+                            "数値を正常に認識できなかったため、NULLで登録します。\tvalue:{0}",
+                            value
+                    ),
+                    Category.SCRAPING,
+                    Process.SCRAPING
+            ));
+            return Optional.empty();
+        }
+    }
+
+    private static int digit(final char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= '０' && c <= '９') {
+            return c - '０';
+        }
+        return -1;
+    }
+
+    private static boolean isFootnoteNumber(final char c, final int max) {
+        return (c >= '1' && c <= '0' + max) || (c >= '１' && c <= '０' + max);
+    }
+}
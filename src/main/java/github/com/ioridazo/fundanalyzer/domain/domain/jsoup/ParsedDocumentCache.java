@@ -0,0 +1,89 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import lombok.Value;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 解析済みHTMLドキュメントのキャッシュ
+ * <p>
+ * ファイルのURIと最終更新日時をキーとして、同一ファイルの解析結果を使い回す。
+ * zipファイル内のファイルはzipファイルを含むURIで識別する。
+ * 保持件数の上限を超えたときは最も使われていないものから破棄し、
+ * メモリが逼迫したときはGCによる回収を許容する。
+ */
+class ParsedDocumentCache {
+
+    private final int maxSize;
+
+    private final Map<Key, SoftReference<Document>> cache;
+
+    ParsedDocumentCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, SoftReference<Document>> eldest) {
+                return size() > ParsedDocumentCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * ファイルを解析する（解析済みのときはキャッシュから取得する）
+     *
+     * @param file 対象ファイル
+     * @return 解析済みドキュメント
+     * @throws IOException ファイルの読み取りに失敗したとき
+     */
+    Document parse(final Path file) throws IOException {
+        final Key key = Key.of(file);
+
+        synchronized (cache) {
+            final SoftReference<Document> reference = cache.get(key);
+            if (Objects.nonNull(reference)) {
+                final Document document = reference.get();
+                if (Objects.nonNull(document)) {
+                    return document;
+                }
+                cache.remove(key);
+            }
+        }
+
+        // 解析処理はロックの外で実行する
+        final Document document;
+        try (InputStream is = Files.newInputStream(file)) {
+            document = Jsoup.parse(is, "UTF-8", file.toAbsolutePath().toString());
+        }
+
+        synchronized (cache) {
+            cache.put(key, new SoftReference<>(document));
+        }
+        return document;
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @SuppressWarnings("RedundantModifiersValueLombok")
+    @Value(staticConstructor = "of")
+    private static class Key {
+        private final String uri;
+        private final long lastModified;
+
+        static Key of(final Path file) throws IOException {
+            return of(file.toUri().toString(), Files.getLastModifiedTime(file).toMillis());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 株式総数のテーブルから値の位置を特定する
+ * <p>
+ * テーブルを1回走査して、発行数の項目の列と"計"の項目の行を記録する。
+ * 発行数の項目は事業年度末のもの（有価証券報告書）と四半期会計期間末のもの（四半期報告書）を対象とする。
+ */
+final class ShareTableLocator {
+
+    private static final String TOTAL = "計";
+
+    private static final String ACCOUNTING = "会計";
+
+    // 有価証券報告書の"事業年度末現在発行数"
+    static final List<String> FISCAL_YEAR_END = List.of("事業", "年度", "末", "現在", "発行", "数");
+
+    // 四半期報告書の"四半期会計期間末現在発行数"
+    static final List<String> QUARTER_END = List.of("四半期", "末", "現在", "発行", "数");
+
+    private final KeywordMatcher matcher;
+
+    private final long[] columnKeyBitsList;
+
+    private final long totalBit;
+
+    private final long accountingBit;
+
+    private ShareTableLocator(final List<List<String>> columnKeyList) {
+        this.matcher = KeywordMatcher.of(Stream.concat(columnKeyList.stream().flatMap(List::stream), Stream.of(TOTAL, ACCOUNTING))
+                .distinct()
+                .collect(Collectors.toList()));
+        this.columnKeyBitsList = columnKeyList.stream().mapToLong(matcher::bitsOf).toArray();
+        this.totalBit = matcher.bitOf(TOTAL);
+        this.accountingBit = matcher.bitOf(ACCOUNTING);
+    }
+
+    /**
+     * 発行数の項目を指定して生成する
+     *
+     * @param columnKeyList 発行数の項目に含まれる語句の組み合わせ（いずれかを満たす項目を対象とする）
+     * @return ShareTableLocator
+     */
+    static ShareTableLocator of(final List<List<String>> columnKeyList) {
+        return new ShareTableLocator(columnKeyList);
+    }
+
+    /**
+     * 株式総数の値の位置を特定する
+     * <p>
+     * 発行数の項目は最初に現れるものを、"計"の項目は"会計"以外で"計"を含む項目がある最初の行のものを対象とする。
+     *
+     * @param rowList 行ごとの"td"のテキスト
+     * @return 値の位置（行と列）
+     */
+    Optional<Position> locate(final List<List<String>> rowList) {
+        int columnIndex = -1;
+        int rowIndex = -1;
+        // "計"を含む項目が最初に現れた行
+        final Map<String, Integer> firstRowOfTotal = new HashMap<>();
+
+        for (int i = 0; i < rowList.size() && (columnIndex < 0 || rowIndex < 0); i++) {
+            final List<String> tdList = rowList.get(i);
+            String totalKey = null;
+            boolean isTotalRow = false;
+
+            for (int j = 0; j < tdList.size(); j++) {
+                final String td = tdList.get(j);
+                final long matched = matcher.match(td);
+
+                if (columnIndex < 0 && isColumnKey(matched)) {
+                    columnIndex = j;
+                }
+                if (rowIndex < 0 && (matched & totalBit) != 0) {
+                    firstRowOfTotal.putIfAbsent(td, i);
+                    if (totalKey == null) {
+                        totalKey = td;
+                    }
+                    isTotalRow |= (matched & accountingBit) == 0;
+                }
+            }
+
+            if (isTotalRow) {
+                // 同じ項目がそれより前の行にあるときはその行を対象とする
+                rowIndex = firstRowOfTotal.get(totalKey);
+            }
+        }
+
+        return columnIndex < 0 || rowIndex < 0 ? Optional.empty() : Optional.of(new Position(rowIndex, columnIndex));
+    }
+
+    private boolean isColumnKey(final long matched) {
+        for (final long columnKeyBits : columnKeyBitsList) {
+            if ((matched & columnKeyBits) == columnKeyBits) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * テーブル内の位置
+     */
+    static class Position {
+
+        private final int rowIndex;
+
+        private final int columnIndex;
+
+        Position(final int rowIndex, final int columnIndex) {
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+        }
+
+        int getRowIndex() {
+            return rowIndex;
+        }
+
+        int getColumnIndex() {
+            return columnIndex;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.XbrlFactResultBean;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerFileException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * XBRLインスタンスに記載された事実（ファクト）を読み取る
+ * <p>
+ * HTMLのテーブルを解析せずに、要素名とコンテキストIDから値を一意に取得する。
+ * 要素は名前空間URIとローカル名で照合するため、書類ごとの名前空間接頭辞の違いは影響しない。
+ */
+@Component
+public class XbrlFactScraping {
+
+    private static final Logger log = LogManager.getLogger(XbrlFactScraping.class);
+
+    private static final String EXTENSION = ".xbrl";
+
+    // 個別財務諸表のコンテキストIDに付与される接尾辞
+    private static final String NON_CONSOLIDATED_MEMBER = "_NonConsolidatedMember";
+
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    // EDINETタクソノミの名前空間URI（"http://disclosure.edinet-fsa.go.jp/taxonomy/jppfs/2019-11-01/jppfs_cor"など）
+    private static final Pattern EDINET_NAMESPACE =
+            Pattern.compile("^http://disclosure\\.edinet-fsa\\.go\\.jp/taxonomy/[^/]+/[^/]+/([^/]+)$");
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static XMLInputFactory createFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * 対象のフォルダ配下にあるXBRLインスタンスを返却する
+     *
+     * @param filePath フォルダパス
+     * @return XBRLインスタンス
+     */
+    public Optional<Path> findInstanceFile(final Path filePath) {
+        if (!Files.isDirectory(filePath)) {
+            return Optional.empty();
+        }
+
+        final List<Path> fileList;
+        try (Stream<Path> stream = Files.list(filePath)) {
+            fileList = stream
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new FundanalyzerFileException("フォルダの読み取りに失敗しました。スタックトレースから詳細を確認してください。", e);
+        }
+
+        if (fileList.size() > 1) {
+            fileList.forEach(file -> log.error(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format("複数ファイルエラー\tXBRLインスタンス：{0}", file.toUri()),
+                    Category.SCRAPING,
+                    Process.SCRAPING
+            )));
+            throw new FundanalyzerFileException("XBRLインスタンスが複数検出されました。スタックトレースを参考に詳細を確認してください。");
+        }
+        return fileList.stream().findFirst();
+    }
+
+    /**
+     * XBRLインスタンスから対象の要素の値を取得する
+     * <p>
+     * 連結財務諸表の値が存在しないときは、個別財務諸表の値を取得する。
+     *
+     * @param instanceFile XBRLインスタンス
+     * @param elementSet   対象の要素名（"jppfs_cor:CurrentAssets"など、接頭辞はタクソノミのスキーマ名）
+     * @param contextRef   連結財務諸表のコンテキストID（"CurrentYearInstant"など）
+     * @return 要素ごとの値
+     */
+    public List<XbrlFactResultBean> scrapeFinancialStatement(
+            final Path instanceFile, final Set<String> elementSet, final String contextRef) {
+        final String nonConsolidatedContextRef = contextRef + NON_CONSOLIDATED_MEMBER;
+        final List<XbrlFactResultBean> factList = readFacts(instanceFile, elementSet).stream()
+                .filter(fact -> contextRef.equals(fact.getContextRef()) || nonConsolidatedContextRef.equals(fact.getContextRef()))
+                .collect(Collectors.toList());
+
+        final boolean isConsolidated = factList.stream().anyMatch(fact -> contextRef.equals(fact.getContextRef()));
+        return factList.stream()
+                .filter(fact -> isConsolidated == contextRef.equals(fact.getContextRef()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * XBRLインスタンスから対象の要素の事実を読み取る
+     *
+     * @param instanceFile XBRLインスタンス
+     * @param elementSet   対象の要素名
+     * @return 事実のリスト
+     */
+    List<XbrlFactResultBean> readFacts(final Path instanceFile, final Set<String> elementSet) {
+        final List<XbrlFactResultBean> factList = new ArrayList<>();
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(instanceFile))) {
+            final XMLStreamReader reader = FACTORY.createXMLStreamReader(is);
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    final int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        // 事実はルート要素の直下に記載される
+                        final String name = depth == 2 ? elementName(reader.getNamespaceURI(), reader.getLocalName()) : null;
+                        if (name != null && elementSet.contains(name)) {
+                            final String contextRef = reader.getAttributeValue(null, "contextRef");
+                            final boolean isNil = "true".equals(reader.getAttributeValue(XSI_NAMESPACE, "nil"));
+                            // 要素の終了まで読み進める
+                            final String value = reader.getElementText().trim();
+                            depth--;
+
+                            factList.add(XbrlFactResultBean.of(name, contextRef, isNil || value.isEmpty() ? null : value));
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth--;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            log.warn(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format(
+                            "XBRLインスタンスの読み取りに失敗しました。\t対象ファイルパス:\"{0}\"",
+                            instanceFile.toUri()
+                    ),
+                    Category.SCRAPING,
+                    Process.SCRAPING
+            ));
+            throw new FundanalyzerFileException("XBRLインスタンスの認識に失敗しました。スタックトレースから詳細を確認してください。", e);
+        }
+        return factList;
+    }
+
+    /**
+     * 名前空間URIとローカル名から要素名を生成する
+     *
+     * @param namespaceUri 名前空間URI
+     * @param localName    ローカル名
+     * @return 要素名（EDINETタクソノミの要素でないときはnull）
+     */
+    static String elementName(final String namespaceUri, final String localName) {
+        if (namespaceUri == null) {
+            return null;
+        }
+        final Matcher matcher = EDINET_NAMESPACE.matcher(namespaceUri);
+        return matcher.matches() ? matcher.group(1) + ":" + localName : null;
+    }
+}
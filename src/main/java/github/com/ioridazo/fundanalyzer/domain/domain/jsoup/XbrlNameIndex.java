@@ -0,0 +1,167 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * "name"属性の値からそれを含むファイルを引くための索引
+ * <p>
+ * デコードしたフォルダ内、またはzipファイルと同じフォルダに索引ファイルとして永続化し、再スクレイピング時にも使い回す。
+ */
+class XbrlNameIndex {
+
+    static final String INDEX_FILE_NAME = "fundanalyzer-name-index.properties";
+
+    // zipファイルの索引ファイル名の接尾辞（"<書類ID>.name-index.properties"）
+    static final String ZIP_INDEX_FILE_SUFFIX = ".name-index.properties";
+
+    private static final String ZIP_EXTENSION = ".zip";
+
+    private static final String SEPARATOR = ",";
+
+    private final Map<String, List<String>> index;
+
+    private final long lastModified;
+
+    private volatile boolean stored;
+
+    private XbrlNameIndex(final Map<String, List<String>> index, final long lastModified, final boolean stored) {
+        this.index = index;
+        this.lastModified = lastModified;
+        this.stored = stored;
+    }
+
+    /**
+     * 索引を生成する
+     *
+     * @param nameListByFileName ファイル名ごとの"name"属性の値
+     * @return 索引
+     */
+    static XbrlNameIndex of(final Map<String, ? extends Iterable<String>> nameListByFileName) {
+        final Map<String, List<String>> index = new HashMap<>();
+        nameListByFileName.forEach((fileName, nameList) ->
+                nameList.forEach(name -> {
+                    final List<String> fileNameList = index.computeIfAbsent(name, k -> new ArrayList<>(1));
+                    if (!fileNameList.contains(fileName)) {
+                        fileNameList.add(fileName);
+                    }
+                }));
+        return new XbrlNameIndex(index, System.currentTimeMillis(), false);
+    }
+
+    /**
+     * デコードしたフォルダの索引ファイルのパスを取得する
+     *
+     * @param directory 対象フォルダ
+     * @return 索引ファイルのパス
+     */
+    static Path indexFileOf(final Path directory) {
+        return directory.resolve(INDEX_FILE_NAME);
+    }
+
+    /**
+     * zipファイルの索引ファイルのパスを取得する
+     *
+     * @param zipFile zipファイル
+     * @return 索引ファイルのパス（zipファイルと同じフォルダ）
+     */
+    static Path indexFileOfZip(final Path zipFile) {
+        final String fileName = zipFile.getFileName().toString();
+        final String docId = fileName.endsWith(ZIP_EXTENSION)
+                ? fileName.substring(0, fileName.length() - ZIP_EXTENSION.length()) : fileName;
+        return zipFile.resolveSibling(docId + ZIP_INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * 保存された索引を読み込む
+     *
+     * @param indexFile      索引ファイル
+     * @param targetFileList 索引対象のファイルリスト
+     * @return 索引（存在しないとき、または対象ファイルより古いときはnull）
+     * @throws IOException 読み取りに失敗したとき
+     */
+    static XbrlNameIndex load(final Path indexFile, final List<Path> targetFileList) throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        final Map<String, List<String>> index = new HashMap<>(properties.size() * 2);
+        properties.stringPropertyNames().forEach(name ->
+                index.put(name, List.of(properties.getProperty(name).split(SEPARATOR))));
+        final XbrlNameIndex nameIndex = new XbrlNameIndex(index, Files.getLastModifiedTime(indexFile).toMillis(), true);
+        // 索引作成後にファイルが更新されているときは使用しない
+        return nameIndex.isUpToDate(targetFileList) ? nameIndex : null;
+    }
+
+    /**
+     * 索引を保存する
+     *
+     * @param indexFile 索引ファイル
+     * @throws IOException 書き込みに失敗したとき
+     */
+    void store(final Path indexFile) throws IOException {
+        final Properties properties = new Properties();
+        index.forEach((name, fileNameList) -> properties.setProperty(name, String.join(SEPARATOR, fileNameList)));
+
+        try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        stored = true;
+    }
+
+    /**
+     * "name"属性の値を含むファイルを取得する
+     *
+     * @param directory 対象フォルダ
+     * @param name      "name"属性の値
+     * @return ファイルリスト
+     */
+    List<Path> find(final Path directory, final String name) {
+        return index.getOrDefault(name, List.of()).stream()
+                .map(directory::resolve)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 索引が索引ファイルに保存されているか
+     *
+     * @return boolean
+     */
+    boolean isStored() {
+        return stored;
+    }
+
+    /**
+     * 索引作成後に対象ファイルが更新されていないか
+     *
+     * @param targetFileList 索引対象のファイルリスト
+     * @return boolean
+     */
+    boolean isUpToDate(final List<Path> targetFileList) {
+        return targetFileList.stream().noneMatch(file -> lastModified(file) > lastModified);
+    }
+
+    private static long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // 更新日時を取得できないファイルは更新されたものとして扱う
+            return Long.MAX_VALUE;
+        }
+    }
+}
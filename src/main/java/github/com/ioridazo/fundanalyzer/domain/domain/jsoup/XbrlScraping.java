@@ -4,32 +4,61 @@ import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.ScrapingKeywordEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.InlineXbrlStreamReader.TableContent;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.FinancialTableResultBean;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.Unit;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerFileException;
-import lombok.Value;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class XbrlScraping {
 
     private static final Logger log = LogManager.getLogger(XbrlScraping.class);
 
-    private static final String TOTAL = "計";
+    private static final ShareTableLocator SHARE_TABLE_LOCATOR =
+            ShareTableLocator.of(List.of(ShareTableLocator.FISCAL_YEAR_END, ShareTableLocator.QUARTER_END));
+
+    // 1ドキュメントあたりの"honbun"ファイル数と並列処理数を踏まえた保持件数
+    private static final int PARSED_DOCUMENT_CACHE_SIZE = 64;
+
+    private static final int NAME_INDEX_CACHE_SIZE = 64;
+
+    // DOMを構築せずにファイルを読み取るかどうか
+    private final boolean streaming;
+
+    private final ParsedDocumentCache parsedDocumentCache = new ParsedDocumentCache(PARSED_DOCUMENT_CACHE_SIZE);
+
+    private final Map<String, XbrlNameIndex> nameIndexCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, XbrlNameIndex> eldest) {
+            return size() > NAME_INDEX_CACHE_SIZE;
+        }
+    };
+
+    public XbrlScraping(@Value("${app.config.scraping.streaming}") final boolean streaming) {
+        this.streaming = streaming;
+    }
 
     /**
      * 対象のフォルダ配下にあるファイルからキーワードに合致するものを返却する
@@ -38,14 +67,9 @@ public class XbrlScraping {
      * @param scrapingKeywordEntity キーワード
      * @return キーワードに合致するファイル
      */
-    public Optional<File> findFile(final File filePath, final ScrapingKeywordEntity scrapingKeywordEntity) {
-        // 対象のディレクトリから"honbun"ファイルを取得
-        final var filePathList = findFilesByTitleKeywordContaining("honbun", filePath).stream()
-                .filter(File::isFile)
-                .map(file -> new File(filePath, file.getName()))
-                // キーワードが存在するものを見つける
-                .filter(filePathName -> elementsByKeyMatch(filePathName, KeyMatch.of("name", scrapingKeywordEntity.getKeyword())).hasText())
-                .collect(Collectors.toList());
+    public Optional<Path> findFile(final Path filePath, final ScrapingKeywordEntity scrapingKeywordEntity) {
+        // 索引からキーワードが存在するファイルを見つける
+        final var filePathList = nameIndex(filePath, false).find(filePath, scrapingKeywordEntity.getKeyword());
 
         if (filePathList.size() == 1) {
             // ファイルが一つ見つかったとき
@@ -78,6 +102,26 @@ public class XbrlScraping {
         }
     }
 
+    /**
+     * 対象のフォルダ配下にある"honbun"ファイルの"name"属性の索引を作成してフォルダ内に保存する
+     * <p>
+     * zipファイル内のフォルダは書き換えないため、索引はzipファイルと同じフォルダに保存する。
+     *
+     * @param filePath フォルダパス
+     */
+    public void index(final Path filePath) {
+        try {
+            nameIndex(filePath, true);
+        } catch (FundanalyzerFileException e) {
+            // 索引はスクレイピング時にも作成できるため、ここでは処理を継続する
+            log.warn(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format("索引の作成に失敗しました。\t対象フォルダパス:\"{0}\"", filePath.toUri()),
+                    Category.SCRAPING,
+                    Process.SCRAPING
+            ), e);
+        }
+    }
+
     /**
      * ファイルからキーワードに合致する財務諸表テーブルの科目とその値をスクレイピングする
      *
@@ -85,16 +129,13 @@ public class XbrlScraping {
      * @param keyWord    キーワード
      * @return スクレイピングした結果のリスト
      */
-    public List<FinancialTableResultBean> scrapeFinancialStatement(final File targetFile, final String keyWord) {
-        final var unit = unit(targetFile, keyWord);
-
-        final var scrapingList = elementsByKeyMatch(targetFile, KeyMatch.of("name", keyWord))
-                .select(Tag.TABLE.getName())
-                .select(Tag.TR.getName()).stream()
-                // tdの要素をリストにする
-                .map(tr -> tr.select(Tag.TD.getName()).stream()
-                        .map(Element::text)
-                        // tdの中から" "（空）を取り除く
+    public List<FinancialTableResultBean> scrapeFinancialStatement(final Path targetFile, final String keyWord) {
+        final var tableContent = tableContent(targetFile, keyWord);
+        final var unit = unit(tableContent.getTableTextList());
+
+        final var scrapingList = tableContent.getRowList().stream()
+                // tdの中から" "（空）を取り除く
+                .map(tdList -> tdList.stream()
                         .filter(tdText -> !tdText.equals(" "))
                         .collect(Collectors.toList()))
                 .collect(Collectors.toList());
@@ -123,18 +164,20 @@ public class XbrlScraping {
      * @param keyWord キーワード
      * @return 単位（金額）
      */
-    Unit unit(final File file, final String keyWord) {
-        if (elementsByKeyMatch(file, KeyMatch.of("name", keyWord))
-                .select(Tag.TABLE.getName())
-                .stream()
-                .map(Element::text)
-                .anyMatch(s -> s.contains(Unit.THOUSANDS_OF_YEN.getName()))) {
+    Unit unit(final Path file, final String keyWord) {
+        return unit(tableContent(file, keyWord).getTableTextList());
+    }
+
+    /**
+     * テーブルのテキストから財務諸表の金額単位を識別する
+     *
+     * @param tableTextList テーブルごとのテキスト
+     * @return 単位（金額）
+     */
+    private Unit unit(final List<String> tableTextList) {
+        if (tableTextList.stream().anyMatch(s -> s.contains(Unit.THOUSANDS_OF_YEN.getName()))) {
             return Unit.THOUSANDS_OF_YEN;
-        } else if (elementsByKeyMatch(file, KeyMatch.of("name", keyWord))
-                .select(Tag.TABLE.getName())
-                .stream()
-                .map(Element::text)
-                .anyMatch(s -> s.contains(Unit.MILLIONS_OF_YEN.getName()))) {
+        } else if (tableTextList.stream().anyMatch(s -> s.contains(Unit.MILLIONS_OF_YEN.getName()))) {
             return Unit.MILLIONS_OF_YEN;
         } else {
             throw new FundanalyzerFileException("財務諸表の金額単位を識別できませんでした。");
@@ -148,81 +191,185 @@ public class XbrlScraping {
      * @param keyWord キーワード
      * @return 株式総数
      */
-    public String scrapeNumberOfShares(final File file, final String keyWord) {
-        final var scrapingList = elementsByKeyMatch(file, KeyMatch.of("name", keyWord))
-                .select(Tag.TABLE.getName())
-                .select(Tag.TR.getName()).stream()
-                // tdの要素をリストにする
-                .map(tr -> tr.select(Tag.TD.getName()).stream()
-                        .map(Element::text)
-                        .collect(Collectors.toList())
-                )
-                .collect(Collectors.toList());
+    public String scrapeNumberOfShares(final Path file, final String keyWord) {
+        final var scrapingList = tableContent(file, keyWord).getRowList();
 
         if (scrapingList.isEmpty()) {
             throw new FundanalyzerFileException("株式総数取得のためのテーブルが存在しなかったため、株式総数取得に失敗しました。");
         }
 
+        final var position = SHARE_TABLE_LOCATOR.locate(scrapingList).orElseThrow(() ->
+                new FundanalyzerFileException("株式総数取得のためのキーワードが存在しなかったため、株式総数取得に失敗しました。"));
+        return scrapingList.get(position.getRowIndex()).get(position.getColumnIndex());
+    }
+
+    /**
+     * ファイルからキーワードに合致する要素配下のテーブルを読み取る
+     * <p>
+     * XMLとして読み取れないファイルはDOMを構築して読み取る。
+     *
+     * @param file    対象のファイル
+     * @param keyWord キーワード
+     * @return テーブルの内容
+     */
+    private TableContent tableContent(final Path file, final String keyWord) {
+        if (streaming) {
+            try {
+                return InlineXbrlStreamReader.readTable(file, keyWord);
+            } catch (XMLStreamException e) {
+                log.debug("XMLとして読み取れなかったため、DOMを構築して読み取ります。\t対象ファイルパス:\"{}\"", file.toUri(), e);
+            } catch (IOException e) {
+                throw fileException(file, e);
+            }
+        }
+
+        final var tables = elementsByKeyMatch(file, KeyMatch.of("name", keyWord)).select(Tag.TABLE.getName());
+        return new TableContent(
+                tables.select(Tag.TR.getName()).stream()
+                        // tdの要素をリストにする
+                        .map(tr -> tr.select(Tag.TD.getName()).stream()
+                                .map(Element::text)
+                                .collect(Collectors.toList()))
+                        .collect(Collectors.toList()),
+                tables.stream().map(Element::text).collect(Collectors.toList())
+        );
+    }
+
+    Elements elementsByKeyMatch(final Path file, final KeyMatch keyMatch) {
+        return parse(file).getElementsByAttributeValue(keyMatch.getKey(), keyMatch.getMatch());
+    }
+
+    private Elements elementsByAttribute(final Path file, final String key) {
+        return parse(file).getElementsByAttribute(key);
+    }
+
+    private org.jsoup.nodes.Document parse(final Path file) {
         try {
-            // "事業年度末現在発行数"を含む項目を探す
-            final var key1 = scrapingList.stream()
-                    // 対象行の取得
-                    .filter(tdList -> tdList.stream().anyMatch(this::isTargetKey))
-                    .findFirst().orElseThrow().stream()
-                    // 対象行から"事業年度末現在発行数"を含むカラムを取得
-                    .filter(this::isTargetKey)
-                    .findFirst()
-                    .orElseThrow();
-
-            // "事業年度末現在発行数"を含む項目の列数
-            final var indexOfKey1 = scrapingList.stream()
-                    .filter(tdList -> tdList.stream().anyMatch(key1::equals))
-                    .findFirst().orElseThrow()
-                    .indexOf(key1);
-
-            // "計"を含む項目を探す
-            final var key2 = scrapingList.stream()
-                    // 対象行の取得
-                    .filter(tdList -> tdList.stream().anyMatch(td -> td.contains(TOTAL) && !td.contains("会計")))
-                    .findFirst().orElseThrow().stream()
-                    // 対象行から"計"を含むカラムを取得
-                    .filter(td -> td.contains(TOTAL))
-                    .findFirst().orElseThrow();
-
-            // "計"を含む項目の列数
-            final var indexOfKey2 = scrapingList.indexOf(scrapingList.stream()
-                    .filter(strings -> strings.stream().anyMatch(key2::equals))
-                    .findFirst().orElseThrow());
-
-            return scrapingList.get(indexOfKey2).get(indexOfKey1);
-        } catch (NoSuchElementException e) {
-            throw new FundanalyzerFileException("株式総数取得のためのキーワードが存在しなかったため、株式総数取得に失敗しました。");
-        }
-    }
-
-    private boolean isTargetKey(final String td) {
-        return (td.contains("事業") && td.contains("年度") && td.contains("末")
-                && td.contains("現在") && td.contains("発行") && td.contains("数"))
-                ||
-                (td.contains("四半期") && td.contains("末")
-                        && td.contains("現在") && td.contains("発行") && td.contains("数"));
-    }
-
-    Elements elementsByKeyMatch(final File file, final KeyMatch keyMatch) {
+            return parsedDocumentCache.parse(file);
+        } catch (IOException e) {
+            throw fileException(file, e);
+        }
+    }
+
+    private FundanalyzerFileException fileException(final Path file, final IOException e) {
+        log.warn(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format(
+                        "ファイル形式に問題があり、読み取りに失敗しました。\t対象ファイルパス:\"{0}\"",
+                        file.toUri()
+                ),
+                Category.SCRAPING,
+                Process.SCRAPING
+        ));
+        return new FundanalyzerFileException("ファイルの認識に失敗しました。スタックトレースから詳細を確認してください。", e);
+    }
+
+    /**
+     * 対象のフォルダの索引を取得する
+     *
+     * @param filePath フォルダパス
+     * @param store    索引が保存されていないときに保存するかどうか
+     * @return 索引
+     */
+    XbrlNameIndex nameIndex(final Path filePath, final boolean store) {
+        // 対象のディレクトリから"honbun"ファイルを取得
+        final List<Path> targetFileList = findFilesByTitleKeywordContaining("honbun", filePath);
+        final String key = filePath.toUri().toString();
+
+        // zipファイル内のフォルダは、zipファイルの更新日時で索引の鮮度を確認する
+        final Optional<Path> zipFile = zipFileOf(filePath);
+        final List<Path> sourceFileList = zipFile.map(List::of).orElse(targetFileList);
+        final Path indexFile = zipFile.map(XbrlNameIndex::indexFileOfZip).orElseGet(() -> XbrlNameIndex.indexFileOf(filePath));
+
+        final XbrlNameIndex cachedIndex;
+        synchronized (nameIndexCache) {
+            cachedIndex = nameIndexCache.get(key);
+        }
+        final boolean isCached = Objects.nonNull(cachedIndex) && cachedIndex.isUpToDate(sourceFileList);
+        if (isCached && (!store || cachedIndex.isStored())) {
+            return cachedIndex;
+        }
+
+        XbrlNameIndex nameIndex;
         try {
-            return Jsoup.parse(file, "UTF-8")
-                    .getElementsByAttributeValue(keyMatch.getKey(), keyMatch.getMatch());
+            nameIndex = XbrlNameIndex.load(indexFile, sourceFileList);
         } catch (IOException e) {
             log.warn(FundanalyzerLogClient.toInteractorLogObject(
-                    MessageFormat.format(
-                            "ファイル形式に問題があり、読み取りに失敗しました。\t対象ファイルパス:\"{0}\"",
-                            file.getPath()
-                    ),
+                    MessageFormat.format("索引ファイルの読み取りに失敗したため、索引を再作成します。\t対象フォルダパス:\"{0}\"", filePath.toUri()),
                     Category.SCRAPING,
                     Process.SCRAPING
-            ));
-            throw new FundanalyzerFileException("ファイルの認識に失敗しました。スタックトレースから詳細を確認してください。", e);
+            ), e);
+            nameIndex = null;
+        }
+
+        if (Objects.isNull(nameIndex)) {
+            nameIndex = isCached ? cachedIndex : buildNameIndex(targetFileList);
+            if (store && Files.isDirectory(filePath)) {
+                try {
+                    nameIndex.store(indexFile);
+                } catch (IOException e) {
+                    log.warn(FundanalyzerLogClient.toInteractorLogObject(
+                            MessageFormat.format("索引ファイルの保存に失敗しました。\t対象フォルダパス:\"{0}\"", filePath.toUri()),
+                            Category.SCRAPING,
+                            Process.SCRAPING
+                    ), e);
+                }
+            }
+        }
+
+        synchronized (nameIndexCache) {
+            nameIndexCache.put(key, nameIndex);
+        }
+        return nameIndex;
+    }
+
+    /**
+     * zipファイル内のフォルダのとき、そのzipファイルを取得する
+     *
+     * @param filePath フォルダパス
+     * @return zipファイル
+     */
+    private static Optional<Path> zipFileOf(final Path filePath) {
+        if (FileSystems.getDefault() == filePath.getFileSystem()) {
+            return Optional.empty();
+        }
+
+        // "jar:file:///.../<書類ID>.zip!/XBRL/PublicDoc" からzipファイルのURIを取り出す
+        final URI uri = filePath.toUri();
+        final String schemeSpecificPart = uri.getRawSchemeSpecificPart();
+        final int separator = schemeSpecificPart.indexOf("!/");
+        if (!"jar".equals(uri.getScheme()) || separator < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Path.of(URI.create(schemeSpecificPart.substring(0, separator))));
+    }
+
+    /**
+     * ファイルごとに一度だけ読み取って、テキストを持つ要素の"name"属性から索引を作成する
+     *
+     * @param targetFileList 対象ファイルリスト
+     * @return 索引
+     */
+    private XbrlNameIndex buildNameIndex(final List<Path> targetFileList) {
+        final Map<String, Set<String>> nameListByFileName = new LinkedHashMap<>();
+        targetFileList.forEach(file -> nameListByFileName.put(file.getFileName().toString(), namesHavingText(file)));
+        return XbrlNameIndex.of(nameListByFileName);
+    }
+
+    private Set<String> namesHavingText(final Path file) {
+        if (streaming) {
+            try {
+                return InlineXbrlStreamReader.readNamesHavingText(file);
+            } catch (XMLStreamException e) {
+                log.debug("XMLとして読み取れなかったため、DOMを構築して読み取ります。\t対象ファイルパス:\"{}\"", file.toUri(), e);
+            } catch (IOException e) {
+                throw fileException(file, e);
+            }
         }
+
+        return elementsByAttribute(file, "name").stream()
+                .filter(Element::hasText)
+                .map(element -> element.attr("name"))
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -233,18 +380,42 @@ public class XbrlScraping {
      * @return キーワードを含むファイルのリスト
      */
     @SuppressWarnings("SameParameterValue")
-    private List<File> findFilesByTitleKeywordContaining(final String keyword, final File targetFile) {
-        final var targetFileList = List.of(Objects.requireNonNullElse(targetFile.listFiles(), File.listRoots()));
+    private List<Path> findFilesByTitleKeywordContaining(final String keyword, final Path targetFile) {
+        if (!Files.isDirectory(targetFile)) {
+            return List.of();
+        }
 
-        return targetFileList.stream()
-                .filter(file -> file.getName().contains(keyword))
-                .collect(Collectors.toList());
+        try (Stream<Path> targetFileList = Files.list(targetFile)) {
+            return targetFileList
+                    .filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().contains(keyword))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw fileException(targetFile, e);
+        }
     }
 
-    @SuppressWarnings("RedundantModifiersValueLombok")
-    @Value(staticConstructor = "of")
-    static class KeyMatch {
+    static final class KeyMatch {
+
         private final String key;
         private final String match;
+
+        private KeyMatch(final String key, final String match) {
+            this.key = key;
+            this.match = match;
+        }
+
+        static KeyMatch of(final String key, final String match) {
+            return new KeyMatch(key, match);
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getMatch() {
+            return match;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * XBRLインスタンスの要素名と科目名との対応
+ * <p>
+ * 科目名は "bs_subject" および "pl_subject" に登録されている名称と一致させる。
+ * 見出しのみの科目（"流動資産"など）と投資法人固有の科目（"投資主資本"など）は対応する要素がないため、
+ * これらの科目はHTMLのテーブルからのみ読み取る。
+ */
+public enum XbrlElement {
+
+    // 貸借対照表
+    CURRENT_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:CurrentAssets", "流動資産合計"),
+    PROPERTY_PLANT_AND_EQUIPMENT(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:PropertyPlantAndEquipment", "有形固定資産"),
+    INTANGIBLE_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:IntangibleAssets", "無形固定資産"),
+    INVESTMENTS_AND_OTHER_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:InvestmentsAndOtherAssets", "投資その他の資産合計"),
+    NONCURRENT_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:NoncurrentAssets", "固定資産合計"),
+    DEFERRED_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:DeferredAssets", "繰延資産"),
+    ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:Assets", "資産合計"),
+    CURRENT_LIABILITIES(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:CurrentLiabilities", "流動負債合計"),
+    NONCURRENT_LIABILITIES(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:NoncurrentLiabilities", "固定負債合計"),
+    LIABILITIES(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:Liabilities", "負債合計"),
+    NET_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:NetAssets", "純資産合計"),
+    LIABILITIES_AND_NET_ASSETS(FinancialStatementEnum.BALANCE_SHEET, "jppfs_cor:LiabilitiesAndNetAssets", "負債純資産合計"),
+
+    // 損益計算書
+    OPERATING_REVENUE(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:OperatingRevenue1", "営業収益"),
+    OPERATING_EXPENSES(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:OperatingExpenses", "営業費用"),
+    OPERATING_INCOME(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:OperatingIncome", "営業利益"),
+    NON_OPERATING_INCOME(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:NonOperatingIncome", "営業外収益"),
+    NON_OPERATING_EXPENSES(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:NonOperatingExpenses", "営業外費用"),
+    ORDINARY_INCOME(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:OrdinaryIncome", "経常利益"),
+    EXTRAORDINARY_LOSS(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:ExtraordinaryLoss", "特別損失"),
+    INCOME_BEFORE_INCOME_TAXES(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:IncomeBeforeIncomeTaxes", "税引前当期純利益"),
+    INCOME_TAXES_CURRENT(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:IncomeTaxesCurrent", "法人税、住民税及び事業税"),
+    INCOME_TAXES(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:IncomeTaxes", "法人税等合計"),
+    PROFIT_LOSS(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "jppfs_cor:ProfitLoss", "当期純利益"),
+    ;
+
+    private final FinancialStatementEnum fs;
+
+    private final String element;
+
+    private final String subject;
+
+    XbrlElement(final FinancialStatementEnum fs, final String element, final String subject) {
+        this.fs = fs;
+        this.element = element;
+        this.subject = subject;
+    }
+
+    /**
+     * 財務諸表種別に対応する要素名を取得する
+     *
+     * @param fs 財務諸表種別
+     * @return 要素名
+     */
+    public static Set<String> elementSetOf(final FinancialStatementEnum fs) {
+        return Arrays.stream(values())
+                .filter(v -> v.fs == fs)
+                .map(v -> v.element)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 要素名に対応する科目名を取得する
+     *
+     * @param fs      財務諸表種別
+     * @param element 要素名
+     * @return 科目名
+     */
+    public static Optional<String> subjectOf(final FinancialStatementEnum fs, final String element) {
+        return Arrays.stream(values())
+                .filter(v -> v.fs == fs)
+                .filter(v -> v.element.equals(element))
+                .map(v -> v.subject)
+                .findFirst();
+    }
+
+    public FinancialStatementEnum getFs() {
+        return fs;
+    }
+
+    public String getElement() {
+        return element;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+}
@@ -0,0 +1,23 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean;
+
+import lombok.Value;
+
+import java.util.Optional;
+
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value(staticConstructor = "of")
+public class XbrlFactResultBean {
+
+    // 要素名（"jppfs_cor:CurrentAssets"など）
+    private final String name;
+
+    // コンテキストID
+    private final String contextRef;
+
+    // 値（nilのときはnull）
+    private final String value;
+
+    public Optional<String> getValue() {
+        return Optional.ofNullable(value);
+    }
+}
@@ -0,0 +1,128 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.specification;
+
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.BackfillCheckpointDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.BackfillJobDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillCheckpointEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillJobEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillPhase;
+import github.com.ioridazo.fundanalyzer.domain.value.BackfillJob;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Component;
+
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 複数提出日の処理ジョブの仕様
+ * <p>
+ * 提出日ごとに完了した処理段階をデータベースに記録し、再起動後に同じ期間のジョブを実行したときは
+ * 完了済みの処理段階を飛ばして途中から再開する。
+ */
+@Component
+public class BackfillSpecification {
+
+    private static final Logger log = LogManager.getLogger(BackfillSpecification.class);
+
+    private final BackfillJobDao backfillJobDao;
+    private final BackfillCheckpointDao backfillCheckpointDao;
+
+    public BackfillSpecification(
+            final BackfillJobDao backfillJobDao,
+            final BackfillCheckpointDao backfillCheckpointDao) {
+        this.backfillJobDao = backfillJobDao;
+        this.backfillCheckpointDao = backfillCheckpointDao;
+    }
+
+    LocalDateTime nowLocalDateTime() {
+        return LocalDateTime.now();
+    }
+
+    /**
+     * ジョブを開始する
+     * <p>
+     * 同じ期間の完了していないジョブが存在するときは、そのジョブを再開する。
+     *
+     * @param fromDate 開始提出日
+     * @param toDate   終了提出日
+     * @return ジョブ
+     */
+    public BackfillJob start(final LocalDate fromDate, final LocalDate toDate) {
+        final var incomplete = backfillJobDao.selectIncomplete(fromDate, toDate);
+        if (incomplete.isPresent()) {
+            final Map<LocalDate, BackfillPhase> checkpointMap = new ConcurrentHashMap<>();
+            backfillCheckpointDao.selectByJobId(incomplete.get().getId()).forEach(checkpoint ->
+                    checkpointMap.put(checkpoint.getTargetDate(), BackfillPhase.fromValue(checkpoint.getPhase())));
+
+            log.info(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format(
+                            "完了していないジョブを再開します。\tジョブID:{0}\t期間:{1}～{2}\t処理段階を記録済みの提出日数:{3}",
+                            incomplete.get().getId(),
+                            fromDate,
+                            toDate,
+                            checkpointMap.size()
+                    ),
+                    Category.DOCUMENT,
+                    Process.BEGINNING
+            ));
+            return BackfillJob.of(incomplete.get().getId(), checkpointMap);
+        }
+
+        final Integer id = backfillJobDao.insert(BackfillJobEntity.of(fromDate, toDate, nowLocalDateTime()))
+                .getEntity().getId();
+        return BackfillJob.of(id, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * 提出日の処理段階が完了しているか
+     *
+     * @param job        ジョブ
+     * @param targetDate 提出日
+     * @param phase      処理段階
+     * @return 完了しているかどうか
+     */
+    public boolean isDone(final BackfillJob job, final LocalDate targetDate, final BackfillPhase phase) {
+        return job.getCheckpoint(targetDate).map(checkpoint -> checkpoint.isDone(phase)).orElse(false);
+    }
+
+    /**
+     * 提出日の処理段階の完了を記録する
+     *
+     * @param job        ジョブ
+     * @param targetDate 提出日
+     * @param phase      完了した処理段階
+     */
+    public void checkpoint(final BackfillJob job, final LocalDate targetDate, final BackfillPhase phase) {
+        job.getCheckpointMap().put(targetDate, phase);
+
+        if (backfillCheckpointDao.updatePhase(job.getId(), targetDate, phase.toValue(), nowLocalDateTime()) > 0) {
+            return;
+        }
+        try {
+            backfillCheckpointDao.insert(BackfillCheckpointEntity.of(job.getId(), targetDate, phase, nowLocalDateTime()));
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                backfillCheckpointDao.updatePhase(job.getId(), targetDate, phase.toValue(), nowLocalDateTime());
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * ジョブを完了する
+     *
+     * @param job ジョブ
+     */
+    public void complete(final BackfillJob job) {
+        backfillJobDao.update(BackfillJobEntity.ofCompleted(job.getId(), nowLocalDateTime()));
+    }
+}
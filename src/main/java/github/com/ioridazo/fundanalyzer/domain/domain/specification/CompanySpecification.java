@@ -6,17 +6,32 @@ import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.CompanyDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.CompanySyncDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.CompanyEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.CompanySyncEntity;
 import github.com.ioridazo.fundanalyzer.domain.value.Company;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
 import org.springframework.stereotype.Component;
 
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -25,13 +40,25 @@ public class CompanySpecification {
     private static final Logger log = LogManager.getLogger(CompanySpecification.class);
 
     private final CompanyDao companyDao;
+    private final CompanySyncDao companySyncDao;
     private final IndustrySpecification industrySpecification;
+    private final CompanyCache byEdinetCode;
+    private final CompanyCache byCode;
+    private final int upsertBatchSize;
 
     public CompanySpecification(
             final CompanyDao companyDao,
-            final IndustrySpecification industrySpecification) {
+            final CompanySyncDao companySyncDao,
+            final IndustrySpecification industrySpecification,
+            final MeterRegistry meterRegistry,
+            @Value("${app.config.company-cache.max-size}") final int cacheMaxSize,
+            @Value("${app.config.company-csv.batch-size}") final int upsertBatchSize) {
         this.companyDao = companyDao;
+        this.companySyncDao = companySyncDao;
         this.industrySpecification = industrySpecification;
+        this.upsertBatchSize = upsertBatchSize;
+        this.byEdinetCode = new CompanyCache("edinet_code", cacheMaxSize, meterRegistry);
+        this.byCode = new CompanyCache("code", cacheMaxSize, meterRegistry);
     }
 
     LocalDateTime nowLocalDateTime() {
@@ -40,35 +67,43 @@ public class CompanySpecification {
 
     /**
      * 企業情報を取得する
+     * <p>
+     * 取得した企業情報はキャッシュし、企業情報を登録・更新するまで再利用する。
      *
      * @param edinetCode EDINETコード
      * @return 企業情報
      */
     public Optional<Company> findCompanyByEdinetCode(final String edinetCode) {
-        return companyDao.selectByEdinetCode(edinetCode)
-                .map(entity -> Company.of(entity, industrySpecification.convertFromIdToName(entity.getIndustryId())));
+        return byEdinetCode.get(edinetCode, key -> companyDao.selectByEdinetCode(key)
+                .map(entity -> Company.of(entity, industrySpecification.convertFromIdToName(entity.getIndustryId()))));
     }
 
     /**
      * 企業情報を取得する
+     * <p>
+     * 取得した企業情報はキャッシュし、企業情報を登録・更新するまで再利用する。
      *
      * @param code 企業コード
      * @return 企業情報
      */
     public Optional<Company> findCompanyByCode(final String code) {
-        return companyDao.selectByCode(code)
-                .map(entity -> Company.of(entity, industrySpecification.convertFromIdToName(entity.getIndustryId())));
+        return byCode.get(code, key -> companyDao.selectByCode(key)
+                .map(entity -> Company.of(entity, industrySpecification.convertFromIdToName(entity.getIndustryId()))));
     }
 
     /**
      * 企業情報更新日時を取得する
+     * <p>
+     * 変更のない企業は更新しないため、最後に企業情報を同期した日時を取得する。
+     * 同期履歴が存在しないときは、企業情報の最終更新日時を取得する。
      *
      * @return 企業情報更新日時
      */
     public Optional<String> findLastUpdateDateTime() {
-        return companyDao.selectAll().stream()
-                .map(CompanyEntity::getUpdatedAt)
-                .max(LocalDateTime::compareTo)
+        return companySyncDao.selectLatestSyncedAt()
+                .or(() -> companyDao.selectAll().stream()
+                        .map(CompanyEntity::getUpdatedAt)
+                        .max(LocalDateTime::compareTo))
                 .map(dateTime -> dateTime.format(DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss")));
     }
 
@@ -93,56 +128,278 @@ public class CompanySpecification {
     public void insertIfNotExist(final Results results) {
         results.getEdinetCode().ifPresent(edinetCode -> {
             if (companyDao.selectByEdinetCode(edinetCode).isEmpty()) {
-                companyDao.insert(CompanyEntity.ofSqlForeignKey(edinetCode, results.getFilerName(), nowLocalDateTime()));
-
-                log.info(FundanalyzerLogClient.toInteractorLogObject(
-                        MessageFormat.format(
-                                "企業情報が登録されていないため、仮情報を登録します。\tEDINETコード:{0}\t企業名:{1}",
-                                edinetCode,
-                                results.getFilerName()
-                        ),
-                        Category.DOCUMENT,
-                        Process.EDINET
-                ));
+                insert(edinetCode, results.getFilerName());
+                invalidate();
             }
         });
     }
 
+    /**
+     * 企業情報をまとめて登録する
+     * <p>
+     * 登録済みのEDINETコードをまとめて取得し、未登録の企業のみをまとめて登録する。
+     * 他の提出日と同時に登録して一意制約違反となったときは、1件ずつ登録し直す。
+     *
+     * @param resultsList EDINETレスポンスの提出書類一覧
+     */
+    public void insertIfNotExist(final List<Results> resultsList) {
+        final Map<String, String> companyNameMap = new LinkedHashMap<>();
+        resultsList.forEach(results -> results.getEdinetCode()
+                .ifPresent(edinetCode -> companyNameMap.putIfAbsent(edinetCode, results.getFilerName())));
+        if (companyNameMap.isEmpty()) {
+            return;
+        }
+
+        companyDao.selectEdinetCodeByEdinetCodeList(new ArrayList<>(companyNameMap.keySet())).forEach(companyNameMap::remove);
+        if (companyNameMap.isEmpty()) {
+            return;
+        }
+
+        final LocalDateTime createdAt = nowLocalDateTime();
+        try {
+            companyDao.batchInsert(companyNameMap.entrySet().stream()
+                    .map(entry -> CompanyEntity.ofSqlForeignKey(entry.getKey(), entry.getValue(), createdAt))
+                    .collect(Collectors.toList()));
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                companyNameMap.forEach(this::insert);
+                invalidate();
+                return;
+            } else {
+                throw new FundanalyzerRuntimeException("想定外のエラーが発生しました。", e);
+            }
+        }
+
+        invalidate();
+        companyNameMap.forEach(this::logInserted);
+    }
+
+    /**
+     * 企業情報の仮情報を登録する
+     *
+     * @param edinetCode  EDINETコード
+     * @param companyName 企業名
+     */
+    private void insert(final String edinetCode, final String companyName) {
+        try {
+            companyDao.insert(CompanyEntity.ofSqlForeignKey(edinetCode, companyName, nowLocalDateTime()));
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                // 複数の提出日を並列に処理しているときは、他の提出日で登録済みのことがある
+                log.debug("一意制約違反のため、企業情報のデータベース登録をスキップします。" +
+                        "\tEDINETコード:{}", edinetCode);
+                return;
+            } else {
+                throw new FundanalyzerRuntimeException("想定外のエラーが発生しました。", e);
+            }
+        }
+
+        logInserted(edinetCode, companyName);
+    }
+
+    private void logInserted(final String edinetCode, final String companyName) {
+        log.info(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format(
+                        "企業情報が登録されていないため、仮情報を登録します。\tEDINETコード:{0}\t企業名:{1}",
+                        edinetCode,
+                        companyName
+                ),
+                Category.DOCUMENT,
+                Process.EDINET
+        ));
+    }
+
     /**
      * 企業情報を登録・更新する
+     * <p>
+     * 登録済みの企業情報をEDINETコードごとに突き合わせ、変更のない企業は更新しない。
+     * 登録・更新は指定件数ずつまとめて実行し、まとめた単位でコミットする。
+     * 変更の有無にかかわらず、同期した日時を同期履歴に登録する。
      *
      * @param resultBeanList CSVリスト
      */
     public void upsert(final List<EdinetCsvResultBean> resultBeanList) {
-        final List<CompanyEntity> allCompanies = companyDao.selectAll();
-        resultBeanList.parallelStream().forEach(resultBean -> {
-                    if (isPresent(resultBean.getEdinetCode(), allCompanies)) {
-                        companyDao.update(CompanyEntity.of(
-                                industrySpecification.convertFromNameToId(resultBean.getIndustry()),
-                                resultBean,
-                                nowLocalDateTime()
-                        ));
-                    } else {
-                        companyDao.insert(CompanyEntity.of(
-                                industrySpecification.convertFromNameToId(resultBean.getIndustry()),
-                                resultBean,
-                                nowLocalDateTime()
-                        ));
-                    }
-                }
-        );
+        final long startTime = System.currentTimeMillis();
+        final Map<String, CompanyEntity> existingMap = companyDao.selectAll().stream()
+                .collect(Collectors.toMap(CompanyEntity::getEdinetCode, Function.identity()));
+
+        final LocalDateTime now = nowLocalDateTime();
+        final Map<String, CompanyEntity> csvMap = new LinkedHashMap<>();
+        resultBeanList.forEach(resultBean -> csvMap.put(resultBean.getEdinetCode(), CompanyEntity.of(
+                industrySpecification.convertFromNameToId(resultBean.getIndustry()),
+                resultBean,
+                now
+        )));
+
+        final List<CompanyEntity> insertList = new ArrayList<>();
+        final List<CompanyEntity> updateList = new ArrayList<>();
+        csvMap.values().forEach(entity -> {
+            final CompanyEntity existing = existingMap.get(entity.getEdinetCode());
+            if (Objects.isNull(existing)) {
+                insertList.add(entity);
+            } else if (isChanged(existing, entity)) {
+                updateList.add(entity);
+            }
+        });
+        final long diffTime = System.currentTimeMillis() - startTime;
+
+        final long insertStartTime = System.currentTimeMillis();
+        partition(insertList).forEach(list -> execute(list, companyDao::batchInsert, companyDao::insert));
+        final long insertTime = System.currentTimeMillis() - insertStartTime;
+
+        final long updateStartTime = System.currentTimeMillis();
+        partition(updateList).forEach(list -> execute(list, companyDao::batchUpdate, companyDao::update));
+        final long updateTime = System.currentTimeMillis() - updateStartTime;
+
+        if (!insertList.isEmpty() || !updateList.isEmpty()) {
+            invalidate();
+        }
+        companySyncDao.insert(CompanySyncEntity.of(now));
+
+        log.info(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format(
+                        "企業情報を登録・更新しました。\t登録:{0}件\t更新:{1}件\t変更なし:{2}件" +
+                                "\t突き合わせ:{3}ms\t登録:{4}ms\t更新:{5}ms",
+                        insertList.size(),
+                        updateList.size(),
+                        csvMap.size() - insertList.size() - updateList.size(),
+                        diffTime,
+                        insertTime,
+                        updateTime
+                ),
+                Category.COMPANY,
+                Process.UPDATE,
+                System.currentTimeMillis() - startTime
+        ));
     }
 
     /**
-     * 企業がデータベースに存在するか
+     * 企業情報をまとめて登録・更新する
+     * <p>
+     * 同時に登録した企業と一意制約違反となったときは、1件ずつ登録・更新し直す。
      *
-     * @param edinetCode   EDINETコード
-     * @param allCompanies 処理対象となる企業情報リスト
+     * @param entityList 企業情報リスト
+     * @param batch      まとめて登録・更新する処理
+     * @param single     1件ずつ登録・更新する処理
+     */
+    private void execute(
+            final List<CompanyEntity> entityList,
+            final Consumer<List<CompanyEntity>> batch,
+            final Consumer<CompanyEntity> single) {
+        try {
+            batch.accept(entityList);
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                entityList.forEach(single);
+            } else {
+                throw new FundanalyzerRuntimeException("想定外のエラーが発生しました。", e);
+            }
+        }
+    }
+
+    private List<List<CompanyEntity>> partition(final List<CompanyEntity> entityList) {
+        final List<List<CompanyEntity>> partitionList = new ArrayList<>();
+        for (int i = 0; i < entityList.size(); i += upsertBatchSize) {
+            partitionList.add(entityList.subList(i, Math.min(i + upsertBatchSize, entityList.size())));
+        }
+        return partitionList;
+    }
+
+    /**
+     * 企業情報に変更があるか
+     *
+     * @param existing 登録済みの企業情報
+     * @param entity   CSVの企業情報
      * @return boolean
      */
-    private boolean isPresent(final String edinetCode, final List<CompanyEntity> allCompanies) {
-        return allCompanies.stream()
-                .map(CompanyEntity::getEdinetCode)
-                .anyMatch(edinetCode::equals);
+    private static boolean isChanged(final CompanyEntity existing, final CompanyEntity entity) {
+        return !Objects.equals(existing.getCode(), entity.getCode())
+                || !Objects.equals(existing.getCompanyName(), entity.getCompanyName())
+                || !Objects.equals(existing.getIndustryId(), entity.getIndustryId())
+                || !Objects.equals(existing.getListCategories(), entity.getListCategories())
+                || !Objects.equals(existing.getConsolidated(), entity.getConsolidated())
+                || !Objects.equals(existing.getCapitalStock(), entity.getCapitalStock())
+                || !Objects.equals(existing.getSettlementDate(), entity.getSettlementDate());
+    }
+
+    /**
+     * 企業情報のキャッシュを破棄する
+     */
+    private void invalidate() {
+        byEdinetCode.clear();
+        byCode.clear();
+    }
+
+    /**
+     * 企業情報のキャッシュ
+     * <p>
+     * 上限件数を超えたときは、最も長く参照されていない企業情報から破棄する。
+     * 企業情報が存在しないことも含めてキャッシュする。
+     */
+    private static final class CompanyCache {
+
+        private final Map<String, Optional<Company>> cache;
+        private final Counter hit;
+        private final Counter miss;
+        // 破棄した回数（破棄する前に問い合わせた企業情報をキャッシュしないため）
+        private long generation;
+
+        private CompanyCache(final String index, final int maxSize, final MeterRegistry meterRegistry) {
+            this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Optional<Company>> eldest) {
+                    return size() > maxSize;
+                }
+            };
+            this.hit = Counter.builder("fundanalyzer.company.cache")
+                    .description("企業情報のキャッシュの参照件数")
+                    .tag("index", index)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.miss = Counter.builder("fundanalyzer.company.cache")
+                    .description("企業情報のキャッシュの参照件数")
+                    .tag("index", index)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("fundanalyzer.company.cache.size", this, CompanyCache::size)
+                    .description("企業情報のキャッシュ件数")
+                    .tag("index", index)
+                    .register(meterRegistry);
+        }
+
+        Optional<Company> get(final String key, final Function<String, Optional<Company>> loader) {
+            final long current;
+            synchronized (cache) {
+                final Optional<Company> cached = cache.get(key);
+                if (cached != null) {
+                    hit.increment();
+                    return cached;
+                }
+                current = generation;
+            }
+
+            // データベースへの問い合わせ中は他のスレッドを待たせない
+            miss.increment();
+            final Optional<Company> loaded = loader.apply(key);
+            synchronized (cache) {
+                if (current == generation) {
+                    cache.put(key, loaded);
+                }
+            }
+            return loaded;
+        }
+
+        void clear() {
+            synchronized (cache) {
+                generation++;
+                cache.clear();
+            }
+        }
+
+        private int size() {
+            synchronized (cache) {
+                return cache.size();
+            }
+        }
     }
 }
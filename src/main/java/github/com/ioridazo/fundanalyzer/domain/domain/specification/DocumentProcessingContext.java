@@ -0,0 +1,110 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.specification;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentEntity;
+import github.com.ioridazo.fundanalyzer.domain.value.Document;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 処理中のドキュメントの状態
+ * <p>
+ * 処理中のドキュメントはメモリ上で処理ステータスを更新し、データベースへの反映はドキュメントごとにまとめて行う。
+ * 処理中のあいだはデータベースからドキュメントを再取得しない。
+ */
+class DocumentProcessingContext {
+
+    // 処理中のドキュメント
+    private final Map<String, Document> documentMap = new ConcurrentHashMap<>();
+
+    // データベースに反映していない処理ステータスの更新内容
+    private final Map<String, DocumentEntity> pendingMap = new ConcurrentHashMap<>();
+
+    // データベースへの反映は一度に一つのスレッドのみ実行し、更新順序を保つ
+    private final Object flushLock = new Object();
+
+    /**
+     * ドキュメントの処理を開始する
+     *
+     * @param documentList ドキュメントリスト
+     */
+    void begin(final Collection<Document> documentList) {
+        documentList.forEach(document -> documentMap.put(document.getDocumentId(), document));
+    }
+
+    /**
+     * ドキュメントの処理を終了する
+     *
+     * @param documentList ドキュメントリスト
+     */
+    void end(final Collection<Document> documentList) {
+        documentList.forEach(document -> documentMap.remove(document.getDocumentId()));
+    }
+
+    /**
+     * 処理中のドキュメントを取得する
+     *
+     * @param documentId 書類ID
+     * @return 処理中のドキュメント
+     */
+    Optional<Document> find(final String documentId) {
+        return Optional.ofNullable(documentMap.get(documentId));
+    }
+
+    /**
+     * 処理ステータスの更新を記録する
+     *
+     * @param update 処理ステータスの更新内容
+     * @return 処理中のドキュメントのときは true
+     */
+    boolean apply(final DocumentEntity update) {
+        final Document applied = documentMap.computeIfPresent(update.getDocumentId(), (id, document) -> document.apply(update));
+        if (applied == null) {
+            return false;
+        }
+        pendingMap.merge(update.getDocumentId(), update, DocumentEntity::merge);
+        return true;
+    }
+
+    /**
+     * データベースに反映していない件数
+     *
+     * @return 件数
+     */
+    int pendingCount() {
+        return pendingMap.size();
+    }
+
+    /**
+     * 処理ステータスの更新内容をデータベースに反映する
+     *
+     * @param batchUpdate まとめて更新する処理
+     */
+    void flush(final Consumer<List<DocumentEntity>> batchUpdate) {
+        synchronized (flushLock) {
+            final List<DocumentEntity> updateList = new ArrayList<>();
+            pendingMap.keySet().forEach(documentId -> {
+                final DocumentEntity update = pendingMap.remove(documentId);
+                if (update != null) {
+                    updateList.add(update);
+                }
+            });
+            if (updateList.isEmpty()) {
+                return;
+            }
+            try {
+                batchUpdate.accept(updateList);
+            } catch (RuntimeException e) {
+                // 反映できなかった更新内容は、後から記録した更新内容を優先して戻す
+                updateList.forEach(update -> pendingMap.merge(
+                        update.getDocumentId(), update, (later, failed) -> DocumentEntity.merge(failed, later)));
+                throw e;
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 
-import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.EdinetResponse;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.DocumentDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentEntity;
@@ -26,9 +25,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -42,9 +46,14 @@ public class DocumentSpecification {
     private final EdinetDocumentSpecification edinetDocumentSpecification;
     private final AnalysisResultSpecification analysisResultSpecification;
 
+    private final DocumentProcessingContext processingContext = new DocumentProcessingContext();
+
     @Value("${app.config.scraping.document-type-code}")
     List<String> targetTypeCodes;
 
+    @Value("${app.config.scraping.status-batch-size}")
+    int statusBatchSize;
+
     public DocumentSpecification(
             final DocumentDao documentDao,
             final IndustrySpecification industrySpecification,
@@ -69,6 +78,10 @@ public class DocumentSpecification {
      * @return ドキュメント情報
      */
     public Document findDocument(final String documentId) {
+        final Optional<Document> processing = processingContext.find(documentId);
+        if (processing.isPresent()) {
+            return processing.get();
+        }
         return Document.of(
                 documentDao.selectByDocumentId(documentId),
                 edinetDocumentSpecification.findEdinetDocument(documentId)
@@ -214,25 +227,64 @@ public class DocumentSpecification {
 
     /**
      * ドキュメント情報を登録する
+     * <p>
+     * 登録済みのドキュメントと親書類をまとめて取得し、未登録のドキュメントのみをまとめて登録する。
+     * 一意制約違反または参照整合性制約違反となったときは、1件ずつ登録し直す。
      *
-     * @param submitDate     提出日
-     * @param edinetResponse EDINETレスポンス
+     * @param submitDate  提出日
+     * @param resultsList EDINETレスポンスの提出書類一覧
      */
-    public void insert(final LocalDate submitDate, final EdinetResponse edinetResponse) {
-        edinetResponse.getResults().stream()
-                .filter(results -> isEmpty(results.getDocId(), submitDate))
-                .forEach(results -> insert(submitDate, results));
+    public void insert(final LocalDate submitDate, final List<Results> resultsList) {
+        if (resultsList.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Results> resultsMap = new LinkedHashMap<>();
+        resultsList.forEach(results -> resultsMap.putIfAbsent(results.getDocId(), results));
+
+        // 登録済みのドキュメントと親書類を一度に取得する
+        final Set<String> documentIdSet = new HashSet<>(resultsMap.keySet());
+        resultsMap.values().stream()
+                .map(Results::getParentDocID)
+                .filter(Objects::nonNull)
+                .forEach(documentIdSet::add);
+        final Map<String, DocumentEntity> documentMap = documentDao.selectByDocumentIdList(new ArrayList<>(documentIdSet)).stream()
+                .collect(Collectors.toMap(DocumentEntity::getDocumentId, Function.identity()));
+        resultsMap.keySet().removeAll(documentMap.keySet());
+        if (resultsMap.isEmpty()) {
+            return;
+        }
+
+        final LocalDateTime createdAt = nowLocalDateTime();
+        final List<DocumentEntity> entityList = new ArrayList<>();
+        resultsMap.values().forEach(results -> {
+            final DocumentEntity entity = DocumentEntity.of(
+                    submitDate, parseDocumentPeriod(results, documentMap::get).orElse(null), results, createdAt);
+            // 同じ提出日の親書類は、先に登録するドキュメントから期間を取得する
+            documentMap.put(entity.getDocumentId(), entity);
+            entityList.add(entity);
+        });
+
+        try {
+            documentDao.batchInsert(entityList);
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class) || e.contains(SQLIntegrityConstraintViolationException.class)) {
+                entityList.forEach(entity -> insert(entity, resultsMap.get(entity.getDocumentId())));
+            } else {
+                throw new FundanalyzerRuntimeException("想定外のエラーが発生しました。", e);
+            }
+        }
     }
 
     /**
      * ドキュメント情報を登録する
      *
-     * @param submitDate 提出日
-     * @param results    EDINETレスポンス
+     * @param entity  ドキュメント情報
+     * @param results EDINETレスポンス
      */
-    private void insert(final LocalDate submitDate, final Results results) {
+    private void insert(final DocumentEntity entity, final Results results) {
         try {
-            documentDao.insert(DocumentEntity.of(submitDate, parseDocumentPeriod(results).orElse(null), results, nowLocalDateTime()));
+            documentDao.insert(entity);
         } catch (NestedRuntimeException e) {
             if (e.contains(UniqueConstraintException.class)) {
                 log.debug("一意制約違反のため、データベースへの登録をスキップします。" +
@@ -252,13 +304,39 @@ public class DocumentSpecification {
         }
     }
 
+    /**
+     * ドキュメントの処理を開始する
+     * <p>
+     * 処理を終了するまでは、処理ステータスの更新をメモリ上のドキュメントに反映し、データベースへはまとめて反映する。
+     *
+     * @param documentList ドキュメントリスト
+     */
+    public void beginProcessing(final List<Document> documentList) {
+        processingContext.begin(documentList);
+    }
+
+    /**
+     * ドキュメントの処理を終了する
+     * <p>
+     * データベースに反映していない処理ステータスをまとめて反映する。
+     *
+     * @param documentList ドキュメントリスト
+     */
+    public void endProcessing(final List<Document> documentList) {
+        try {
+            flushStatus();
+        } finally {
+            processingContext.end(documentList);
+        }
+    }
+
     /**
      * ダウンロード/デコード処理を完了に更新する
      *
      * @param document ドキュメント情報
      */
     public void updateStoreToDone(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateStoreToDone(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateStoreToDone(document, nowLocalDateTime()));
     }
 
     /**
@@ -267,7 +345,7 @@ public class DocumentSpecification {
      * @param document ドキュメント情報
      */
     public void updateDownloadToDone(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateDownloadToDone(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateDownloadToDone(document, nowLocalDateTime()));
     }
 
     /**
@@ -276,7 +354,7 @@ public class DocumentSpecification {
      * @param document ドキュメント情報
      */
     public void updateDownloadToError(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateDownloadToError(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateDownloadToError(document, nowLocalDateTime()));
     }
 
     /**
@@ -285,7 +363,7 @@ public class DocumentSpecification {
      * @param document ドキュメント情報
      */
     public void updateDecodeToDone(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateDecodeToDone(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateDecodeToDone(document, nowLocalDateTime()));
     }
 
     /**
@@ -294,7 +372,7 @@ public class DocumentSpecification {
      * @param document ドキュメント情報
      */
     public void updateDecodeToError(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateDecodeToError(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateDecodeToError(document, nowLocalDateTime()));
     }
 
     /**
@@ -305,7 +383,7 @@ public class DocumentSpecification {
      * @param path     ドキュメントパス
      */
     public void updateFsToDone(final Document document, final FinancialStatementEnum fs, final String path) {
-        documentDao.update(DocumentEntity.ofUpdateSwitchFs(
+        update(DocumentEntity.ofUpdateSwitchFs(
                 fs,
                 document.getDocumentId(),
                 DocumentStatus.DONE,
@@ -321,7 +399,7 @@ public class DocumentSpecification {
      * @param fs       財務諸表種別
      */
     public void updateFsToError(final Document document, final FinancialStatementEnum fs) {
-        documentDao.update(DocumentEntity.ofUpdateSwitchFs(
+        update(DocumentEntity.ofUpdateSwitchFs(
                 fs,
                 document.getDocumentId(),
                 DocumentStatus.ERROR,
@@ -408,7 +486,7 @@ public class DocumentSpecification {
      * @param document ドキュメント情報
      */
     public void updateRemoved(final Document document) {
-        documentDao.update(DocumentEntity.ofUpdateRemoved(document, nowLocalDateTime()));
+        update(DocumentEntity.ofUpdateRemoved(document, nowLocalDateTime()));
     }
 
     /**
@@ -425,6 +503,28 @@ public class DocumentSpecification {
         ).stream().allMatch(DocumentStatus.DONE::equals);
     }
 
+    /**
+     * 処理ステータスを更新する
+     * <p>
+     * 処理中のドキュメントのときは更新内容を記録し、件数が上限に達したときにまとめて反映する。
+     *
+     * @param update 処理ステータスの更新内容
+     */
+    private void update(final DocumentEntity update) {
+        if (!processingContext.apply(update)) {
+            documentDao.update(update);
+        } else if (processingContext.pendingCount() >= statusBatchSize) {
+            flushStatus();
+        }
+    }
+
+    /**
+     * 記録した処理ステータスの更新内容をデータベースにまとめて反映する
+     */
+    private void flushStatus() {
+        processingContext.flush(documentDao::updateStatus);
+    }
+
     /**
      * 期間を取得する
      *
@@ -432,6 +532,19 @@ public class DocumentSpecification {
      * @return 期間
      */
     Optional<LocalDate> parseDocumentPeriod(final Results results) {
+        return parseDocumentPeriod(results, documentDao::selectByDocumentId);
+    }
+
+    /**
+     * 期間を取得する
+     *
+     * @param results        EDINETレスポンス
+     * @param parentDocument 親書類を取得する
+     * @return 期間
+     */
+    private Optional<LocalDate> parseDocumentPeriod(
+            final Results results,
+            final Function<String, DocumentEntity> parentDocument) {
         final boolean anyMatchTargetTypes = targetTypeCodes.stream()
                 .anyMatch(documentTypeCode -> results.getDocTypeCode().stream().allMatch(documentTypeCode::equals));
 
@@ -441,7 +554,7 @@ public class DocumentSpecification {
                 return Optional.of(LocalDate.of(Integer.parseInt(results.getPeriodEnd().substring(0, 4)), 1, 1));
             } else {
                 if (Objects.nonNull(results.getParentDocID())) {
-                    final DocumentEntity documentEntity = documentDao.selectByDocumentId(results.getParentDocID());
+                    final DocumentEntity documentEntity = parentDocument.apply(results.getParentDocID());
                     if (Objects.nonNull(documentEntity)) {
                         // parent document is present
                         return documentEntity.getDocumentPeriod();
@@ -471,17 +584,4 @@ public class DocumentSpecification {
                 .filter(company -> company.getCode().isPresent())
                 .anyMatch(company -> industrySpecification.isTarget(company.getIndustryId()));
     }
-
-    /**
-     * ドキュメントがデータベースに存在するか
-     *
-     * @param documentId 書類ID
-     * @param submitDate 提出日
-     * @return boolean
-     */
-    private boolean isEmpty(final String documentId, final LocalDate submitDate) {
-        return documentDao.selectBySubmitDate(submitDate).stream()
-                .map(DocumentEntity::getDocumentId)
-                .noneMatch(documentId::equals);
-    }
 }
@@ -1,6 +1,5 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 
-import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.EdinetResponse;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.EdinetDocumentDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.EdinetDocumentEntity;
@@ -14,7 +13,12 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Component
 public class EdinetDocumentSpecification {
@@ -98,13 +102,36 @@ public class EdinetDocumentSpecification {
 
     /**
      * EDINETドキュメントを登録する
+     * <p>
+     * 登録済みの書類IDをまとめて取得し、未登録の書類のみをまとめて登録する。
+     * 他の処理と同時に登録して一意制約違反となったときは、1件ずつ登録し直す。
      *
-     * @param edinetResponse EDINETレスポンス
+     * @param resultsList EDINETレスポンスの提出書類一覧
      */
-    public void insert(final EdinetResponse edinetResponse) {
-        edinetResponse.getResults().stream()
-                .filter(results -> isEmpty(results.getDocId()))
-                .forEach(this::insert);
+    public void insert(final List<Results> resultsList) {
+        if (resultsList.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Results> resultsMap = new LinkedHashMap<>();
+        resultsList.forEach(results -> resultsMap.putIfAbsent(results.getDocId(), results));
+        edinetDocumentDao.selectDocIdByDocIdList(new ArrayList<>(resultsMap.keySet())).forEach(resultsMap::remove);
+        if (resultsMap.isEmpty()) {
+            return;
+        }
+
+        final LocalDateTime createdAt = nowLocalDateTime();
+        try {
+            edinetDocumentDao.batchInsert(resultsMap.values().stream()
+                    .map(results -> EdinetDocumentEntity.of(results, createdAt))
+                    .collect(Collectors.toList()));
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                resultsMap.values().forEach(this::insert);
+            } else {
+                throw new FundanalyzerRuntimeException("想定外のエラーが発生しました。", e);
+            }
+        }
     }
 
     /**
@@ -130,16 +157,4 @@ public class EdinetDocumentSpecification {
             }
         }
     }
-
-    /**
-     * EDINETドキュメントがデータベースに存在するか
-     *
-     * @param docId 書類ID
-     * @return boolean
-     */
-    private boolean isEmpty(final String docId) {
-        return edinetDocumentDao.selectAll().stream()
-                .map(EdinetDocumentEntity::getDocId)
-                .noneMatch(docId::equals);
-    }
 }
@@ -19,7 +19,10 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -169,47 +172,117 @@ public class FinancialStatementSpecification {
 
     /**
      * 特定の財務諸表の値を取得する
+     * <p>
+     * ドキュメントに関する財務諸表の値をまとめて取得し、科目ごとの値はメモリ上で特定する。
      *
      * @param document ドキュメント
      * @return 特定の財務諸表の値
      */
     public FinanceValue getFinanceValue(final Document document) {
+        return getFinanceValue(
+                financialStatementDao.selectByCodeAndYear(
+                        document.getEdinetCode(),
+                        String.valueOf(document.getPeriodEnd().getYear()),
+                        document.getDocumentTypeCode().toValue(),
+                        document.getSubmitDate()
+                ),
+                FinanceSubjects.of(subjectSpecification)
+        );
+    }
+
+    /**
+     * 特定の財務諸表の値をまとめて取得する
+     * <p>
+     * 複数のドキュメントに関する財務諸表の値を一度に取得し、ドキュメントごとに振り分ける。
+     *
+     * @param documentList ドキュメントリスト
+     * @return 書類IDごとの特定の財務諸表の値
+     */
+    public Map<String, FinanceValue> getFinanceValueMap(final List<Document> documentList) {
+        if (documentList.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<String, List<FinancialStatementEntity>> entityMap = financialStatementDao.selectByCodeListAndSubmitDateList(
+                documentList.stream().map(Document::getEdinetCode).distinct().collect(Collectors.toList()),
+                documentList.stream().map(Document::getSubmitDate).distinct().collect(Collectors.toList())
+        ).stream().collect(Collectors.groupingBy(entity -> documentKey(
+                entity.getEdinetCode(),
+                entity.getPeriodEnd(),
+                entity.getDocumentTypeCode(),
+                entity.getSubmitDate()
+        )));
+        final FinanceSubjects subjects = FinanceSubjects.of(subjectSpecification);
+
+        final Map<String, FinanceValue> financeValueMap = new HashMap<>();
+        documentList.forEach(document -> financeValueMap.put(
+                document.getDocumentId(),
+                getFinanceValue(
+                        entityMap.getOrDefault(documentKey(
+                                document.getEdinetCode(),
+                                document.getPeriodEnd(),
+                                document.getDocumentTypeCode().toValue(),
+                                document.getSubmitDate()
+                        ), List.of()),
+                        subjects
+                )
+        ));
+        return financeValueMap;
+    }
+
+    /**
+     * 財務諸表の値リストから特定の財務諸表の値を取得する
+     *
+     * @param entityList 財務諸表の値リスト
+     * @param subjects   特定の財務諸表の科目
+     * @return 特定の財務諸表の値
+     */
+    private FinanceValue getFinanceValue(final List<FinancialStatementEntity> entityList, final FinanceSubjects subjects) {
+        final Map<String, Long> valueMap = new HashMap<>();
+        entityList.forEach(entity -> entity.getValue().ifPresent(value ->
+                valueMap.putIfAbsent(valueKey(entity.getFinancialStatementId(), entity.getSubjectId()), value)));
+
         return FinanceValue.of(
                 // 流動資産合計
-                findValue(
-                        FinancialStatementEnum.BALANCE_SHEET,
-                        document,
-                        subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_ASSETS)
-                ).orElse(null),
+                findValue(valueMap, FinancialStatementEnum.BALANCE_SHEET, subjects.totalCurrentAssets).orElse(null),
                 // 投資その他の資産合計
-                findValue(
-                        FinancialStatementEnum.BALANCE_SHEET,
-                        document,
-                        subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_INVESTMENTS_AND_OTHER_ASSETS)
-                ).orElse(null),
+                findValue(valueMap, FinancialStatementEnum.BALANCE_SHEET, subjects.totalInvestmentsAndOtherAssets).orElse(null),
                 // 流動負債合計
-                findValue(
-                        FinancialStatementEnum.BALANCE_SHEET,
-                        document,
-                        subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_LIABILITIES)
-                ).orElse(null),
+                findValue(valueMap, FinancialStatementEnum.BALANCE_SHEET, subjects.totalCurrentLiabilities).orElse(null),
                 // 固定負債合計
-                findValue(
-                        FinancialStatementEnum.BALANCE_SHEET,
-                        document,
-                        subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_FIXED_LIABILITIES)
-                ).orElse(null),
+                findValue(valueMap, FinancialStatementEnum.BALANCE_SHEET, subjects.totalFixedLiabilities).orElse(null),
                 // 営業利益
-                findValue(
-                        FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT,
-                        document,
-                        subjectSpecification.findPlSubjectList(PlSubject.PlEnum.OPERATING_PROFIT)
-                ).orElse(null),
+                findValue(valueMap, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, subjects.operatingProfit).orElse(null),
                 // 株式総数
-                findNsValue(document).orElse(null)
+                valueMap.get(valueKey(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES.toValue(), "0"))
         );
     }
 
+    /**
+     * 科目リストの順に値を取得する
+     *
+     * @param valueMap    財務諸表種別と科目IDごとの値
+     * @param fs          財務諸表種別
+     * @param subjectList 科目リスト
+     * @return 値
+     */
+    private static Optional<Long> findValue(
+            final Map<String, Long> valueMap, final FinancialStatementEnum fs, final List<Subject> subjectList) {
+        return subjectList.stream()
+                .map(subject -> valueMap.get(valueKey(fs.toValue(), subject.getId())))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    private static String valueKey(final String financialStatementId, final String subjectId) {
+        return financialStatementId + "-" + subjectId;
+    }
+
+    private static String documentKey(
+            final String edinetCode, final LocalDate periodEnd, final String documentTypeCode, final LocalDate submitDate) {
+        return edinetCode + "-" + periodEnd.getYear() + "-" + documentTypeCode + "-" + submitDate;
+    }
+
     /**
      * 対象のデータベースリストから貸借対照表関連の値リストを取得する
      *
@@ -249,4 +322,28 @@ public class FinancialStatementSpecification {
                 })
                 .collect(Collectors.toList());
     }
+
+    /**
+     * 特定の財務諸表の科目
+     */
+    private static class FinanceSubjects {
+
+        private final List<Subject> totalCurrentAssets;
+        private final List<Subject> totalInvestmentsAndOtherAssets;
+        private final List<Subject> totalCurrentLiabilities;
+        private final List<Subject> totalFixedLiabilities;
+        private final List<Subject> operatingProfit;
+
+        private FinanceSubjects(final SubjectSpecification subjectSpecification) {
+            this.totalCurrentAssets = subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_ASSETS);
+            this.totalInvestmentsAndOtherAssets = subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_INVESTMENTS_AND_OTHER_ASSETS);
+            this.totalCurrentLiabilities = subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_LIABILITIES);
+            this.totalFixedLiabilities = subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_FIXED_LIABILITIES);
+            this.operatingProfit = subjectSpecification.findPlSubjectList(PlSubject.PlEnum.OPERATING_PROFIT);
+        }
+
+        static FinanceSubjects of(final SubjectSpecification subjectSpecification) {
+            return new FinanceSubjects(subjectSpecification);
+        }
+    }
 }
@@ -3,14 +3,25 @@ package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 import github.com.ioridazo.fundanalyzer.client.csv.bean.EdinetCsvResultBean;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.IndustryDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.IndustryEntity;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.text.MessageFormat;
 import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.stream.Collectors;
 
+/**
+ * 業種を取得する
+ * <p>
+ * 業種マスタは初回の取得時にまとめて読み込み、処理対象外の業種IDはあらかじめ算出しておく。
+ * 業種を登録したときは読み込み直す。
+ */
 @Component
 public class IndustrySpecification {
 
@@ -19,6 +30,8 @@ public class IndustrySpecification {
     @Value("${app.config.scraping.no-industry}")
     List<String> noTargetList;
 
+    private volatile IndustryRegistry registry;
+
     public IndustrySpecification(final IndustryDao industryDao) {
         this.industryDao = industryDao;
     }
@@ -34,7 +47,17 @@ public class IndustrySpecification {
      * @return 業種ID
      */
     public Integer convertFromNameToId(final String industryName) {
-        return industryDao.selectByName(industryName).getId();
+        final Integer id = registry().idByName.get(industryName);
+        if (Objects.nonNull(id)) {
+            return id;
+        }
+        // 読み込み後に登録された業種の可能性があるため、読み込み直す
+        invalidate();
+        final Integer reloaded = registry().idByName.get(industryName);
+        if (Objects.isNull(reloaded)) {
+            throw new FundanalyzerRuntimeException(MessageFormat.format("業種が存在しません。\t業種名:{0}", industryName));
+        }
+        return reloaded;
     }
 
     /**
@@ -44,7 +67,17 @@ public class IndustrySpecification {
      * @return 業種名
      */
     public String convertFromIdToName(final Integer id) {
-        return industryDao.selectById(id).getName();
+        final String name = registry().nameById.get(id);
+        if (Objects.nonNull(name)) {
+            return name;
+        }
+        // 読み込み後に登録された業種の可能性があるため、読み込み直す
+        invalidate();
+        final String reloaded = registry().nameById.get(id);
+        if (Objects.isNull(reloaded)) {
+            throw new FundanalyzerRuntimeException(MessageFormat.format("業種が存在しません。\t業種ID:{0}", id));
+        }
+        return reloaded;
     }
 
     /**
@@ -53,11 +86,17 @@ public class IndustrySpecification {
      * @param resultBeanList CSVリスト
      */
     public void insert(final List<EdinetCsvResultBean> resultBeanList) {
-        resultBeanList.stream()
+        final Map<String, Integer> idByName = registry().idByName;
+        final List<String> industryNameList = resultBeanList.stream()
                 .map(EdinetCsvResultBean::getIndustry)
                 .distinct()
-                .filter(this::isEmpty)
-                .forEach(industryName -> industryDao.insert(IndustryEntity.of(industryName, nowLocalDateTime())));
+                .filter(industryName -> !idByName.containsKey(industryName))
+                .collect(Collectors.toList());
+
+        if (!industryNameList.isEmpty()) {
+            industryNameList.forEach(industryName -> industryDao.insert(IndustryEntity.of(industryName, nowLocalDateTime())));
+            invalidate();
+        }
     }
 
     /**
@@ -67,19 +106,64 @@ public class IndustrySpecification {
      * @return boolean
      */
     public boolean isTarget(final Integer id) {
-        return noTargetList.stream()
-                .map(this::convertFromNameToId)
-                .filter(Objects::nonNull)
-                .noneMatch(id::equals);
+        return Objects.isNull(id) || !registry().noTargetIdSet.get(id);
     }
 
     /**
-     * 業種がデータベースに存在するか
-     *
-     * @param name 業種名
-     * @return boolean
+     * 業種マスタを次の取得時に読み込み直す
      */
-    private boolean isEmpty(final String name) {
-        return Optional.ofNullable(industryDao.selectByName(name)).isEmpty();
+    private void invalidate() {
+        registry = null;
+    }
+
+    private IndustryRegistry registry() {
+        IndustryRegistry current = registry;
+        if (Objects.isNull(current)) {
+            synchronized (this) {
+                current = registry;
+                if (Objects.isNull(current)) {
+                    current = IndustryRegistry.of(industryDao.selectAll(), noTargetList);
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 業種マスタの索引
+     */
+    private static final class IndustryRegistry {
+
+        // 業種名ごとの業種ID
+        private final Map<String, Integer> idByName;
+        // 業種IDごとの業種名
+        private final Map<Integer, String> nameById;
+        // 処理対象外の業種ID
+        private final BitSet noTargetIdSet;
+
+        private IndustryRegistry(
+                final Map<String, Integer> idByName, final Map<Integer, String> nameById, final BitSet noTargetIdSet) {
+            this.idByName = idByName;
+            this.nameById = nameById;
+            this.noTargetIdSet = noTargetIdSet;
+        }
+
+        static IndustryRegistry of(final List<IndustryEntity> entityList, final List<String> noTargetList) {
+            final Map<String, Integer> idByName = new HashMap<>();
+            final Map<Integer, String> nameById = new HashMap<>();
+            entityList.forEach(entity -> {
+                idByName.put(entity.getName(), entity.getId());
+                nameById.put(entity.getId(), entity.getName());
+            });
+
+            final BitSet noTargetIdSet = new BitSet();
+            noTargetList.stream()
+                    .map(idByName::get)
+                    .filter(Objects::nonNull)
+                    .forEach(noTargetIdSet::set);
+
+            return new IndustryRegistry(Map.copyOf(idByName), Map.copyOf(nameById), noTargetIdSet);
+        }
     }
 }
@@ -0,0 +1,256 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.specification;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.ScrapingKeywordDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.ScrapingKeywordHitDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.ScrapingKeywordEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentTypeCode;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.ScrapingKeywordHitEntity;
+import lombok.Value;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * スクレイピングキーワードの仕様
+ * <p>
+ * キーワードごとの合致件数を書類種別コード単位で集計し、合致しやすいキーワードから順に返却する。
+ * 合致件数はメモリ上で集計し、加算分をまとめてデータベースに永続化して、再起動後も引き継ぐ。
+ */
+@Component
+public class ScrapingKeywordSpecification {
+
+    private static final Logger log = LogManager.getLogger(ScrapingKeywordSpecification.class);
+
+    // 連結財務諸表のキーワードに含まれる文字列
+    private static final String CONSOLIDATED = "Consolidated";
+
+    private final ScrapingKeywordDao scrapingKeywordDao;
+    private final ScrapingKeywordHitDao scrapingKeywordHitDao;
+
+    private final Map<HitKey, AtomicLong> hitCountMap = new ConcurrentHashMap<>();
+    // データベースに反映していない加算分
+    private final Map<HitKey, AtomicLong> unsavedCountMap = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    private volatile boolean loaded;
+
+    public ScrapingKeywordSpecification(
+            final ScrapingKeywordDao scrapingKeywordDao,
+            final ScrapingKeywordHitDao scrapingKeywordHitDao) {
+        this.scrapingKeywordDao = scrapingKeywordDao;
+        this.scrapingKeywordHitDao = scrapingKeywordHitDao;
+    }
+
+    LocalDateTime nowLocalDateTime() {
+        return LocalDateTime.now();
+    }
+
+    /**
+     * スクレイピングキーワードを合致しやすい順に取得する
+     * <p>
+     * 合致件数の多い順に並べ、同数のときはデータベースの登録順とする。
+     *
+     * @param fs               財務諸表種別
+     * @param documentTypeCode 書類種別コード
+     * @return スクレイピングキーワードリスト
+     */
+    public List<ScrapingKeywordEntity> findKeywordList(
+            final FinancialStatementEnum fs, final DocumentTypeCode documentTypeCode) {
+        return scrapingKeywordDao.selectByFinancialStatementId(fs.toValue()).stream()
+                .sorted(Comparator.comparingLong(
+                        (ScrapingKeywordEntity keyword) -> hitCount(keyword, documentTypeCode)).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 連結財務諸表のキーワードかどうか
+     *
+     * @param scrapingKeyword スクレイピングキーワード
+     * @return boolean
+     */
+    public boolean isConsolidated(final ScrapingKeywordEntity scrapingKeyword) {
+        return scrapingKeyword.getKeyword().contains(CONSOLIDATED);
+    }
+
+    /**
+     * キーワードの合致件数を取得する
+     *
+     * @param scrapingKeyword  スクレイピングキーワード
+     * @param documentTypeCode 書類種別コード
+     * @return 合致件数
+     */
+    public long hitCount(final ScrapingKeywordEntity scrapingKeyword, final DocumentTypeCode documentTypeCode) {
+        loadIfNeeded();
+        final AtomicLong count = hitCountMap.get(HitKey.of(scrapingKeyword.getId(), documentTypeCode.toValue()));
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * キーワードの合致を記録する
+     * <p>
+     * 合致件数はメモリ上で加算し、データベースへは {@link #flushHitCount()} でまとめて反映する。
+     *
+     * @param scrapingKeyword  合致したスクレイピングキーワード
+     * @param documentTypeCode 書類種別コード
+     */
+    public void countHit(final ScrapingKeywordEntity scrapingKeyword, final DocumentTypeCode documentTypeCode) {
+        loadIfNeeded();
+        final HitKey key = HitKey.of(scrapingKeyword.getId(), documentTypeCode.toValue());
+        hitCountMap.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        unsavedCountMap.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * データベースに反映していない合致件数をまとめて反映する
+     * <p>
+     * 反映に失敗したときはログを出力して、加算分を次回の反映に持ち越す。
+     */
+    @PreDestroy
+    public void flushHitCount() {
+        synchronized (flushLock) {
+            final LocalDateTime now = nowLocalDateTime();
+            final List<ScrapingKeywordHitEntity> entityList = new ArrayList<>();
+            unsavedCountMap.forEach((key, count) -> {
+                final long delta = count.getAndSet(0);
+                if (delta > 0) {
+                    entityList.add(new ScrapingKeywordHitEntity(
+                            null, key.getScrapingKeywordId(), key.getDocumentTypeCode(), delta, now, now));
+                }
+            });
+            if (entityList.isEmpty()) {
+                return;
+            }
+
+            final int[] counts;
+            try {
+                counts = scrapingKeywordHitDao.batchIncrement(entityList).getCounts();
+            } catch (RuntimeException e) {
+                log.warn("スクレイピングキーワードの合致件数をデータベースに反映できませんでした。次回の反映時に持ち越します。", e);
+                entityList.forEach(this::carryOver);
+                return;
+            }
+
+            // データベースに存在しないときは登録する
+            for (int i = 0; i < entityList.size(); i++) {
+                if (counts[i] == 0) {
+                    try {
+                        insert(entityList.get(i));
+                    } catch (RuntimeException e) {
+                        log.warn("スクレイピングキーワードの合致件数をデータベースに登録できませんでした。次回の反映時に持ち越します。", e);
+                        carryOver(entityList.get(i));
+                    }
+                }
+            }
+            log.debug("スクレイピングキーワードの合致件数をデータベースに反映しました。\t件数:{}", entityList.size());
+        }
+    }
+
+    /**
+     * 財務諸表種別と書類種別コードごとのキーワードの並び順を取得する
+     *
+     * @return 財務諸表種別ごとの、書類種別コードごとのキーワードと合致件数
+     */
+    public Map<String, Map<String, List<KeywordHitCount>>> findKeywordOrder() {
+        loadIfNeeded();
+        final Set<String> documentTypeCodeSet = hitCountMap.keySet().stream()
+                .map(HitKey::getDocumentTypeCode)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        final Map<String, Map<String, List<KeywordHitCount>>> keywordOrder = new LinkedHashMap<>();
+        for (final FinancialStatementEnum fs : FinancialStatementEnum.values()) {
+            final Map<String, List<KeywordHitCount>> orderByDocumentType = new LinkedHashMap<>();
+            documentTypeCodeSet.forEach(code -> {
+                final DocumentTypeCode documentTypeCode = DocumentTypeCode.fromValue(code);
+                final List<KeywordHitCount> keywordList = findKeywordList(fs, documentTypeCode).stream()
+                        .map(keyword -> KeywordHitCount.of(keyword.getKeyword(), hitCount(keyword, documentTypeCode)))
+                        .collect(Collectors.toList());
+                if (keywordList.stream().anyMatch(keyword -> keyword.getHitCount() > 0)) {
+                    orderByDocumentType.put(code, keywordList);
+                }
+            });
+            if (!orderByDocumentType.isEmpty()) {
+                keywordOrder.put(fs.getName(), orderByDocumentType);
+            }
+        }
+        return keywordOrder;
+    }
+
+    /**
+     * 合致件数を登録する
+     *
+     * @param entity 合致件数
+     */
+    private void insert(final ScrapingKeywordHitEntity entity) {
+        try {
+            scrapingKeywordHitDao.insert(entity);
+        } catch (NestedRuntimeException e) {
+            if (e.contains(UniqueConstraintException.class)) {
+                // 他のスレッドが先に登録したときは加算する
+                scrapingKeywordHitDao.increment(
+                        entity.getScrapingKeywordId(), entity.getDocumentTypeCode(), entity.getHitCount(), entity.getUpdatedAt());
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 反映できなかった加算分を次回の反映に持ち越す
+     *
+     * @param entity 合致件数
+     */
+    private void carryOver(final ScrapingKeywordHitEntity entity) {
+        unsavedCountMap.computeIfAbsent(
+                HitKey.of(entity.getScrapingKeywordId(), entity.getDocumentTypeCode()), k -> new AtomicLong())
+                .addAndGet(entity.getHitCount());
+    }
+
+    /**
+     * データベースから合致件数を読み込む
+     */
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (hitCountMap) {
+            if (loaded) {
+                return;
+            }
+            scrapingKeywordHitDao.selectAll().forEach(entity -> hitCountMap
+                    .computeIfAbsent(HitKey.of(entity.getScrapingKeywordId(), entity.getDocumentTypeCode()), k -> new AtomicLong())
+                    .addAndGet(entity.getHitCount()));
+            log.debug("スクレイピングキーワードの合致件数を読み込みました。\t件数:{}", hitCountMap.size());
+            loaded = true;
+        }
+    }
+
+    @SuppressWarnings("RedundantModifiersValueLombok")
+    @Value(staticConstructor = "of")
+    private static class HitKey {
+        private final Integer scrapingKeywordId;
+        private final String documentTypeCode;
+    }
+
+    @SuppressWarnings("RedundantModifiersValueLombok")
+    @Value(staticConstructor = "of")
+    public static class KeywordHitCount {
+        private final String keyword;
+        private final long hitCount;
+    }
+}
@@ -9,17 +9,30 @@ import github.com.ioridazo.fundanalyzer.domain.value.PlSubject;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import org.springframework.stereotype.Component;
 
+import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * 財務諸表の科目を取得する
+ * <p>
+ * 科目マスタは初回の取得時にまとめて読み込み、科目名・科目ID・大科目IDごとの索引からデータベースにアクセスせずに取得する。
+ * 科目マスタを変更したときは {@link #refresh()} で索引を作り直す。
+ */
 @Component
 public class SubjectSpecification {
 
     private final BsSubjectDao bsSubjectDao;
     private final PlSubjectDao plSubjectDao;
 
+    private volatile SubjectRegistry registry;
+
     public SubjectSpecification(
             final BsSubjectDao bsSubjectDao,
             final PlSubjectDao plSubjectDao) {
@@ -27,6 +40,18 @@ public class SubjectSpecification {
         this.plSubjectDao = plSubjectDao;
     }
 
+    /**
+     * 科目マスタを読み込み直す
+     * <p>
+     * 読み込みが完了してから索引を置き換えるため、読み込み中も置き換え前の索引から取得できる。
+     */
+    public synchronized void refresh() {
+        registry = new SubjectRegistry(
+                Index.of(bsSubjectDao.selectAll().stream().map(BsSubject::of).collect(Collectors.toList())),
+                Index.of(plSubjectDao.selectAll().stream().map(PlSubject::of).collect(Collectors.toList()))
+        );
+    }
+
     /**
      * 貸借対照表の科目を取得する
      *
@@ -34,10 +59,7 @@ public class SubjectSpecification {
      * @return 貸借対照表の科目
      */
     public Optional<BsSubject> findBsSubject(final String subjectName) {
-        return bsSubjectDao.selectAll().stream()
-                .map(BsSubject::of)
-                .filter(bsSubject -> subjectName.equals(bsSubject.getName()))
-                .findAny();
+        return Optional.ofNullable(registry().bs.byName.get(subjectName));
     }
 
     /**
@@ -47,10 +69,7 @@ public class SubjectSpecification {
      * @return 損益計算書の科目
      */
     public Optional<PlSubject> findPlSubject(final String subjectName) {
-        return plSubjectDao.selectAll().stream()
-                .map(PlSubject::of)
-                .filter(plSubject -> subjectName.equals(plSubject.getName()))
-                .findAny();
+        return Optional.ofNullable(registry().pl.byName.get(subjectName));
     }
 
     /**
@@ -61,14 +80,22 @@ public class SubjectSpecification {
      * @return 科目情報
      */
     public Subject findSubject(final FinancialStatementEnum fs, final String subjectId) {
+        final Subject subject;
         switch (fs) {
             case BALANCE_SHEET:
-                return BsSubject.of(bsSubjectDao.selectById(subjectId));
+                subject = registry().bs.byId.get(subjectId);
+                break;
             case PROFIT_AND_LESS_STATEMENT:
-                return PlSubject.of(plSubjectDao.selectById(subjectId));
+                subject = registry().pl.byId.get(subjectId);
+                break;
             default:
                 throw new FundanalyzerRuntimeException();
         }
+        if (Objects.isNull(subject)) {
+            throw new FundanalyzerRuntimeException(
+                    MessageFormat.format("科目が存在しません。\t財務諸表:{0}\t科目ID:{1}", fs.getName(), subjectId));
+        }
+        return subject;
     }
 
     /**
@@ -78,7 +105,12 @@ public class SubjectSpecification {
      * @return 貸借対照表の科目情報
      */
     public Subject findBsSubject(final BsSubject.BsEnum bsEnum) {
-        return BsSubject.of(bsSubjectDao.selectByUniqueKey(bsEnum.getOutlineSubjectId(), bsEnum.getDetailSubjectId()));
+        return findBsSubjectList(bsEnum).stream()
+                .filter(subject -> Objects.isNull(bsEnum.getDetailSubjectId())
+                        || bsEnum.getDetailSubjectId().equals(subject.getDetailSubjectId()))
+                .findFirst()
+                .orElseThrow(() -> new FundanalyzerRuntimeException(
+                        MessageFormat.format("科目が存在しません。\t科目:{0}", bsEnum.getSubject())));
     }
 
     /**
@@ -88,10 +120,7 @@ public class SubjectSpecification {
      * @return 貸借対照表の科目情報リスト
      */
     public List<Subject> findBsSubjectList(final BsSubject.BsEnum bsEnum) {
-        return bsSubjectDao.selectByOutlineSubjectId(bsEnum.getOutlineSubjectId()).stream()
-                .map(BsSubject::of)
-                .sorted(Comparator.comparing(BsSubject::getDetailSubjectId))
-                .collect(Collectors.toList());
+        return registry().bs.byOutlineSubjectId.getOrDefault(bsEnum.getOutlineSubjectId(), List.of());
     }
 
     /**
@@ -101,9 +130,74 @@ public class SubjectSpecification {
      * @return 損益計算書の科目情報リスト
      */
     public List<Subject> findPlSubjectList(final PlSubject.PlEnum plEnum) {
-        return plSubjectDao.selectByOutlineSubjectId(plEnum.getOutlineSubjectId()).stream()
-                .map(PlSubject::of)
-                .sorted(Comparator.comparing(PlSubject::getDetailSubjectId))
-                .collect(Collectors.toList());
+        return registry().pl.byOutlineSubjectId.getOrDefault(plEnum.getOutlineSubjectId(), List.of());
+    }
+
+    private SubjectRegistry registry() {
+        SubjectRegistry current = registry;
+        if (Objects.isNull(current)) {
+            synchronized (this) {
+                if (Objects.isNull(registry)) {
+                    refresh();
+                }
+                current = registry;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 科目マスタの索引
+     */
+    private static final class SubjectRegistry {
+
+        private final Index<BsSubject> bs;
+        private final Index<PlSubject> pl;
+
+        private SubjectRegistry(final Index<BsSubject> bs, final Index<PlSubject> pl) {
+            this.bs = bs;
+            this.pl = pl;
+        }
+    }
+
+    /**
+     * 財務諸表ごとの科目の索引
+     *
+     * @param <T> 科目
+     */
+    private static final class Index<T extends Subject> {
+
+        // 科目名ごとの科目（同じ科目名のときは先に登録された科目）
+        private final Map<String, T> byName;
+        // 科目IDごとの科目
+        private final Map<String, T> byId;
+        // 大科目IDごとの詳細科目ID順の科目リスト
+        private final Map<String, List<Subject>> byOutlineSubjectId;
+
+        private Index(final Map<String, T> byName, final Map<String, T> byId, final Map<String, List<Subject>> byOutlineSubjectId) {
+            this.byName = byName;
+            this.byId = byId;
+            this.byOutlineSubjectId = byOutlineSubjectId;
+        }
+
+        static <T extends Subject> Index<T> of(final List<T> subjectList) {
+            final Map<String, T> byName = new HashMap<>();
+            final Map<String, T> byId = new HashMap<>();
+            final Map<String, List<Subject>> byOutlineSubjectId = new HashMap<>();
+            subjectList.forEach(subject -> {
+                if (Objects.nonNull(subject.getName())) {
+                    byName.putIfAbsent(subject.getName(), subject);
+                }
+                byId.put(subject.getId(), subject);
+                byOutlineSubjectId.computeIfAbsent(subject.getOutlineSubjectId(), k -> new ArrayList<>()).add(subject);
+            });
+
+            final Map<String, List<Subject>> sorted = new HashMap<>();
+            byOutlineSubjectId.forEach((outlineSubjectId, list) -> sorted.put(outlineSubjectId, list.stream()
+                    .sorted(Comparator.comparing(Subject::getDetailSubjectId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .collect(Collectors.toUnmodifiableList())));
+
+            return new Index<>(Map.copyOf(byName), Map.copyOf(byId), Map.copyOf(sorted));
+        }
     }
 }
@@ -3,18 +3,22 @@ package github.com.ioridazo.fundanalyzer.domain.interactor;
 import github.com.ioridazo.fundanalyzer.client.edinet.EdinetClient;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
-import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.EdinetResponse;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Metadata;
 import github.com.ioridazo.fundanalyzer.client.file.FileOperator;
 import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentStatus;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.CompanySpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.DocumentSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.EdinetDocumentSpecification;
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.ScrapingKeywordSpecification;
 import github.com.ioridazo.fundanalyzer.domain.usecase.DocumentUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ScrapingUseCase;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
 import github.com.ioridazo.fundanalyzer.web.model.IdInputData;
 import org.apache.logging.log4j.LogManager;
@@ -23,9 +27,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.text.MessageFormat;
-import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class DocumentInteractor implements DocumentUseCase {
@@ -36,25 +42,35 @@ public class DocumentInteractor implements DocumentUseCase {
     private final CompanySpecification companySpecification;
     private final DocumentSpecification documentSpecification;
     private final EdinetDocumentSpecification edinetDocumentSpecification;
+    private final ScrapingKeywordSpecification scrapingKeywordSpecification;
     private final FileOperator fileOperator;
     private final EdinetClient edinetClient;
+    private final DocumentPipeline documentPipeline;
 
     @Value("${app.config.scraping.document-type-code}")
     List<String> targetTypeCodes;
+    @Value("${app.config.edinet.list-batch-size}")
+    int listBatchSize;
+    @Value("${app.config.scraping.decode-zip-file}")
+    boolean decodeZipFile;
 
     public DocumentInteractor(
             final ScrapingUseCase scraping,
             final CompanySpecification companySpecification,
             final DocumentSpecification documentSpecification,
             final EdinetDocumentSpecification edinetDocumentSpecification,
+            final ScrapingKeywordSpecification scrapingKeywordSpecification,
             final FileOperator fileOperator,
-            final EdinetClient edinetClient) {
+            final EdinetClient edinetClient,
+            final DocumentPipeline documentPipeline) {
         this.companySpecification = companySpecification;
         this.edinetDocumentSpecification = edinetDocumentSpecification;
+        this.scrapingKeywordSpecification = scrapingKeywordSpecification;
         this.fileOperator = fileOperator;
         this.scraping = scraping;
         this.documentSpecification = documentSpecification;
         this.edinetClient = edinetClient;
+        this.documentPipeline = documentPipeline;
     }
 
     /**
@@ -64,39 +80,11 @@ public class DocumentInteractor implements DocumentUseCase {
      */
     @Override
     public void allProcess(final DateInputData inputData) {
-        final long startTime = System.currentTimeMillis();
-
         // 書類リストをデータベースに登録する
         saveEdinetList(inputData);
 
-        // 対象ファイルリスト取得（CompanyCodeがnullではないドキュメントを対象とする）
-        final var documentList = documentSpecification.targetList(inputData);
-
-        if (documentList.isEmpty()) {
-            log.info(FundanalyzerLogClient.toInteractorLogObject(
-                    MessageFormat.format(
-                            "{0}付の処理対象ドキュメントは存在しませんでした。\t書類種別コード:{1}",
-                            inputData.getDate(),
-                            String.join(",", targetTypeCodes)
-                    ),
-                    Category.DOCUMENT,
-                    Process.EDINET,
-                    System.currentTimeMillis() - startTime
-            ));
-        } else {
-            documentList.parallelStream().forEach(this::scrape);
-
-            log.info(FundanalyzerLogClient.toInteractorLogObject(
-                    MessageFormat.format(
-                            "{0}付のドキュメントに対してすべての処理が完了しました。\t書類種別コード:{1}",
-                            inputData.getDate(),
-                            String.join(",", targetTypeCodes)
-                    ),
-                    Category.DOCUMENT,
-                    Process.SCRAPING,
-                    System.currentTimeMillis() - startTime
-            ));
-        }
+        // スクレイピング
+        scrapeAll(inputData);
     }
 
     /**
@@ -108,19 +96,22 @@ public class DocumentInteractor implements DocumentUseCase {
     public void saveEdinetList(final DateInputData inputData) {
         final long startTime = System.currentTimeMillis();
 
-        if (isPresentEdinet(inputData.getDate())) {
-            // 書類が0件ではないときは書類リストを取得してデータベースに登録する
-            final EdinetResponse edinetResponse = edinetClient.list(new ListRequestParameter(inputData.getDate(), ListType.GET_LIST));
-
-            // edinet document
-            edinetDocumentSpecification.insert(edinetResponse);
-
-            // company
-            edinetResponse.getResults().forEach(companySpecification::insertIfNotExist);
-
-            // document
-            documentSpecification.insert(inputData.getDate(), edinetResponse);
-
+        // 提出書類一覧を読み取りながら、指定件数ごとにデータベースに登録する
+        final Metadata metadata = edinetClient.listResults(
+                new ListRequestParameter(inputData.getDate(), ListType.GET_LIST),
+                listBatchSize,
+                resultsList -> {
+                    // edinet document
+                    edinetDocumentSpecification.insert(resultsList);
+
+                    // company
+                    companySpecification.insertIfNotExist(resultsList);
+
+                    // document
+                    documentSpecification.insert(inputData.getDate(), resultsList);
+                }
+        );
+        if (isPresentEdinet(metadata)) {
             log.info(FundanalyzerLogClient.toInteractorLogObject(
                     MessageFormat.format(
                             "データベースへの書類一覧登録作業が正常に終了しました。\t指定ファイル日付:{0}",
@@ -178,6 +169,45 @@ public class DocumentInteractor implements DocumentUseCase {
         }
     }
 
+    /**
+     * 提出日のドキュメントをパイプラインでまとめてスクレイピングする
+     *
+     * @param inputData 提出日
+     */
+    @Override
+    public void scrapeAll(final DateInputData inputData) {
+        final long startTime = System.currentTimeMillis();
+
+        // 対象ファイルリスト取得（CompanyCodeがnullではないドキュメントを対象とする）
+        final var documentList = documentSpecification.targetList(inputData);
+
+        if (documentList.isEmpty()) {
+            log.info(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format(
+                            "{0}付の処理対象ドキュメントは存在しませんでした。\t書類種別コード:{1}",
+                            inputData.getDate(),
+                            String.join(",", targetTypeCodes)
+                    ),
+                    Category.DOCUMENT,
+                    Process.EDINET,
+                    System.currentTimeMillis() - startTime
+            ));
+        } else {
+            process(documentList);
+
+            log.info(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format(
+                            "{0}付のドキュメントに対してすべての処理が完了しました。\t書類種別コード:{1}",
+                            inputData.getDate(),
+                            String.join(",", targetTypeCodes)
+                    ),
+                    Category.DOCUMENT,
+                    Process.SCRAPING,
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+    }
+
     /**
      * ドキュメントをスクレイピングする
      *
@@ -219,41 +249,183 @@ public class DocumentInteractor implements DocumentUseCase {
         ));
     }
 
+    /**
+     * ドキュメントをパイプラインで処理する
+     * <p>
+     * ドキュメントごとに ファイル取得 → ファイル解凍 → 読み取り → 登録 の段階を順に実行し、
+     * 段階ごとには複数のドキュメントを並列に処理する。
+     * 処理中のドキュメントの処理ステータスとスクレイピングキーワードの合致件数はメモリ上で更新し、
+     * データベースへはまとめて反映する。
+     *
+     * @param documentList ドキュメントリスト
+     */
+    void process(final List<Document> documentList) {
+        documentSpecification.beginProcessing(documentList);
+        try {
+            submitAll(documentList);
+        } finally {
+            endProcessing(documentList);
+        }
+    }
+
+    /**
+     * ドキュメントごとに各段階を投入して、すべての処理の完了を待つ
+     *
+     * @param documentList ドキュメントリスト
+     */
+    private void submitAll(final List<Document> documentList) {
+        final List<CompletableFuture<?>> futureList = new ArrayList<>();
+        for (final Document document : documentList) {
+            futureList.add(documentPipeline.download().submit(() -> download(document))
+                    .thenCompose(acquired -> acquired
+                            ? documentPipeline.decode().submit(() -> {
+                                decode(document);
+                                return document;
+                            })
+                            : CompletableFuture.completedFuture(document))
+                    .thenCompose(d -> documentPipeline.scrape().submit(() -> extract(document)))
+                    .thenCompose(scrapedDocument -> documentPipeline.persist().submit(() -> {
+                        persist(document, scrapedDocument);
+                        return null;
+                    }))
+                    .whenComplete((v, e) -> {
+                        if (e != null) {
+                            log.error(FundanalyzerLogClient.toInteractorLogObject(
+                                    MessageFormat.format("ドキュメントの処理に失敗しました。\t書類ID:{0}", document.getDocumentId()),
+                                    Category.DOCUMENT,
+                                    Process.SCRAPING
+                            ), e);
+                        }
+                    }));
+        }
+
+        try {
+            CompletableFuture.allOf(futureList.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FundanalyzerRuntimeException("ドキュメントの処理に失敗しました。", e.getCause());
+        }
+    }
+
     /**
      * ドキュメントをスクレイピングする
      *
      * @param document ドキュメント
      */
     void scrape(final Document document) {
-        // 書類取得
-        if (DocumentStatus.NOT_YET == document.getDownloaded()) {
-            final boolean isPresent = fileOperator.findDecodedFile(document.getSubmitDate()).stream()
-                    .anyMatch(folderList -> folderList.stream().anyMatch(document.getDocumentId()::equals));
+        documentSpecification.beginProcessing(List.of(document));
+        try {
+            if (download(document)) {
+                decode(document);
+            }
+            persist(document, extract(document));
+        } finally {
+            endProcessing(List.of(document));
+        }
+    }
+
+    /**
+     * ドキュメントの処理を終了する
+     * <p>
+     * 処理ステータスの反映に失敗しても、スクレイピングキーワードの合致件数は反映する。
+     *
+     * @param documentList ドキュメントリスト
+     */
+    private void endProcessing(final List<Document> documentList) {
+        try {
+            documentSpecification.endProcessing(documentList);
+        } finally {
+            scrapingKeywordSpecification.flushHitCount();
+        }
+    }
+
+    /**
+     * ドキュメントを取得する
+     *
+     * @param document ドキュメント
+     * @return 解凍が必要かどうか
+     */
+    boolean download(final Document document) {
+        if (DocumentStatus.NOT_YET != document.getDownloaded()) {
+            return false;
+        }
+
+        if (!decodeZipFile) {
+            // zipファイルを解凍せずに読み取るときは、取得済みのzipファイルを確認する
+            final boolean isPresent = fileOperator.findZipFile(document.getSubmitDate()).stream()
+                    .anyMatch(fileList -> fileList.stream().anyMatch((document.getDocumentId() + ".zip")::equals));
 
             if (isPresent) {
-                documentSpecification.updateStoreToDone(document);
+                // 取得済みのzipファイルがあるため、ダウンロードを完了とする
+                documentSpecification.updateDownloadToDone(document);
+                return true;
             } else {
                 // ファイル取得
-                scraping.download(document);
+                return scraping.acquire(document);
             }
         }
 
+        final boolean isPresent = fileOperator.findDecodedFile(document.getSubmitDate()).stream()
+                .anyMatch(folderList -> folderList.stream().anyMatch(document.getDocumentId()::equals));
+
+        if (isPresent) {
+            documentSpecification.updateStoreToDone(document);
+            return false;
+        } else {
+            // ファイル取得
+            return scraping.acquire(document);
+        }
+    }
+
+    /**
+     * 取得したドキュメントを解凍する
+     *
+     * @param document ドキュメント
+     */
+    void decode(final Document document) {
+        scraping.decode(document);
+    }
+
+    /**
+     * ドキュメントから処理前の財務諸表を読み取る
+     *
+     * @param document ドキュメント
+     * @return 読み取り結果
+     */
+    Optional<ScrapedDocument> extract(final Document document) {
         final Document decodedDocument = documentSpecification.findDocument(document.getDocumentId());
-        if (DocumentStatus.DONE == decodedDocument.getDecoded()) {
-            // スクレイピング
-            // 貸借対照表
-            if (DocumentStatus.NOT_YET == decodedDocument.getScrapedBs()) {
-                scraping.bs(document);
-            }
-            // 損益計算書
-            if (DocumentStatus.NOT_YET == decodedDocument.getScrapedPl()) {
-                scraping.pl(document);
-            }
-            // 株式総数
-            if (DocumentStatus.NOT_YET == decodedDocument.getScrapedNumberOfShares()) {
-                scraping.ns(document);
-            }
+        if (DocumentStatus.DONE != decodedDocument.getDecoded()) {
+            return Optional.empty();
+        }
+
+        final List<FinancialStatementEnum> fsList = new ArrayList<>();
+        // 貸借対照表
+        if (DocumentStatus.NOT_YET == decodedDocument.getScrapedBs()) {
+            fsList.add(FinancialStatementEnum.BALANCE_SHEET);
         }
+        // 損益計算書
+        if (DocumentStatus.NOT_YET == decodedDocument.getScrapedPl()) {
+            fsList.add(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT);
+        }
+        // 株式総数
+        if (DocumentStatus.NOT_YET == decodedDocument.getScrapedNumberOfShares()) {
+            fsList.add(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES);
+        }
+
+        // スクレイピング
+        return fsList.isEmpty() ? Optional.empty() : Optional.of(scraping.extract(document, fsList));
+    }
+
+    /**
+     * 読み取った財務諸表を登録して、処理ステータスを確認する
+     *
+     * @param document        ドキュメント
+     * @param scrapedDocument 読み取り結果
+     */
+    void persist(final Document document, final Optional<ScrapedDocument> scrapedDocument) {
+        scrapedDocument.ifPresent(scraping::register);
 
         final Document processedDocument = documentSpecification.findDocument(document.getDocumentId());
         // 除外フラグON
@@ -275,16 +447,16 @@ public class DocumentInteractor implements DocumentUseCase {
     }
 
     /**
-     * EDINETに書類有無を問い合わせる
+     * EDINETに書類が存在するか
      *
-     * @param submitDate 提出日
+     * @param metadata 書類一覧のメタデータ
      * @return boolean
      */
-    boolean isPresentEdinet(final LocalDate submitDate) {
-        return Stream.of(submitDate)
-                // EDINETに提出書類の問い合わせ
-                .map(d -> edinetClient.list(new ListRequestParameter(d, ListType.DEFAULT)))
-                .map(edinetResponse -> edinetResponse.getMetadata().getResultset().getCount())
-                .anyMatch(c -> !"0".equals(c));
+    boolean isPresentEdinet(final Metadata metadata) {
+        return Optional.ofNullable(metadata)
+                .map(Metadata::getResultset)
+                .map(Metadata.ResultSet::getCount)
+                .filter(c -> !"0".equals(c))
+                .isPresent();
     }
 }
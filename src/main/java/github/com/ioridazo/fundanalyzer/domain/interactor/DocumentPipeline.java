@@ -0,0 +1,161 @@
+package github.com.ioridazo.fundanalyzer.domain.interactor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ドキュメントを ファイル取得 → ファイル解凍 → 読み取り → 登録 の段階ごとに処理するパイプライン
+ * <p>
+ * 段階ごとに専用のスレッドと待機数の上限を持ち、通信待ちの処理とCPUを使う処理を独立して調整できる。
+ * 次の段階が上限に達しているときは、前の段階は空きができるまで待機する。
+ */
+@Component
+class DocumentPipeline {
+
+    private final Stage download;
+    private final Stage decode;
+    private final Stage scrape;
+    private final Stage persist;
+
+    DocumentPipeline(
+            final MeterRegistry meterRegistry,
+            @Value("${app.config.pipeline.download.concurrency}") final int downloadConcurrency,
+            @Value("${app.config.pipeline.download.queue-capacity}") final int downloadQueueCapacity,
+            @Value("${app.config.pipeline.decode.concurrency}") final int decodeConcurrency,
+            @Value("${app.config.pipeline.decode.queue-capacity}") final int decodeQueueCapacity,
+            @Value("${app.config.pipeline.scrape.concurrency}") final int scrapeConcurrency,
+            @Value("${app.config.pipeline.scrape.queue-capacity}") final int scrapeQueueCapacity,
+            @Value("${app.config.pipeline.persist.concurrency}") final int persistConcurrency,
+            @Value("${app.config.pipeline.persist.queue-capacity}") final int persistQueueCapacity) {
+        this.download = new Stage("download", downloadConcurrency, downloadQueueCapacity, meterRegistry);
+        this.decode = new Stage("decode", decodeConcurrency, decodeQueueCapacity, meterRegistry);
+        this.scrape = new Stage("scrape", scrapeConcurrency, scrapeQueueCapacity, meterRegistry);
+        this.persist = new Stage("persist", persistConcurrency, persistQueueCapacity, meterRegistry);
+    }
+
+    /**
+     * ファイル取得の段階
+     *
+     * @return 段階
+     */
+    Stage download() {
+        return download;
+    }
+
+    /**
+     * ファイル解凍の段階
+     *
+     * @return 段階
+     */
+    Stage decode() {
+        return decode;
+    }
+
+    /**
+     * 読み取りの段階
+     *
+     * @return 段階
+     */
+    Stage scrape() {
+        return scrape;
+    }
+
+    /**
+     * 登録の段階
+     *
+     * @return 段階
+     */
+    Stage persist() {
+        return persist;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        download.shutdown();
+        decode.shutdown();
+        scrape.shutdown();
+        persist.shutdown();
+    }
+
+    /**
+     * パイプラインの段階
+     */
+    static final class Stage {
+
+        private final ThreadPoolExecutor executor;
+
+        // 実行中と待機中を合わせた処理数の上限
+        private final Semaphore permits;
+
+        private final Timer timer;
+
+        Stage(final String name, final int concurrency, final int queueCapacity, final MeterRegistry meterRegistry) {
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pipeline-" + name + "-");
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(
+                    concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            this.permits = new Semaphore(concurrency + queueCapacity);
+            this.timer = Timer.builder("fundanalyzer.pipeline.stage.processed")
+                    .description("パイプラインの段階ごとの処理件数と処理時間")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+
+            Gauge.builder("fundanalyzer.pipeline.stage.queue.depth", executor, e -> e.getQueue().size())
+                    .description("パイプラインの段階ごとの待機件数")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+            Gauge.builder("fundanalyzer.pipeline.stage.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("パイプラインの段階ごとの実行中件数")
+                    .tag("stage", name)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * 処理を投入する
+         * <p>
+         * 待機数が上限に達しているときは、空きができるまで呼び出し元のスレッドを待機させる。
+         *
+         * @param task 処理
+         * @param <T>  処理結果の型
+         * @return 処理結果
+         */
+        <T> CompletableFuture<T> submit(final Supplier<T> task) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(e);
+            }
+
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return timer.record(task);
+                    } finally {
+                        permits.release();
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        void shutdown() {
+            executor.shutdown();
+        }
+    }
+}
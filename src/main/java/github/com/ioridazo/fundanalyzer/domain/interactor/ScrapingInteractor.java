@@ -7,74 +7,121 @@ import github.com.ioridazo.fundanalyzer.client.file.FileOperator;
 import github.com.ioridazo.fundanalyzer.client.log.Category;
 import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
 import github.com.ioridazo.fundanalyzer.client.log.Process;
-import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.ScrapingKeywordDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.ScrapingKeywordEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.Subject;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentTypeCode;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.NumericCellParser;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.XbrlFactScraping;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.XbrlScraping;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.FinancialTableResultBean;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.Unit;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.XbrlElement;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.CompanySpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.DocumentSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.FinancialStatementSpecification;
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.ScrapingKeywordSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.SubjectSpecification;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ScrapingUseCase;
 import github.com.ioridazo.fundanalyzer.domain.value.BsSubject;
 import github.com.ioridazo.fundanalyzer.domain.value.Company;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument.ScrapingResult;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument.SubjectValue;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerFileException;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerNotExistException;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRestClientException;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiConsumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 @Component
 public class ScrapingInteractor implements ScrapingUseCase {
 
     private static final Logger log = LogManager.getLogger(ScrapingInteractor.class);
 
-    private final ScrapingKeywordDao scrapingKeywordDao;
+    // zipファイル内の"honbun"ファイルが格納されているフォルダ
+    private static final String DOCUMENT_PATH = "/XBRL/PublicDoc";
+
+    // XBRLインスタンスにおける個別財務諸表のコンテキストIDの接尾辞
+    private static final String NON_CONSOLIDATED_MEMBER = "_NonConsolidatedMember";
+
     private final CompanySpecification companySpecification;
     private final SubjectSpecification subjectSpecification;
     private final DocumentSpecification documentSpecification;
     private final FinancialStatementSpecification financialStatementSpecification;
+    private final ScrapingKeywordSpecification scrapingKeywordSpecification;
     private final XbrlScraping xbrlScraping;
+    private final XbrlFactScraping xbrlFactScraping;
+    private final NumericCellParser numericCellParser;
     private final FileOperator fileOperator;
     private final EdinetClient edinetClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor scrapingExecutor;
 
     @Value("${app.settings.file.path.edinet}")
     String pathEdinet;
     @Value("${app.settings.file.path.decode}")
     String pathDecode;
+    @Value("${app.config.scraping.xbrl-fact}")
+    List<String> xbrlFactTargetList;
+    @Value("${app.config.scraping.decode-zip-file}")
+    boolean decodeZipFile;
+    @Value("${app.config.scraping.decode-target}")
+    List<String> decodeTargetList;
 
     public ScrapingInteractor(
-            final ScrapingKeywordDao scrapingKeywordDao,
             final CompanySpecification companySpecification,
             final SubjectSpecification subjectSpecification,
             final DocumentSpecification documentSpecification,
             final FinancialStatementSpecification financialStatementSpecification,
+            final ScrapingKeywordSpecification scrapingKeywordSpecification,
             final XbrlScraping xbrlScraping,
+            final XbrlFactScraping xbrlFactScraping,
+            final NumericCellParser numericCellParser,
             final FileOperator fileOperator,
-            final EdinetClient edinetClient) {
-        this.scrapingKeywordDao = scrapingKeywordDao;
+            final EdinetClient edinetClient,
+            final TransactionTemplate transactionTemplate,
+            @Qualifier("scrapingExecutor") final Executor scrapingExecutor) {
         this.companySpecification = companySpecification;
         this.subjectSpecification = subjectSpecification;
         this.documentSpecification = documentSpecification;
         this.financialStatementSpecification = financialStatementSpecification;
+        this.scrapingKeywordSpecification = scrapingKeywordSpecification;
         this.xbrlScraping = xbrlScraping;
+        this.xbrlFactScraping = xbrlFactScraping;
+        this.numericCellParser = numericCellParser;
         this.fileOperator = fileOperator;
         this.edinetClient = edinetClient;
+        this.transactionTemplate = transactionTemplate;
+        this.scrapingExecutor = scrapingExecutor;
     }
 
     /**
@@ -84,6 +131,19 @@ public class ScrapingInteractor implements ScrapingUseCase {
      */
     @Override
     public void download(final Document document) {
+        if (acquire(document)) {
+            decode(document);
+        }
+    }
+
+    /**
+     * ドキュメントを取得する
+     *
+     * @param document ドキュメント
+     * @return 取得できたかどうか
+     */
+    @Override
+    public boolean acquire(final Document document) {
         final long startTime = System.currentTimeMillis();
 
         try {
@@ -93,14 +153,7 @@ public class ScrapingInteractor implements ScrapingUseCase {
                     new AcquisitionRequestParameter(document.getDocumentId(), AcquisitionType.DEFAULT)
             );
             documentSpecification.updateDownloadToDone(document);
-
-            // ファイル解凍
-            fileOperator.decodeZipFile(
-                    makeTargetPath(pathEdinet, document.getSubmitDate(), document.getDocumentId()),
-                    makeTargetPath(pathDecode, document.getSubmitDate(), document.getDocumentId())
-            );
-            documentSpecification.updateDecodeToDone(document);
-
+            return true;
         } catch (FundanalyzerRestClientException e) {
             log.warn(FundanalyzerLogClient.toInteractorLogObject(
                     MessageFormat.format(
@@ -114,6 +167,39 @@ public class ScrapingInteractor implements ScrapingUseCase {
                     System.currentTimeMillis() - startTime
             ), e);
             documentSpecification.updateDownloadToError(document);
+            return false;
+        }
+    }
+
+    /**
+     * 取得したドキュメントを解凍する
+     *
+     * @param document ドキュメント
+     */
+    @Override
+    public void decode(final Document document) {
+        final long startTime = System.currentTimeMillis();
+
+        try {
+            if (decodeZipFile) {
+                // ファイル解凍
+                fileOperator.decodeZipFile(
+                        makeTargetPath(pathEdinet, document.getSubmitDate(), document.getDocumentId()),
+                        makeTargetPath(pathDecode, document.getSubmitDate(), document.getDocumentId()),
+                        decodeTargetList
+                );
+                documentSpecification.updateDecodeToDone(document);
+
+                // ファイル索引作成
+                xbrlScraping.index(makeDocumentPath(pathDecode, document.getSubmitDate(), document.getDocumentId()).toPath());
+            } else {
+                // 解凍せずにzipファイルから読み取れることを確認して、索引を作成する
+                try (FileSystem zipFile = fileOperator.openZipFile(
+                        makeTargetPath(pathEdinet, document.getSubmitDate(), document.getDocumentId()))) {
+                    xbrlScraping.index(zipFile.getPath(DOCUMENT_PATH));
+                }
+                documentSpecification.updateDecodeToDone(document);
+            }
         } catch (IOException e) {
             log.warn(FundanalyzerLogClient.toInteractorLogObject(
                     MessageFormat.format(
@@ -137,27 +223,7 @@ public class ScrapingInteractor implements ScrapingUseCase {
      */
     @Override
     public void bs(final Document document) {
-        executeScraping(
-                FinancialStatementEnum.BALANCE_SHEET,
-                document,
-                (company, targetFile) -> {
-                    final List<FinancialTableResultBean> resultBeanList =
-                            xbrlScraping.scrapeFinancialStatement(targetFile.getFirst(), targetFile.getSecond().getKeyword());
-
-                    resultBeanList.forEach(resultBean -> resultBean.getSubject()
-                            .flatMap(subjectSpecification::findBsSubject)
-                            .ifPresent(subject -> financialStatementSpecification.insert(
-                                    company,
-                                    FinancialStatementEnum.BALANCE_SHEET,
-                                    subject.getId(),
-                                    document,
-                                    parseValue(resultBean.getCurrentValue(), resultBean.getUnit()).orElse(null)
-                            ))
-                    );
-
-                    doBsOptionIfTarget(company, document);
-                }
-        );
+        executeScraping(FinancialStatementEnum.BALANCE_SHEET, document);
     }
 
     /**
@@ -167,25 +233,7 @@ public class ScrapingInteractor implements ScrapingUseCase {
      */
     @Override
     public void pl(final Document document) {
-        executeScraping(
-                FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT,
-                document,
-                (company, targetFile) -> {
-                    final List<FinancialTableResultBean> resultBeanList =
-                            xbrlScraping.scrapeFinancialStatement(targetFile.getFirst(), targetFile.getSecond().getKeyword());
-
-                    resultBeanList.forEach(resultBean -> resultBean.getSubject()
-                            .flatMap(subjectSpecification::findPlSubject)
-                            .ifPresent(subject -> financialStatementSpecification.insert(
-                                    company,
-                                    FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT,
-                                    subject.getId(),
-                                    document,
-                                    parseValue(resultBean.getCurrentValue(), resultBean.getUnit()).orElse(null)
-                            ))
-                    );
-                }
-        );
+        executeScraping(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, document);
     }
 
     /**
@@ -195,39 +243,276 @@ public class ScrapingInteractor implements ScrapingUseCase {
      */
     @Override
     public void ns(final Document document) {
-        executeScraping(
-                FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES,
-                document,
-                (company, targetFile) -> {
-                    final String value = xbrlScraping.scrapeNumberOfShares(targetFile.getFirst(), targetFile.getSecond().getKeyword());
+        executeScraping(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES, document);
+    }
 
-                    financialStatementSpecification.insert(
-                            company, FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES, "0", document, parseValue(value).orElse(null));
+    /**
+     * 財務諸表をまとめてスクレイピングする
+     *
+     * @param document ドキュメント
+     * @param fsList   財務諸表種別
+     */
+    @Override
+    public void scrape(final Document document, final List<FinancialStatementEnum> fsList) {
+        register(extract(document, fsList));
+    }
 
-                }
+    /**
+     * 財務諸表をまとめて読み取る
+     * <p>
+     * 企業情報と読み取り対象のフォルダ（zipファイル）は一度だけ取得し、財務諸表ごとの読み取りを並列に実行する。
+     *
+     * @param document ドキュメント
+     * @param fsList   財務諸表種別
+     * @return 読み取り結果
+     */
+    @Override
+    public ScrapedDocument extract(final Document document, final List<FinancialStatementEnum> fsList) {
+        final long startTime = System.currentTimeMillis();
+        final Company company = companySpecification.findCompanyByEdinetCode(document.getEdinetCode())
+                .orElseThrow(FundanalyzerRuntimeException::new);
+        final File targetDirectory = makeDocumentPath(pathDecode, document.getSubmitDate(), document.getDocumentId());
+
+        fsList.forEach(fs -> log.info(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format("[{0}] のスクレイピング処理を開始します。\tパス:{1}",
+                        fs.getName(),
+                        targetDirectory.getPath()),
+                Category.SCRAPING,
+                Process.of(fs),
+                System.currentTimeMillis() - startTime
+        )));
+
+        final Map<FinancialStatementEnum, ScrapingResult> resultMap = new EnumMap<>(FinancialStatementEnum.class);
+        try {
+            resultMap.putAll(readSource(document, targetDirectory, directory -> {
+                // 財務諸表ごとに独立して読み取る
+                final Map<FinancialStatementEnum, CompletableFuture<ScrapingResult>> futureMap =
+                        new EnumMap<>(FinancialStatementEnum.class);
+                fsList.forEach(fs -> futureMap.put(fs, CompletableFuture.supplyAsync(
+                        () -> extract(fs, company, document, directory), scrapingExecutor)));
+
+                final Map<FinancialStatementEnum, ScrapingResult> map = new EnumMap<>(FinancialStatementEnum.class);
+                futureMap.forEach((fs, future) -> map.put(fs, join(future)));
+                return map;
+            }));
+        } catch (FundanalyzerFileException e) {
+            fsList.forEach(fs -> resultMap.put(fs, ScrapingResult.error(e)));
+        }
+        return ScrapedDocument.of(document, company, targetDirectory, resultMap, startTime);
+    }
+
+    /**
+     * 読み取った財務諸表をデータベースに登録する
+     * <p>
+     * 財務諸表ごとの値は一つのトランザクションで登録する。
+     *
+     * @param scrapedDocument 読み取り結果
+     */
+    @Override
+    public void register(final ScrapedDocument scrapedDocument) {
+        transactionTemplate.executeWithoutResult(status -> scrapedDocument.getResultMap().forEach((fs, result) -> register(
+                fs,
+                scrapedDocument.getCompany(),
+                scrapedDocument.getDocument(),
+                scrapedDocument.getTargetDirectory(),
+                result,
+                scrapedDocument.getStartTime()
+        )));
+    }
+
+    /**
+     * 財務諸表種別ごとに読み取る
+     *
+     * @param fs              財務諸表種別
+     * @param company         企業情報
+     * @param document        ドキュメント
+     * @param targetDirectory 対象フォルダ
+     * @return 読み取り結果
+     */
+    private ScrapingResult extract(
+            final FinancialStatementEnum fs,
+            final Company company,
+            final Document document,
+            final Path targetDirectory) {
+        try {
+            switch (fs) {
+                case BALANCE_SHEET:
+                    return extractFinancialStatement(fs, document, targetDirectory, subjectSpecification::findBsSubject);
+                case PROFIT_AND_LESS_STATEMENT:
+                    return extractFinancialStatement(fs, document, targetDirectory, subjectSpecification::findPlSubject);
+                case TOTAL_NUMBER_OF_SHARES:
+                    return extractNumberOfShares(document, targetDirectory);
+                default:
+                    throw new FundanalyzerRuntimeException("スクレイピング対象外の財務諸表です。\t財務諸表名:" + fs.getName());
+            }
+        } catch (FundanalyzerFileException | FundanalyzerNotExistException e) {
+            return ScrapingResult.error(e);
+        }
+    }
+
+    /**
+     * 財務諸表の科目とその値をスクレイピングする
+     * <p>
+     * 登録する科目はHTMLのテーブルから読み取る。XBRLインスタンスから読み取る対象の財務諸表は、
+     * XBRLインスタンスに対応する要素が存在する科目はその値を登録し、それ以外の科目はテーブルの値を登録する。
+     *
+     * @param fs              財務諸表種別
+     * @param document        ドキュメント
+     * @param targetDirectory 対象フォルダ
+     * @param findSubject     科目名から科目を取得する処理
+     * @return 読み取り結果
+     */
+    private ScrapingResult extractFinancialStatement(
+            final FinancialStatementEnum fs,
+            final Document document,
+            final Path targetDirectory,
+            final Function<String, Optional<? extends Subject>> findSubject) {
+        final Pair<Path, ScrapingKeywordEntity> targetFile = findTargetFile(targetDirectory, fs, document.getDocumentTypeCode());
+        final List<FinancialTableResultBean> resultBeanList =
+                xbrlScraping.scrapeFinancialStatement(targetFile.getFirst(), targetFile.getSecond().getKeyword());
+        final Map<String, Long> factValueMap = xbrlFactTargetList.contains(fs.toValue())
+                ? extractFactValue(fs, document, targetDirectory, targetFile.getSecond(), findSubject) : Map.of();
+
+        final List<SubjectValue> valueList = new ArrayList<>();
+        resultBeanList.forEach(resultBean -> resultBean.getSubject()
+                .flatMap(findSubject)
+                .ifPresent(subject -> valueList.add(new SubjectValue(
+                        subject.getId(),
+                        Optional.ofNullable(factValueMap.get(subject.getId()))
+                                .or(() -> parseValue(resultBean.getCurrentValue(), resultBean.getUnit()))
+                                .orElse(null)
+                )))
         );
+        return ScrapingResult.of(pathName(targetFile.getFirst()), valueList);
+    }
+
+    /**
+     * XBRLインスタンスから科目ごとの値を読み取る
+     * <p>
+     * 読み取ったテーブルが個別財務諸表のときは、個別財務諸表のコンテキストの値を読み取る。
+     *
+     * @param fs              財務諸表種別
+     * @param document        ドキュメント
+     * @param targetDirectory 対象フォルダ
+     * @param scrapingKeyword 合致したキーワード
+     * @param findSubject     科目名から科目を取得する処理
+     * @return 科目IDとその値
+     */
+    private Map<String, Long> extractFactValue(
+            final FinancialStatementEnum fs,
+            final Document document,
+            final Path targetDirectory,
+            final ScrapingKeywordEntity scrapingKeyword,
+            final Function<String, Optional<? extends Subject>> findSubject) {
+        final Optional<Path> instanceFile = xbrlFactScraping.findInstanceFile(targetDirectory);
+        if (instanceFile.isEmpty()) {
+            return Map.of();
+        }
+
+        final String contextRef = scrapingKeywordSpecification.isConsolidated(scrapingKeyword)
+                ? contextRef(fs, document) : contextRef(fs, document) + NON_CONSOLIDATED_MEMBER;
+        final Map<String, Long> factValueMap = new HashMap<>();
+        xbrlFactScraping.scrapeFinancialStatement(instanceFile.get(), XbrlElement.elementSetOf(fs), contextRef)
+                .forEach(fact -> XbrlElement.subjectOf(fs, fact.getName())
+                        .flatMap(findSubject)
+                        .ifPresent(subject -> fact.getValue().flatMap(this::parseFactValue)
+                                .ifPresent(value -> factValueMap.putIfAbsent(subject.getId(), value))));
+        return factValueMap;
+    }
+
+    /**
+     * 株式総数をスクレイピングする
+     *
+     * @param document        ドキュメント
+     * @param targetDirectory 対象フォルダ
+     * @return 読み取り結果
+     */
+    private ScrapingResult extractNumberOfShares(final Document document, final Path targetDirectory) {
+        final Pair<Path, ScrapingKeywordEntity> targetFile = findTargetFile(
+                targetDirectory, FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES, document.getDocumentTypeCode());
+        final String value = xbrlScraping.scrapeNumberOfShares(targetFile.getFirst(), targetFile.getSecond().getKeyword());
+
+        return ScrapingResult.of(
+                pathName(targetFile.getFirst()),
+                List.of(new SubjectValue("0", numericCellParser.parse(value).orElse(null)))
+        );
+    }
+
+    /**
+     * XBRLインスタンスにおける当期の連結財務諸表のコンテキストIDを取得する
+     *
+     * @param fs       財務諸表種別
+     * @param document ドキュメント
+     * @return コンテキストID
+     */
+    private String contextRef(final FinancialStatementEnum fs, final Document document) {
+        final boolean isQuarterly = DocumentTypeCode.DTC_140 == document.getDocumentTypeCode()
+                || DocumentTypeCode.DTC_150 == document.getDocumentTypeCode();
+
+        if (FinancialStatementEnum.BALANCE_SHEET == fs) {
+            return isQuarterly ? "CurrentQuarterInstant" : "CurrentYearInstant";
+        } else {
+            return isQuarterly ? "CurrentYTDDuration" : "CurrentYearDuration";
+        }
     }
 
     /**
      * フォルダから処理対象のファイルを取得する
+     * <p>
+     * 書類種別ごとに合致件数の多いキーワードから確認する。
+     * キーワードに合致したときは、登録順でそれより優先される連結財務諸表のキーワードを確認し、
+     * 連結財務諸表が存在するときは登録順で最初に合致したものを優先する。
      *
-     * @param targetFile 対象フォルダ
-     * @param fs         財務諸表種別
+     * @param targetFile       対象フォルダ
+     * @param fs               財務諸表種別
+     * @param documentTypeCode 書類種別コード
      * @return 対象ファイルとそのキーワード
      */
-    Pair<File, ScrapingKeywordEntity> findTargetFile(final File targetFile, final FinancialStatementEnum fs) {
-        final List<ScrapingKeywordEntity> scrapingKeywordList = scrapingKeywordDao.selectByFinancialStatementId(fs.toValue());
+    Pair<Path, ScrapingKeywordEntity> findTargetFile(
+            final Path targetFile, final FinancialStatementEnum fs, final DocumentTypeCode documentTypeCode) {
+        final List<ScrapingKeywordEntity> scrapingKeywordList =
+                scrapingKeywordSpecification.findKeywordList(fs, documentTypeCode);
+
+        // 索引が保存されていないフォルダは、ここで作成して以降のスクレイピングで使い回す
+        xbrlScraping.index(targetFile);
 
-        for (final ScrapingKeywordEntity scrapingKeyword : scrapingKeywordList) {
-            final Optional<File> findFile = xbrlScraping.findFile(targetFile, scrapingKeyword);
+        for (int i = 0; i < scrapingKeywordList.size(); i++) {
+            final ScrapingKeywordEntity scrapingKeyword = scrapingKeywordList.get(i);
+            final Optional<Path> findFile = xbrlScraping.findFile(targetFile, scrapingKeyword);
 
             if (findFile.isPresent()) {
-                return Pair.of(findFile.get(), scrapingKeyword);
+                final Pair<Path, ScrapingKeywordEntity> target =
+                        findConsolidatedFile(targetFile, scrapingKeyword, scrapingKeywordList.subList(i + 1, scrapingKeywordList.size()))
+                                .orElse(Pair.of(findFile.get(), scrapingKeyword));
+
+                scrapingKeywordSpecification.countHit(target.getSecond(), documentTypeCode);
+                return target;
             }
         }
         throw new FundanalyzerFileException("キーワードに合致するファイルが存在しませんでした。");
     }
 
+    /**
+     * 合致したキーワードより登録順で優先される連結財務諸表のファイルを取得する
+     *
+     * @param targetFile           対象フォルダ
+     * @param hitKeyword           合致したキーワード
+     * @param remainingKeywordList 未確認のキーワードリスト
+     * @return 対象ファイルとそのキーワード
+     */
+    private Optional<Pair<Path, ScrapingKeywordEntity>> findConsolidatedFile(
+            final Path targetFile,
+            final ScrapingKeywordEntity hitKeyword,
+            final List<ScrapingKeywordEntity> remainingKeywordList) {
+        return remainingKeywordList.stream()
+                .filter(scrapingKeywordSpecification::isConsolidated)
+                .filter(scrapingKeyword -> scrapingKeyword.getId() < hitKeyword.getId())
+                .sorted(Comparator.comparing(ScrapingKeywordEntity::getId))
+                .flatMap(scrapingKeyword -> xbrlScraping.findFile(targetFile, scrapingKeyword)
+                        .map(file -> Pair.of(file, scrapingKeyword)).stream())
+                .findFirst();
+    }
+
     /**
      * 貸借対照表のオプション処理を実行する
      *
@@ -274,14 +559,10 @@ public class ScrapingInteractor implements ScrapingUseCase {
     /**
      * スクレイピングを実行する
      *
-     * @param fs         財務諸表種別
-     * @param document   ドキュメント
-     * @param doScraping 財務諸表別処理実行
+     * @param fs       財務諸表種別
+     * @param document ドキュメント
      */
-    private void executeScraping(
-            final FinancialStatementEnum fs,
-            final Document document,
-            final BiConsumer<Company, Pair<File, ScrapingKeywordEntity>> doScraping) {
+    private void executeScraping(final FinancialStatementEnum fs, final Document document) {
         final long startTime = System.currentTimeMillis();
         final Company company = companySpecification.findCompanyByEdinetCode(document.getEdinetCode())
                 .orElseThrow(FundanalyzerRuntimeException::new);
@@ -296,27 +577,33 @@ public class ScrapingInteractor implements ScrapingUseCase {
                 System.currentTimeMillis() - startTime
         ));
 
+        ScrapingResult result;
         try {
-            final Pair<File, ScrapingKeywordEntity> targetFile = findTargetFile(targetDirectory, fs);
-
-            doScraping.accept(company, targetFile);
-
-            log.info(FundanalyzerLogClient.toInteractorLogObject(
-                    MessageFormat.format(
-                            "次のスクレイピング情報を正常に登録しました。" +
-                                    "\n企業コード:{0}\tEDINETコード:{1}\t財務諸表名:{2}\tファイル名:{3}",
-                            company.getCode().orElse("null"),
-                            company.getEdinetCode(),
-                            fs.getName(),
-                            targetFile.getFirst().getPath()
-                    ),
-                    Category.SCRAPING,
-                    Process.of(fs),
-                    System.currentTimeMillis() - startTime
-            ));
+            result = readSource(document, targetDirectory, directory -> extract(fs, company, document, directory));
+        } catch (FundanalyzerFileException e) {
+            result = ScrapingResult.error(e);
+        }
+        register(fs, company, document, targetDirectory, result, startTime);
+    }
 
-            documentSpecification.updateFsToDone(document, fs, targetFile.getFirst().getPath());
-        } catch (FundanalyzerFileException | FundanalyzerNotExistException e) {
+    /**
+     * 読み取り結果をデータベースに登録する
+     *
+     * @param fs              財務諸表種別
+     * @param company         企業情報
+     * @param document        ドキュメント
+     * @param targetDirectory 対象フォルダ
+     * @param result          読み取り結果
+     * @param startTime       処理開始時刻
+     */
+    private void register(
+            final FinancialStatementEnum fs,
+            final Company company,
+            final Document document,
+            final File targetDirectory,
+            final ScrapingResult result,
+            final long startTime) {
+        if (result.getException().isPresent()) {
             documentSpecification.updateFsToError(document, fs);
             log.warn(FundanalyzerLogClient.toInteractorLogObject(
                     MessageFormat.format(
@@ -329,7 +616,81 @@ public class ScrapingInteractor implements ScrapingUseCase {
                     Category.SCRAPING,
                     Process.of(fs),
                     System.currentTimeMillis() - startTime
-            ), e);
+            ), result.getException().get());
+            return;
+        }
+
+        result.getValueList().forEach(value -> financialStatementSpecification.insert(
+                company, fs, value.getSubjectId(), document, value.getValue()));
+        if (FinancialStatementEnum.BALANCE_SHEET == fs) {
+            doBsOptionIfTarget(company, document);
+        }
+
+        log.info(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format(
+                        "次のスクレイピング情報を正常に登録しました。" +
+                                "\n企業コード:{0}\tEDINETコード:{1}\t財務諸表名:{2}\tファイル名:{3}",
+                        company.getCode().orElse("null"),
+                        company.getEdinetCode(),
+                        fs.getName(),
+                        result.getTargetFile()
+                ),
+                Category.SCRAPING,
+                Process.of(fs),
+                System.currentTimeMillis() - startTime
+        ));
+
+        documentSpecification.updateFsToDone(document, fs, result.getTargetFile());
+    }
+
+    /**
+     * 解凍済みのフォルダ、またはzipファイルを読み取る
+     * <p>
+     * 解凍済みのフォルダが存在しないときは、zipファイルを解凍せずに読み取る。
+     *
+     * @param document        ドキュメント
+     * @param targetDirectory 解凍済みのフォルダ
+     * @param read            読み取り処理
+     * @param <T>             読み取り結果の型
+     * @return 読み取り結果
+     */
+    private <T> T readSource(final Document document, final File targetDirectory, final Function<Path, T> read) {
+        final File zipFile = makeTargetPath(pathEdinet, document.getSubmitDate(), document.getDocumentId());
+
+        if (!targetDirectory.exists() && new File(zipFile + ".zip").exists()) {
+            try (FileSystem fileSystem = fileOperator.openZipFile(zipFile)) {
+                return read.apply(fileSystem.getPath(DOCUMENT_PATH));
+            } catch (IOException e) {
+                throw new FundanalyzerFileException("zipファイルの読み取りに失敗しました。スタックトレースから詳細を確認してください。", e);
+            }
+        }
+        return read.apply(targetDirectory.toPath());
+    }
+
+    /**
+     * 読み取ったファイルのパスを取得する
+     *
+     * @param file ファイル
+     * @return ファイルパス（zipファイル内のファイルはURI）
+     */
+    private static String pathName(final Path file) {
+        return FileSystems.getDefault() == file.getFileSystem() ? file.toString() : file.toUri().toString();
+    }
+
+    /**
+     * 並列に実行した読み取り処理の結果を取得する
+     *
+     * @param future 読み取り処理
+     * @return 読み取り結果
+     */
+    private static ScrapingResult join(final CompletableFuture<ScrapingResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
     }
 
@@ -341,49 +702,19 @@ public class ScrapingInteractor implements ScrapingUseCase {
      * @return 値
      */
     private Optional<Long> parseValue(final String value, final Unit unit) {
-        return parseValue(value).map(l -> l * unit.getValue());
+        return numericCellParser.parse(value).map(l -> l * unit.getValue());
     }
 
     /**
-     * 数値を解析する
+     * XBRLインスタンスに記載された数値を解析する
      *
      * @param value 数値
      * @return 値
      */
-    private Optional<Long> parseValue(final String value) {
+    private Optional<Long> parseFactValue(final String value) {
         try {
-            return Optional.of(value)
-                    .filter(v -> !v.isBlank())
-                    .filter(v -> !" ".equals(v))
-                    .map(s -> Long.parseLong(s
-                            .replace("※ ", "")
-                            .replace("※1", "").replace("※１", "")
-                            .replace("※2", "").replace("※２", "")
-                            .replace("※3", "").replace("※３", "")
-                            .replace("※4", "").replace("※４", "")
-                            .replace("※5", "").replace("※５", "")
-                            .replace("※6", "").replace("※６", "")
-                            .replace("※7", "").replace("※７", "")
-                            .replace("※8", "").replace("※８", "")
-                            .replace("※9", "").replace("※９", "")
-                            .replace("※10", "").replace("※11", "")
-                            .replace("※12", "").replace("※13", "")
-                            .replace("※14", "").replace("※15", "")
-                            .replace("※16", "").replace("※17", "")
-                            .replace("注1", "").replace("注１", "")
-                            .replace("注2", "").replace("注２", "")
-                            .replace("注3", "").replace("注３", "")
-                            .replace("注4", "").replace("注４", "")
-                            .replace("注5", "").replace("注５", "")
-                            .replace("*1", "").replace("*2", "")
-                            .replace("株", "")
-                            .replace("－", "0").replace("―", "0")
-                            .replace("-", "0")
-                            .replace(" ", "").replace(" ", "")
-                            .replace(",", "")
-                            .replace("△", "-")
-                    ));
-        } catch (NumberFormatException e) {
+            return Optional.of(new BigDecimal(value).setScale(0, RoundingMode.HALF_UP).longValueExact());
+        } catch (NumberFormatException | ArithmeticException e) {
             log.warn(FundanalyzerLogClient.toInteractorLogObject(
                     MessageFormat.format(
                             "数値を正常に認識できなかったため、NULLで登録します。\tvalue:{0}",
@@ -10,6 +10,7 @@ import github.com.ioridazo.fundanalyzer.domain.domain.specification.FinancialSta
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.ViewSpecification;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ViewEdinetUseCase;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.FinanceValue;
 import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
 import github.com.ioridazo.fundanalyzer.web.view.model.edinet.EdinetListViewModel;
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Component;
 import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -86,12 +88,16 @@ public class ViewEdinetInteractor implements ViewEdinetUseCase {
      */
     @Override
     public EdinetDetailViewModel viewEdinetDetail(final DateInputData inputData) {
-        final List<DocumentViewModel> documentView = documentSpecification.targetList(inputData).stream()
+        final List<Document> documentList = documentSpecification.targetList(inputData).stream()
                 .filter(document -> !documentSpecification.allStatusDone(document))
+                .collect(Collectors.toList());
+        final Map<String, FinanceValue> financeValueMap = financialStatementSpecification.getFinanceValueMap(documentList);
+
+        final List<DocumentViewModel> documentView = documentList.stream()
                 .map(document -> DocumentViewModel.of(
                         companySpecification.findCompanyByEdinetCode(document.getEdinetCode()).orElseThrow(FundanalyzerRuntimeException::new),
                         document,
-                        financialStatementSpecification.getFinanceValue(document)
+                        financeValueMap.get(document.getDocumentId())
                 ))
                 .collect(Collectors.toList());
 
@@ -1,11 +1,14 @@
 package github.com.ioridazo.fundanalyzer.domain.service;
 
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillPhase;
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.BackfillSpecification;
 import github.com.ioridazo.fundanalyzer.domain.usecase.AnalyzeUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.DocumentUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.NoticeUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.StockUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ViewCorporateUseCase;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ViewEdinetUseCase;
+import github.com.ioridazo.fundanalyzer.domain.value.BackfillJob;
 import github.com.ioridazo.fundanalyzer.web.model.BetweenDateInputData;
 import github.com.ioridazo.fundanalyzer.web.model.CodeInputData;
 import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
@@ -14,6 +17,8 @@ import org.springframework.cloud.sleuth.annotation.NewSpan;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.stream.Collectors;
+
 @Service
 public class AnalysisService {
 
@@ -23,6 +28,8 @@ public class AnalysisService {
     private final ViewCorporateUseCase viewCorporateUseCase;
     private final ViewEdinetUseCase viewEdinetUseCase;
     private final NoticeUseCase noticeUseCase;
+    private final BackfillOrchestrator backfillOrchestrator;
+    private final BackfillSpecification backfillSpecification;
 
     public AnalysisService(
             final DocumentUseCase documentUseCase,
@@ -30,40 +37,90 @@ public class AnalysisService {
             final StockUseCase stockUseCase,
             final ViewCorporateUseCase viewCorporateUseCase,
             final ViewEdinetUseCase viewEdinetUseCase,
-            final NoticeUseCase noticeUseCase) {
+            final NoticeUseCase noticeUseCase,
+            final BackfillOrchestrator backfillOrchestrator,
+            final BackfillSpecification backfillSpecification) {
         this.documentUseCase = documentUseCase;
         this.analyzeUseCase = analyzeUseCase;
         this.stockUseCase = stockUseCase;
         this.viewCorporateUseCase = viewCorporateUseCase;
         this.viewEdinetUseCase = viewEdinetUseCase;
         this.noticeUseCase = noticeUseCase;
+        this.backfillOrchestrator = backfillOrchestrator;
+        this.backfillSpecification = backfillSpecification;
     }
 
     /**
      * メイン分析処理
+     * <p>
+     * 提出日ごとのスクレイピング・分析・株価取得を並列に実行し、すべて完了してから表示を更新する。
+     * 提出日ごとに完了した処理段階を記録し、再起動後は中断した処理段階から再開する。
      *
      * @param inputData 複数の提出日
      */
     @NewSpan
     @Async
     public void doMain(final BetweenDateInputData inputData) {
-        inputData.getFromDate()
-                .datesUntil(inputData.getToDate().plusDays(1))
-                .map(DateInputData::of)
-                .forEach(date -> {
+        final BackfillJob job = backfillSpecification.start(inputData.getFromDate(), inputData.getToDate());
+
+        backfillOrchestrator.run(
+                inputData.getFromDate()
+                        .datesUntil(inputData.getToDate().plusDays(1))
+                        .map(DateInputData::of)
+                        .collect(Collectors.toList()),
+                date -> {
+                    // edinet list
+                    runPhase(job, date, BackfillPhase.LIST_SAVED, () -> documentUseCase.saveEdinetList(date));
                     // scraping
-                    documentUseCase.allProcess(date);
+                    runPhase(job, date, BackfillPhase.SCRAPED, () -> documentUseCase.scrapeAll(date));
                     // analysis
-                    analyzeUseCase.analyze(date);
+                    runPhase(job, date, BackfillPhase.ANALYZED, () -> analyzeUseCase.analyze(date));
                     // stock
-                    stockUseCase.importStockPrice(date);
+                    runPhase(job, date, BackfillPhase.STOCK_IMPORTED, () -> stockUseCase.importStockPrice(date));
+                },
+                date -> runPhase(job, date, BackfillPhase.VIEW_UPDATED, () -> {
                     // view corporate
                     viewCorporateUseCase.updateView(date);
                     // view edinet
                     viewEdinetUseCase.updateView(date);
                     // slack
                     noticeUseCase.noticeSlack(date);
-                });
+                })
+        );
+
+        backfillSpecification.complete(job);
+    }
+
+    /**
+     * 書類分析処理
+     * <p>
+     * 提出日ごとのスクレイピング・分析を並列に実行し、すべて完了してから表示を更新する。
+     * 外部サイトにアクセスする株価取得とSlack通知は実行しない。
+     *
+     * @param inputData 複数の提出日
+     */
+    @NewSpan
+    public void doAnalysis(final BetweenDateInputData inputData) {
+        backfillOrchestrator.run(
+                inputData.getFromDate()
+                        .datesUntil(inputData.getToDate().plusDays(1))
+                        .map(DateInputData::of)
+                        .collect(Collectors.toList()),
+                date -> {
+                    // edinet list
+                    documentUseCase.saveEdinetList(date);
+                    // scraping
+                    documentUseCase.scrapeAll(date);
+                    // analysis
+                    analyzeUseCase.analyze(date);
+                },
+                date -> {
+                    // view corporate
+                    viewCorporateUseCase.updateView(date);
+                    // view edinet
+                    viewEdinetUseCase.updateView(date);
+                }
+        );
     }
 
     /**
@@ -136,4 +193,20 @@ public class AnalysisService {
         // delete stock
         return stockUseCase.deleteStockPrice();
     }
+
+    /**
+     * 完了していない処理段階を実行して記録する
+     *
+     * @param job   ジョブ
+     * @param date  提出日
+     * @param phase 処理段階
+     * @param task  処理
+     */
+    private void runPhase(final BackfillJob job, final DateInputData date, final BackfillPhase phase, final Runnable task) {
+        if (backfillSpecification.isDone(job, date.getDate(), phase)) {
+            return;
+        }
+        task.run();
+        backfillSpecification.checkpoint(job, date.getDate(), phase);
+    }
 }
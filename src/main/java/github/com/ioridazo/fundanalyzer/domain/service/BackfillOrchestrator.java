@@ -0,0 +1,126 @@
+package github.com.ioridazo.fundanalyzer.domain.service;
+
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
+import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 複数の提出日をまとめて処理する
+ * <p>
+ * 提出日ごとの処理は提出日単位で並列に実行する。
+ * 企業の分析結果はすべての提出日の書類に依存するため、提出日ごとの処理がすべて完了してから
+ * 全体の処理を提出日順に実行する。
+ */
+@Component
+class BackfillOrchestrator {
+
+    private static final Logger log = LogManager.getLogger(BackfillOrchestrator.class);
+
+    private final ExecutorService executor;
+
+    BackfillOrchestrator(@Value("${app.config.backfill.parallelism}") final int parallelism) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("backfill-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), threadFactory);
+    }
+
+    /**
+     * 複数の提出日を処理する
+     * <p>
+     * 提出日ごとの処理に失敗した提出日は、全体の処理の対象から除外する。
+     *
+     * @param dateList 提出日リスト
+     * @param perDate  提出日ごとの処理
+     * @param afterAll すべての提出日ごとの処理が完了した後に実行する処理
+     */
+    void run(
+            final List<DateInputData> dateList,
+            final Consumer<DateInputData> perDate,
+            final Consumer<DateInputData> afterAll) {
+        final long startTime = System.currentTimeMillis();
+        final int total = dateList.size();
+        final AtomicInteger completed = new AtomicInteger();
+        final Map<DateInputData, Throwable> failureMap = new ConcurrentHashMap<>();
+
+        final List<CompletableFuture<Void>> futureList = new ArrayList<>();
+        for (final DateInputData date : dateList) {
+            futureList.add(CompletableFuture.runAsync(() -> perDate.accept(date), executor)
+                    .whenComplete((v, e) -> {
+                        if (e != null) {
+                            failureMap.put(date, e.getCause() == null ? e : e.getCause());
+                            log.error(FundanalyzerLogClient.toInteractorLogObject(
+                                    MessageFormat.format("提出日の処理に失敗しました。\t対象提出日:{0}", date.getDate()),
+                                    Category.DOCUMENT,
+                                    Process.BEGINNING
+                            ), e);
+                        }
+                        log.info(FundanalyzerLogClient.toInteractorLogObject(
+                                MessageFormat.format(
+                                        "提出日の処理が完了しました。\t対象提出日:{0}\t進捗:{1}/{2}",
+                                        date.getDate(),
+                                        completed.incrementAndGet(),
+                                        total
+                                ),
+                                Category.DOCUMENT,
+                                Process.BEGINNING,
+                                System.currentTimeMillis() - startTime
+                        ));
+                    }));
+        }
+        // 失敗した提出日は whenComplete で記録済みのため、ここでは完了を待つだけとする
+        CompletableFuture.allOf(futureList.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        for (final DateInputData date : dateList) {
+            if (failureMap.containsKey(date)) {
+                continue;
+            }
+            afterAll.accept(date);
+        }
+
+        log.info(FundanalyzerLogClient.toInteractorLogObject(
+                MessageFormat.format(
+                        "すべての提出日の処理が完了しました。\t対象提出日数:{0}\t失敗:{1}",
+                        total,
+                        failureMap.size()
+                ),
+                Category.DOCUMENT,
+                Process.END,
+                System.currentTimeMillis() - startTime
+        ));
+
+        dateList.stream()
+                .filter(failureMap::containsKey)
+                .findFirst()
+                .map(failureMap::get)
+                .ifPresent(e -> {
+                    if (e instanceof RuntimeException) {
+                        throw (RuntimeException) e;
+                    }
+                    throw new FundanalyzerRuntimeException("提出日の処理に失敗しました。", e);
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
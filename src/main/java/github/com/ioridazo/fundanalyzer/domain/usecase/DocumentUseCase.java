@@ -34,6 +34,14 @@ public interface DocumentUseCase {
     @NewSpan
     void scrape(DateInputData inputData);
 
+    /**
+     * 提出日のドキュメントをまとめてスクレイピング
+     *
+     * @param inputData 提出日
+     */
+    @NewSpan
+    void scrapeAll(DateInputData inputData);
+
     /**
      * スクレイピング
      *
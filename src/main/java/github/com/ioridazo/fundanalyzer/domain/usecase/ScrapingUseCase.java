@@ -1,8 +1,12 @@
 package github.com.ioridazo.fundanalyzer.domain.usecase;
 
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument;
 import org.springframework.cloud.sleuth.annotation.NewSpan;
 
+import java.util.List;
+
 public interface ScrapingUseCase {
 
     /**
@@ -15,6 +19,23 @@ public interface ScrapingUseCase {
     @NewSpan
     void download(Document document);
 
+    /**
+     * ファイル取得
+     *
+     * @param document ドキュメント
+     * @return 取得できたかどうか
+     */
+    @NewSpan
+    boolean acquire(Document document);
+
+    /**
+     * ファイル解凍
+     *
+     * @param document ドキュメント
+     */
+    @NewSpan
+    void decode(Document document);
+
     /**
      * 貸借対照表スクレイピング
      *
@@ -38,4 +59,31 @@ public interface ScrapingUseCase {
      */
     @NewSpan
     void ns(Document document);
+
+    /**
+     * 財務諸表一括スクレイピング
+     *
+     * @param document ドキュメント
+     * @param fsList   財務諸表種別
+     */
+    @NewSpan
+    void scrape(Document document, List<FinancialStatementEnum> fsList);
+
+    /**
+     * 財務諸表一括読み取り
+     *
+     * @param document ドキュメント
+     * @param fsList   財務諸表種別
+     * @return 読み取り結果
+     */
+    @NewSpan
+    ScrapedDocument extract(Document document, List<FinancialStatementEnum> fsList);
+
+    /**
+     * 財務諸表一括登録
+     *
+     * @param scrapedDocument 読み取り結果
+     */
+    @NewSpan
+    void register(ScrapedDocument scrapedDocument);
 }
@@ -0,0 +1,31 @@
+package github.com.ioridazo.fundanalyzer.domain.value;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillPhase;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 複数提出日の処理ジョブ
+ */
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value(staticConstructor = "of")
+public class BackfillJob {
+
+    private final Integer id;
+
+    // 提出日ごとの完了した処理段階
+    private final Map<LocalDate, BackfillPhase> checkpointMap;
+
+    /**
+     * 提出日の完了した処理段階を取得する
+     *
+     * @param targetDate 提出日
+     * @return 完了した処理段階
+     */
+    public Optional<BackfillPhase> getCheckpoint(final LocalDate targetDate) {
+        return Optional.ofNullable(checkpointMap.get(targetDate));
+    }
+}
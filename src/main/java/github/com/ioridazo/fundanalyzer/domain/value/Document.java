@@ -70,6 +70,36 @@ public class Document {
         );
     }
 
+    /**
+     * 処理ステータスの更新内容を反映する
+     * <p>
+     * 更新内容のうち値の存在する項目のみを反映する。
+     *
+     * @param update 処理ステータスの更新内容
+     * @return 更新内容を反映したドキュメント
+     */
+    public Document apply(final DocumentEntity update) {
+        return new Document(
+                documentId,
+                documentTypeCode,
+                quarterType,
+                edinetCode,
+                documentPeriod,
+                submitDate,
+                periodStart,
+                periodEnd,
+                Optional.ofNullable(update.getDownloaded()).map(DocumentStatus::fromValue).orElse(downloaded),
+                Optional.ofNullable(update.getDecoded()).map(DocumentStatus::fromValue).orElse(decoded),
+                Optional.ofNullable(update.getScrapedNumberOfShares()).map(DocumentStatus::fromValue).orElse(scrapedNumberOfShares),
+                update.getNumberOfSharesDocumentPath().orElse(numberOfSharesDocumentPath),
+                Optional.ofNullable(update.getScrapedBs()).map(DocumentStatus::fromValue).orElse(scrapedBs),
+                update.getBsDocumentPath().orElse(bsDocumentPath),
+                Optional.ofNullable(update.getScrapedPl()).map(DocumentStatus::fromValue).orElse(scrapedPl),
+                update.getPlDocumentPath().orElse(plDocumentPath),
+                Optional.ofNullable(update.getRemoved()).map("1"::equals).orElse(isRemove)
+        );
+    }
+
     public Optional<LocalDate> getDocumentPeriod() {
         return Optional.ofNullable(documentPeriod);
     }
@@ -0,0 +1,95 @@
+package github.com.ioridazo.fundanalyzer.domain.value;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import lombok.Value;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ドキュメントから読み取った財務諸表
+ * <p>
+ * 読み取りとデータベースへの登録を別々のスレッドで実行するために、登録前の値を保持する。
+ */
+@SuppressWarnings("RedundantModifiersValueLombok")
+@Value(staticConstructor = "of")
+public class ScrapedDocument {
+
+    private final Document document;
+
+    private final Company company;
+
+    // 読み取り対象のフォルダ
+    private final File targetDirectory;
+
+    // 財務諸表種別ごとの読み取り結果
+    private final Map<FinancialStatementEnum, ScrapingResult> resultMap;
+
+    // 処理開始時刻
+    private final long startTime;
+
+    /**
+     * 財務諸表ごとの読み取り結果
+     */
+    public static final class ScrapingResult {
+
+        // 読み取ったファイル
+        private final String targetFile;
+
+        // 科目IDとその値
+        private final List<SubjectValue> valueList;
+
+        private final RuntimeException exception;
+
+        private ScrapingResult(final String targetFile, final List<SubjectValue> valueList, final RuntimeException exception) {
+            this.targetFile = targetFile;
+            this.valueList = valueList;
+            this.exception = exception;
+        }
+
+        public static ScrapingResult of(final String targetFile, final List<SubjectValue> valueList) {
+            return new ScrapingResult(targetFile, valueList, null);
+        }
+
+        public static ScrapingResult error(final RuntimeException exception) {
+            return new ScrapingResult(null, List.of(), exception);
+        }
+
+        public String getTargetFile() {
+            return targetFile;
+        }
+
+        public List<SubjectValue> getValueList() {
+            return valueList;
+        }
+
+        public Optional<RuntimeException> getException() {
+            return Optional.ofNullable(exception);
+        }
+    }
+
+    /**
+     * 科目IDとその値
+     */
+    public static final class SubjectValue {
+
+        private final String subjectId;
+
+        private final Long value;
+
+        public SubjectValue(final String subjectId, final Long value) {
+            this.subjectId = subjectId;
+            this.value = value;
+        }
+
+        public String getSubjectId() {
+            return subjectId;
+        }
+
+        public Long getValue() {
+            return value;
+        }
+    }
+}
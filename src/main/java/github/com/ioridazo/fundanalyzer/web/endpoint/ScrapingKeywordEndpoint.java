@@ -0,0 +1,30 @@
+package github.com.ioridazo.fundanalyzer.web.endpoint;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.ScrapingKeywordSpecification;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * スクレイピングキーワードの確認順を公開するエンドポイント
+ * <p>
+ * "/actuator/scrapingkeyword"で財務諸表種別と書類種別コードごとのキーワードと合致件数を返却する。
+ */
+@Component
+@Endpoint(id = "scrapingkeyword")
+public class ScrapingKeywordEndpoint {
+
+    private final ScrapingKeywordSpecification scrapingKeywordSpecification;
+
+    public ScrapingKeywordEndpoint(final ScrapingKeywordSpecification scrapingKeywordSpecification) {
+        this.scrapingKeywordSpecification = scrapingKeywordSpecification;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, List<ScrapingKeywordSpecification.KeywordHitCount>>> keywordOrder() {
+        return scrapingKeywordSpecification.findKeywordOrder();
+    }
+}
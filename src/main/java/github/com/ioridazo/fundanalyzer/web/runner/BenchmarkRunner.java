@@ -0,0 +1,77 @@
+package github.com.ioridazo.fundanalyzer.web.runner;
+
+import github.com.ioridazo.fundanalyzer.client.log.Category;
+import github.com.ioridazo.fundanalyzer.client.log.FundanalyzerLogClient;
+import github.com.ioridazo.fundanalyzer.client.log.Process;
+import github.com.ioridazo.fundanalyzer.domain.service.AnalysisService;
+import github.com.ioridazo.fundanalyzer.web.model.BetweenDateInputData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.text.MessageFormat;
+import java.time.LocalDate;
+
+/**
+ * アーカイブから書類分析処理を実行し、処理時間を計測する
+ * <p>
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=benchmark}
+ */
+@Component
+@Profile({"benchmark"})
+public class BenchmarkRunner implements ApplicationRunner {
+
+    private static final Logger log = LogManager.getLogger(BenchmarkRunner.class);
+
+    private final AnalysisService analysisService;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.benchmark.from-date}")
+    String fromDate;
+    @Value("${app.benchmark.to-date}")
+    String toDate;
+
+    public BenchmarkRunner(
+            final AnalysisService analysisService,
+            final ApplicationContext applicationContext) {
+        this.analysisService = analysisService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        final long startTime = System.currentTimeMillis();
+
+        log.info(FundanalyzerLogClient.toAccessLogObject(Category.DOCUMENT, Process.BEGINNING, "benchmark", 0));
+
+        int exitCode = 0;
+        try {
+            analysisService.doAnalysis(BetweenDateInputData.of(LocalDate.parse(fromDate), LocalDate.parse(toDate)));
+        } catch (Throwable t) {
+            exitCode = 1;
+            log.error(FundanalyzerLogClient.toInteractorLogObject(
+                    MessageFormat.format("書類分析処理に失敗しました。\t対象提出日:{0}～{1}", fromDate, toDate),
+                    Category.DOCUMENT,
+                    Process.END
+            ), t);
+        }
+
+        final long durationTime = System.currentTimeMillis() - startTime;
+
+        log.info(FundanalyzerLogClient.toAccessLogObject(
+                Category.DOCUMENT,
+                Process.END,
+                MessageFormat.format("benchmark\t対象提出日:{0}～{1}", fromDate, toDate),
+                durationTime
+        ));
+
+        final int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,3 @@
+select edinet_code from company
+where
+  edinet_code in /* edinetCodeList */('E12345')
@@ -1,3 +1,4 @@
 SELECT * FROM scraping_keyword
 WHERE
   financial_statement_id = /* financialStatementId */'1'
+ORDER BY id
@@ -0,0 +1 @@
+SELECT * FROM backfill_checkpoint WHERE job_id = /* jobId */1
@@ -0,0 +1,8 @@
+UPDATE backfill_checkpoint
+SET
+  phase = /* phase */'1',
+  updated_at = /* updatedAt */'2021-06-06 00:00:00'
+WHERE
+  job_id = /* jobId */1
+AND
+  target_date = /* targetDate */'2021-05-01'
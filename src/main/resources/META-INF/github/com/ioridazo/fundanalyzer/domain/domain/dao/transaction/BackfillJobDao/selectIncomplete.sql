@@ -0,0 +1,9 @@
+SELECT * FROM backfill_job
+WHERE
+  from_date = /* fromDate */'2021-05-01'
+AND
+  to_date = /* toDate */'2021-05-31'
+AND
+  completed = '0'
+ORDER BY id DESC
+LIMIT 1
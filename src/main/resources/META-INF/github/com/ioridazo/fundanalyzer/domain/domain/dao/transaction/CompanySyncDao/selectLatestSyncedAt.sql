@@ -0,0 +1 @@
+SELECT MAX(synced_at) FROM company_sync
@@ -0,0 +1,17 @@
+INSERT INTO document (
+  document_id,
+  document_type_code,
+  edinet_code,
+  document_period,
+  submit_date,
+  created_at,
+  updated_at
+) VALUES (
+  /* documentEntityList.documentId */'id',
+  /* documentEntityList.documentTypeCode */'120',
+  /* documentEntityList.edinetCode */'E12345',
+  /* documentEntityList.documentPeriod */'2021-01-01',
+  /* documentEntityList.submitDate */'2021-06-06',
+  /* documentEntityList.createdAt */'2021-06-06 00:00:00',
+  /* documentEntityList.updatedAt */'2021-06-06 00:00:00'
+)
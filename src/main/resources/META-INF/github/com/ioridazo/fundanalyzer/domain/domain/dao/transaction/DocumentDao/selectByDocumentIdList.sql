@@ -0,0 +1,3 @@
+select * from document
+where
+  document_id in /* documentIdList */('id')
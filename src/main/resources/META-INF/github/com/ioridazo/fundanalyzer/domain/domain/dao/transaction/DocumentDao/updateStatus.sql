@@ -0,0 +1,16 @@
+UPDATE document
+SET
+  downloaded = COALESCE(/* documentEntityList.downloaded */'1', downloaded),
+  decoded = COALESCE(/* documentEntityList.decoded */'1', decoded),
+  scraped_number_of_shares = COALESCE(/* documentEntityList.scrapedNumberOfShares */'1', scraped_number_of_shares),
+  number_of_shares_document_path = COALESCE(/* documentEntityList.numberOfSharesDocumentPath */'path', number_of_shares_document_path),
+  scraped_bs = COALESCE(/* documentEntityList.scrapedBs */'1', scraped_bs),
+  bs_document_path = COALESCE(/* documentEntityList.bsDocumentPath */'path', bs_document_path),
+  scraped_pl = COALESCE(/* documentEntityList.scrapedPl */'1', scraped_pl),
+  pl_document_path = COALESCE(/* documentEntityList.plDocumentPath */'path', pl_document_path),
+  scraped_cf = COALESCE(/* documentEntityList.scrapedCf */'1', scraped_cf),
+  cf_document_path = COALESCE(/* documentEntityList.cfDocumentPath */'path', cf_document_path),
+  removed = COALESCE(/* documentEntityList.removed */'0', removed),
+  updated_at = COALESCE(/* documentEntityList.updatedAt */'2021-06-06 00:00:00', updated_at)
+WHERE
+  document_id = /* documentEntityList.documentId */'id'
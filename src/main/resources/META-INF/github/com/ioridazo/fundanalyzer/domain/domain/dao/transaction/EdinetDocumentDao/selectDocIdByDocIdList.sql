@@ -0,0 +1,3 @@
+select doc_id from edinet_document
+where
+  doc_id in /* docIdList */('E12345')
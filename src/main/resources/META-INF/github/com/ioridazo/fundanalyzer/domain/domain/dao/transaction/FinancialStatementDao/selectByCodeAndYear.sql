@@ -0,0 +1,6 @@
+select *
+from financial_statement
+where edinet_code = /* edinetCode */'E00000'
+  and period_end like /* @prefix(dayOfYear) */'2020%'
+  and document_type_code = /* documentTypeCode */'120'
+  and submit_date = /* submitDate */'2021-01-01'
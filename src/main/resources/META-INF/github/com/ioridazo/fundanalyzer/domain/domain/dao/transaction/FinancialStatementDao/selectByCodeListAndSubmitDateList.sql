@@ -0,0 +1,4 @@
+select *
+from financial_statement
+where edinet_code in /* edinetCodeList */('E00000')
+  and submit_date in /* submitDateList */('2021-01-01')
@@ -0,0 +1,8 @@
+UPDATE scraping_keyword_hit
+SET
+  hit_count = hit_count + /* scrapingKeywordHitEntityList.hitCount */1,
+  updated_at = /* scrapingKeywordHitEntityList.updatedAt */'2021-06-06 00:00:00'
+WHERE
+  scraping_keyword_id = /* scrapingKeywordHitEntityList.scrapingKeywordId */1
+AND
+  document_type_code = /* scrapingKeywordHitEntityList.documentTypeCode */'120'
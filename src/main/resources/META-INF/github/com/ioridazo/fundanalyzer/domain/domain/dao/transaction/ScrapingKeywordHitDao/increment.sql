@@ -0,0 +1,8 @@
+UPDATE scraping_keyword_hit
+SET
+  hit_count = hit_count + /* count */1,
+  updated_at = /* updatedAt */'2021-06-06 00:00:00'
+WHERE
+  scraping_keyword_id = /* scrapingKeywordId */1
+AND
+  document_type_code = /* documentTypeCode */'120'
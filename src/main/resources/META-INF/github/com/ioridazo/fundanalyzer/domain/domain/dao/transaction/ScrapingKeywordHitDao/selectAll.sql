@@ -0,0 +1 @@
+SELECT * FROM scraping_keyword_hit
@@ -28,6 +28,15 @@ CREATE TABLE IF NOT EXISTS `company`
     CONSTRAINT `fk_industry_id` FOREIGN KEY (`industry_id`) REFERENCES `industry` (`id`)
 );
 
+-- Table structure for table `company_sync`(企業情報の同期履歴)
+CREATE TABLE IF NOT EXISTS `company_sync`
+(
+    `id`         BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    `synced_at`  DATETIME        NOT NULL COMMENT '同期日時',
+    `created_at` DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '登録日',
+    PRIMARY KEY (`id`)
+);
+
 -- Table structure for table `scraping_keyword`(スクレイピングキーワード)
 DROP TABLE IF EXISTS `scraping_keyword`;
 CREATE TABLE IF NOT EXISTS `scraping_keyword`
@@ -41,6 +50,19 @@ CREATE TABLE IF NOT EXISTS `scraping_keyword`
     UNIQUE KEY `uk_scraping_keyword` (`keyword`)
 );
 
+-- Table structure for table `scraping_keyword_hit`(スクレイピングキーワード合致件数)
+CREATE TABLE IF NOT EXISTS `scraping_keyword_hit`
+(
+    `id`                  BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    `scraping_keyword_id` BIGINT UNSIGNED NOT NULL COMMENT 'スクレイピングキーワードID',
+    `document_type_code`  CHAR(3)         NOT NULL COMMENT '書類種別コード',
+    `hit_count`           BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '合致件数',
+    `created_at`          DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '登録日',
+    `updated_at`          DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '更新日',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_scraping_keyword_hit` (`scraping_keyword_id`, `document_type_code`)
+);
+
 -- Table structure for table `bs_subject`(貸借対照表)
 DROP TABLE IF EXISTS `bs_subject`;
 CREATE TABLE IF NOT EXISTS `bs_subject`
@@ -257,3 +279,28 @@ CREATE TABLE IF NOT EXISTS edinet_list_view
     PRIMARY KEY (`submit_date`),
     UNIQUE KEY `uk_elv_submit_date` (`submit_date`)
 );
+
+-- Table structure for table `backfill_job`(複数提出日の処理ジョブ)
+CREATE TABLE IF NOT EXISTS `backfill_job`
+(
+    `id`         BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    `from_date`  DATE            NOT NULL COMMENT '開始提出日',
+    `to_date`    DATE            NOT NULL COMMENT '終了提出日',
+    `completed`  CHAR(1)         NOT NULL DEFAULT '0' COMMENT '完了フラグ' CHECK (`completed` IN ('0', '1')),
+    `created_at` DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '登録日',
+    `updated_at` DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '更新日',
+    PRIMARY KEY (`id`)
+);
+
+-- Table structure for table `backfill_checkpoint`(提出日ごとの処理段階)
+CREATE TABLE IF NOT EXISTS `backfill_checkpoint`
+(
+    `id`          BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    `job_id`      BIGINT UNSIGNED NOT NULL COMMENT 'ジョブID',
+    `target_date` DATE            NOT NULL COMMENT '対象提出日',
+    `phase`       CHAR(1)         NOT NULL COMMENT '完了した処理段階' CHECK (`phase` IN ('1', '2', '3', '4', '5')),
+    `created_at`  DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '登録日',
+    `updated_at`  DATETIME        NOT NULL DEFAULT CURRENT_TIME() COMMENT '更新日',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_backfill_checkpoint` (`job_id`, `target_date`)
+);
@@ -7,27 +7,45 @@ import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.Acquisition
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.AcquisitionType;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
@@ -45,7 +63,11 @@ class EdinetClientTest {
 
         this.proxy = Mockito.spy(new EdinetClient(
                 new AppConfig().restTemplate(2000, 2000),
-                String.format("http://localhost:%s", server.getPort())
+                String.format("http://localhost:%s", server.getPort()),
+                0,
+                4,
+                new EdinetListCache(false, "", 0),
+                new EdinetArchive("live", "")
         ));
 
         Mockito.clearInvocations(proxy);
@@ -250,6 +272,240 @@ class EdinetClientTest {
         }
     }
 
+    @Nested
+    class listResults {
+
+        private static final String JSON = "{" +
+                "\"metadata\": {\"resultset\": {\"count\": 3}, \"status\": \"200\", \"unknown\": [1, 2]}," +
+                "\"results\": [" +
+                "{\"seqNumber\": 1, \"docID\": \"doc1\"}," +
+                "{\"seqNumber\": 2, \"docID\": \"doc2\"}," +
+                "{\"seqNumber\": 3, \"docID\": \"doc3\"}" +
+                "]}";
+
+        @DisplayName("listResults : 提出書類一覧を読み取りながら指定件数ごとに処理する")
+        @Test
+        void batch() throws InterruptedException {
+            server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json"));
+            var batchList = new ArrayList<List<String>>();
+
+            var actual = proxy.listResults(
+                    new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST),
+                    2,
+                    resultsList -> batchList.add(resultsList.stream().map(Results::getDocId).collect(Collectors.toList()))
+            );
+
+            assertEquals("/api/v1/documents.json?date=2019-04-01&type=2", server.takeRequest().getPath());
+            assertEquals("3", actual.getResultset().getCount());
+            assertEquals(List.of(List.of("doc1", "doc2"), List.of("doc3")), batchList);
+        }
+
+        @DisplayName("listResults : 提出書類一覧が存在しないときは処理しない")
+        @Test
+        void noResults() {
+            server.enqueue(new MockResponse()
+                    .setBody("{\"metadata\": {\"status\": \"404\", \"message\": \"Not Found\"}}")
+                    .setHeader("Content-Type", "application/json"));
+            var batchList = new ArrayList<List<Results>>();
+
+            var actual = proxy.listResults(
+                    new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST), 2, batchList::add);
+
+            assertEquals("404", actual.getStatus());
+            assertTrue(batchList.isEmpty());
+        }
+    }
+
+    @Nested
+    class listCache {
+
+        private static final String JSON = "{\"metadata\": {\"resultset\": {\"count\": 1}, \"status\": \"200\"}, \"results\": []}";
+
+        @TempDir
+        Path cacheDirectory;
+
+        private EdinetClient client(final long ttl) {
+            return new EdinetClient(
+                    new AppConfig().restTemplate(2000, 2000),
+                    String.format("http://localhost:%s", server.getPort()),
+                    0,
+                    4,
+                    new EdinetListCache(true, cacheDirectory.toString(), ttl),
+                    new EdinetArchive("live", "")
+            );
+        }
+
+        @DisplayName("list : 過去の提出日の書類一覧はキャッシュから取得し、メタデータの取得にも使用する")
+        @Test
+        void past() {
+            server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json"));
+            var client = client(0);
+
+            client.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+            var actual = client.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+            var metadata = client.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.DEFAULT));
+
+            assertEquals(1, server.getRequestCount());
+            assertEquals("1", actual.getMetadata().getResultset().getCount());
+            assertEquals("1", metadata.getMetadata().getResultset().getCount());
+        }
+
+        @DisplayName("listResults : 読み取りながら書き出したレスポンスボディをキャッシュし、キャッシュからも読み取る")
+        @Test
+        void listResults() throws IOException {
+            var body = "{\"metadata\": {\"resultset\": {\"count\": 3}, \"status\": \"200\"}, " +
+                    "\"results\": [{\"docID\": \"1\"}, {\"docID\": \"2\"}, {\"docID\": \"3\"}]}\n";
+            server.enqueue(new MockResponse().setBody(body).setHeader("Content-Type", "application/json"));
+            var client = client(0);
+            var fetched = new ArrayList<List<Results>>();
+            var cached = new ArrayList<List<Results>>();
+
+            client.listResults(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST), 2, fetched::add);
+            var actual = client.listResults(
+                    new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST), 2, cached::add);
+
+            assertEquals(1, server.getRequestCount());
+            assertEquals(body, Files.readString(cacheDirectory.resolve("2019-04-01_2.json")));
+            assertEquals("3", actual.getResultset().getCount());
+            assertEquals(List.of(2, 1), fetched.stream().map(List::size).collect(Collectors.toList()));
+            assertEquals(List.of(2, 1), cached.stream().map(List::size).collect(Collectors.toList()));
+        }
+
+        @DisplayName("list : 当日の書類一覧はキャッシュの期限を過ぎたら再取得する")
+        @Test
+        void today() {
+            IntStream.range(0, 2).forEach(i ->
+                    server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json")));
+            var client = client(0);
+
+            client.list(new ListRequestParameter(LocalDate.now(), ListType.GET_LIST));
+            client.list(new ListRequestParameter(LocalDate.now(), ListType.GET_LIST));
+
+            assertEquals(2, server.getRequestCount());
+        }
+
+        @DisplayName("list : 提出日の当日に保存した書類一覧は翌日にはキャッシュの期限を過ぎたら再取得する")
+        @Test
+        void cachedOnSubmitDate() throws IOException {
+            IntStream.range(0, 3).forEach(i ->
+                    server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json")));
+            var client = client(60000);
+            var yesterday = LocalDate.now().minusDays(1);
+
+            client.list(new ListRequestParameter(yesterday, ListType.GET_LIST));
+            // 提出日の当日に保存されたことにする
+            Files.setLastModifiedTime(
+                    cacheDirectory.resolve(yesterday + "_2.json"),
+                    FileTime.from(yesterday.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant())
+            );
+            client.list(new ListRequestParameter(yesterday, ListType.GET_LIST));
+            // 再取得したあとは翌日に保存されているため期限を設けない
+            client.list(new ListRequestParameter(yesterday, ListType.GET_LIST));
+
+            assertEquals(2, server.getRequestCount());
+        }
+
+        @DisplayName("save : キャッシュに保存できなかったときは一時ファイルを残さない")
+        @Test
+        void saveFailure() throws IOException {
+            var cache = new EdinetListCache(true, cacheDirectory.toString(), 0);
+
+            cache.save(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST), cacheDirectory.resolve("notExist"));
+
+            try (var fileList = Files.list(cacheDirectory)) {
+                assertEquals(0, fileList.count());
+            }
+        }
+
+        @DisplayName("list : 正常に取得できなかった書類一覧はキャッシュしない")
+        @Test
+        void notSucceeded() {
+            IntStream.range(0, 2).forEach(i -> server.enqueue(new MockResponse()
+                    .setBody("{\"metadata\": {\"status\": \"404\", \"message\": \"Not Found\"}}")
+                    .setHeader("Content-Type", "application/json")));
+            var client = client(60000);
+
+            client.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+            client.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+
+            assertEquals(2, server.getRequestCount());
+        }
+    }
+
+    @Nested
+    class archive {
+
+        private static final String JSON = "{\"metadata\": {\"resultset\": {\"count\": 1}, \"status\": \"200\"}, \"results\": []}";
+
+        @TempDir
+        Path directory;
+
+        private EdinetClient client(final String mode) {
+            return new EdinetClient(
+                    new AppConfig().restTemplate(2000, 2000),
+                    String.format("http://localhost:%s", server.getPort()),
+                    0,
+                    4,
+                    new EdinetListCache(false, "", 0),
+                    new EdinetArchive(mode, directory.resolve("archive").toString())
+            );
+        }
+
+        @DisplayName("list : 記録モードで取得した書類一覧を再生モードではEDINETにアクセスせずに取得する")
+        @Test
+        void list() {
+            server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json"));
+            var record = client("record");
+            var replay = client("replay");
+
+            record.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+            var actual = replay.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST));
+            var metadata = replay.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.DEFAULT));
+
+            assertEquals(1, server.getRequestCount());
+            assertEquals("1", actual.getMetadata().getResultset().getCount());
+            assertEquals("1", metadata.getMetadata().getResultset().getCount());
+        }
+
+        @DisplayName("acquisition : 記録モードでダウンロードした書類を再生モードではアーカイブからコピーする")
+        @Test
+        void acquisition() throws IOException {
+            server.enqueue(new MockResponse().setBody("zip"));
+            var record = client("record");
+            var replay = client("replay");
+            var parameter = new AcquisitionRequestParameter("docId", AcquisitionType.DEFAULT);
+
+            record.acquisition(directory.resolve("record").toFile(), parameter);
+            replay.acquisition(directory.resolve("replay").toFile(), parameter);
+
+            assertEquals(1, server.getRequestCount());
+            assertEquals("zip", Files.readString(directory.resolve("replay").resolve("docId.zip")));
+        }
+
+        @DisplayName("recordList : アーカイブに保存できなかったときは一時ファイルを残さない")
+        @Test
+        void recordFailure() throws IOException {
+            var archive = new EdinetArchive("record", directory.resolve("archive").toString());
+
+            archive.recordList(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST), directory.resolve("notExist"));
+            archive.recordDocument("docId", directory.resolve("notExist"));
+
+            try (var fileList = Files.walk(directory.resolve("archive"))) {
+                assertEquals(0, fileList.filter(Files::isRegularFile).count());
+            }
+        }
+
+        @DisplayName("list : 再生モードでアーカイブに存在しない書類一覧はエラーにする")
+        @Test
+        void notArchived() {
+            var replay = client("replay");
+
+            assertThrows(FundanalyzerRestClientException.class,
+                    () -> replay.list(new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.GET_LIST)));
+            assertEquals(0, server.getRequestCount());
+        }
+    }
+
     @Nested
     class acquisition {
 
@@ -294,4 +550,112 @@ class EdinetClientTest {
             System.out.println(actual.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class requestLimit {
+
+        private static final String JSON = "{\"metadata\": {\"resultset\": {\"count\": 1}}}";
+
+        private ExecutorService executor;
+
+        @BeforeEach
+        void setUp() {
+            executor = Executors.newFixedThreadPool(40);
+        }
+
+        @AfterEach
+        void tearDown() {
+            executor.shutdown();
+        }
+
+        @DisplayName("list : 同時に実行するリクエスト数の上限の範囲内で並列に取得する")
+        @Test
+        void list_throughput() {
+            var current = new AtomicInteger();
+            var max = new AtomicInteger();
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                    max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    TimeUnit.MILLISECONDS.sleep(100);
+                    current.decrementAndGet();
+                    return new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json");
+                }
+            });
+            var client = new EdinetClient(
+                    new AppConfig().edinetRestTemplate(2000, 2000, true, 8, 60000),
+                    String.format("http://localhost:%s", server.getPort()),
+                    0,
+                    8,
+                    new EdinetListCache(false, "", 0),
+                    new EdinetArchive("live", "")
+            );
+            var parameter = new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.DEFAULT);
+
+            var startTime = System.currentTimeMillis();
+            var futureList = IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> client.list(parameter), executor))
+                    .collect(Collectors.toList());
+            var actual = futureList.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            var elapsed = System.currentTimeMillis() - startTime;
+
+            assertEquals(40, actual.size());
+            assertEquals(40, server.getRequestCount());
+            assertTrue(max.get() <= 8, "max in flight: " + max.get());
+            // 直列に実行すると4秒かかる
+            assertTrue(elapsed < 2000, "elapsed: " + elapsed);
+        }
+
+        @DisplayName("list : 1秒あたりのリクエスト数の上限を超えないように待機する")
+        @Test
+        void list_rateLimit() {
+            IntStream.range(0, 10).forEach(i ->
+                    server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json")));
+            var client = new EdinetClient(
+                    new AppConfig().restTemplate(2000, 2000),
+                    String.format("http://localhost:%s", server.getPort()),
+                    20,
+                    8,
+                    new EdinetListCache(false, "", 0),
+                    new EdinetArchive("live", "")
+            );
+            var parameter = new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.DEFAULT);
+
+            var startTime = System.currentTimeMillis();
+            IntStream.range(0, 10).mapToObj(i -> CompletableFuture.supplyAsync(() -> client.list(parameter), executor))
+                    .collect(Collectors.toList())
+                    .forEach(CompletableFuture::join);
+            var elapsed = System.currentTimeMillis() - startTime;
+
+            // 50ミリ秒間隔で10件のリクエストを開始する
+            assertTrue(elapsed >= 400, "elapsed: " + elapsed);
+        }
+
+        @DisplayName("list : コネクションを使い回してリクエストする")
+        @Test
+        void list_keepAlive() throws InterruptedException {
+            IntStream.range(0, 3).forEach(i ->
+                    server.enqueue(new MockResponse().setBody(JSON).setHeader("Content-Type", "application/json")));
+            var client = new EdinetClient(
+                    new AppConfig().edinetRestTemplate(2000, 2000, true, 1, 60000),
+                    String.format("http://localhost:%s", server.getPort()),
+                    0,
+                    1,
+                    new EdinetListCache(false, "", 0),
+                    new EdinetArchive("live", "")
+            );
+            var parameter = new ListRequestParameter(LocalDate.parse("2019-04-01"), ListType.DEFAULT);
+
+            for (int i = 0; i < 3; i++) {
+                client.list(parameter);
+            }
+
+            var sequenceNumberList = List.of(
+                    server.takeRequest().getSequenceNumber(),
+                    server.takeRequest().getSequenceNumber(),
+                    server.takeRequest().getSequenceNumber()
+            );
+            assertEquals(List.of(0, 1, 2), sequenceNumberList);
+        }
+    }
+}
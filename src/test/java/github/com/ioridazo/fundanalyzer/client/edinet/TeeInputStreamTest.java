@@ -0,0 +1,45 @@
+package github.com.ioridazo.fundanalyzer.client.edinet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TeeInputStreamTest {
+
+    private static final byte[] BODY = "{\"metadata\": {\"status\": \"200\"}}".getBytes(StandardCharsets.UTF_8);
+
+    @DisplayName("read : 読み取った内容を出力先にも書き出す")
+    @Test
+    void read() throws IOException {
+        var branch = new ByteArrayOutputStream();
+
+        try (var tee = new TeeInputStream(new ByteArrayInputStream(BODY), branch)) {
+            assertEquals('{', tee.read());
+            assertEquals(4, tee.read(new byte[4], 0, 4));
+            tee.transferTo(OutputStream.nullOutputStream());
+        }
+
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), branch.toString(StandardCharsets.UTF_8));
+    }
+
+    @DisplayName("skip : 読み飛ばした内容も出力先に書き出す")
+    @Test
+    void skip() throws IOException {
+        var branch = new ByteArrayOutputStream();
+
+        try (var tee = new TeeInputStream(new ByteArrayInputStream(BODY), branch)) {
+            assertEquals(BODY.length, tee.skip(BODY.length + 10));
+            assertFalse(tee.markSupported());
+        }
+
+        assertEquals(new String(BODY, StandardCharsets.UTF_8), branch.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,140 @@
+package github.com.ioridazo.fundanalyzer.client.file;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileOperatorTest {
+
+    private static final Map<String, String> ENTRY_MAP = Map.of(
+            "XBRL/PublicDoc/0101010_honbun_jpcrp030000-asr-001_ixbrl.htm", "honbun",
+            "XBRL/PublicDoc/0000000_header_jpcrp030000-asr-001_ixbrl.htm", "header",
+            "XBRL/PublicDoc/jpcrp030000-asr-001.xbrl", "instance",
+            "XBRL/PublicDoc/images/image.png", "image",
+            "XBRL/AuditDoc/jpaud-aar-cn-001.xbrl", "audit"
+    );
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService decodeExecutor;
+
+    private FileOperator fileOperator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        decodeExecutor = Executors.newFixedThreadPool(2);
+        fileOperator = new FileOperator(meterRegistry, decodeExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        decodeExecutor.shutdown();
+    }
+
+    @Nested
+    class decodeZipFile {
+
+        @DisplayName("decodeZipFile : zipファイルをすべて解凍する")
+        @Test
+        void decodeZipFile_all(@TempDir final Path tempDir) throws IOException {
+            final File input = createZipFile(tempDir, ENTRY_MAP);
+            final Path output = tempDir.resolve("decode");
+
+            fileOperator.decodeZipFile(input, output.toFile());
+
+            assertEquals(ENTRY_MAP.keySet(), readFiles(output).keySet());
+            ENTRY_MAP.forEach((name, content) -> assertEquals(content, readFiles(output).get(name)));
+        }
+
+        @DisplayName("decodeZipFile : 対象のパターンに合致するファイルのみを解凍する")
+        @Test
+        void decodeZipFile_target(@TempDir final Path tempDir) throws IOException {
+            final File input = createZipFile(tempDir, ENTRY_MAP);
+            final Path output = tempDir.resolve("decode");
+
+            fileOperator.decodeZipFile(input, output.toFile(), List.of("PublicDoc/*honbun*", "PublicDoc/*.xbrl"));
+
+            assertEquals(Map.of(
+                    "XBRL/PublicDoc/0101010_honbun_jpcrp030000-asr-001_ixbrl.htm", "honbun",
+                    "XBRL/PublicDoc/jpcrp030000-asr-001.xbrl", "instance"
+            ), readFiles(output));
+        }
+
+        @DisplayName("decodeZipFile : 書き込みバイト数と対象外ファイル数を記録する")
+        @Test
+        void decodeZipFile_metrics(@TempDir final Path tempDir) throws IOException {
+            final File input = createZipFile(tempDir, ENTRY_MAP);
+
+            fileOperator.decodeZipFile(input, tempDir.resolve("decode").toFile(), List.of("*.xbrl"));
+
+            assertEquals(
+                    "instance".length() + "audit".length(),
+                    meterRegistry.summary("fundanalyzer.file.decode.bytes.written").totalAmount()
+            );
+            assertEquals(3, meterRegistry.summary("fundanalyzer.file.decode.entries.skipped").totalAmount());
+        }
+
+        @DisplayName("decodeZipFile : 解凍先のフォルダ外に展開されるファイルが含まれるときはエラーにする")
+        @Test
+        void decodeZipFile_IOException(@TempDir final Path tempDir) throws IOException {
+            final File input = createZipFile(tempDir, Map.of("../outside.htm", "outside"));
+
+            assertThrows(IOException.class, () -> fileOperator.decodeZipFile(input, tempDir.resolve("decode").toFile()));
+            assertFalse(Files.exists(tempDir.resolve("outside.htm")));
+        }
+    }
+
+    private static File createZipFile(final Path directory, final Map<String, String> entryMap) throws IOException {
+        final Path zip = directory.resolve("document.zip");
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zip), Charset.forName("MS932"))) {
+            for (final Map.Entry<String, String> entry : entryMap.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+        return directory.resolve("document").toFile();
+    }
+
+    private static Map<String, String> readFiles(final Path directory) {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toMap(
+                            file -> directory.relativize(file).toString().replace(File.separatorChar, '/'),
+                            file -> {
+                                try {
+                                    return Files.readString(file);
+                                } catch (IOException e) {
+                                    throw new AssertionError(e);
+                                }
+                            }
+                    ));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
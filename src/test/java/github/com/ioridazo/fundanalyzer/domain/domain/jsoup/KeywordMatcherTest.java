@@ -0,0 +1,71 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeywordMatcherTest {
+
+    @Nested
+    class match {
+
+        @DisplayName("match : 文字列に含まれるキーワードをすべて判定する")
+        @Test
+        void match_ok() {
+            var matcher = KeywordMatcher.of(List.of("he", "she", "his", "hers"));
+
+            assertEquals(0b1011L, matcher.match("ushers"));
+            assertEquals(0b0100L, matcher.match("this"));
+            assertEquals(0L, matcher.match("abc"));
+            assertEquals(0L, matcher.match(""));
+        }
+
+        @DisplayName("match : 重なり合うキーワードを判定する")
+        @Test
+        void match_overlap() {
+            var matcher = KeywordMatcher.of(List.of("計", "会計", "合計", "四半期会計期間"));
+
+            assertEquals(matcher.bitsOf(List.of("計", "会計")), matcher.match("会計期間"));
+            assertEquals(matcher.bitsOf(List.of("計", "会計", "四半期会計期間")), matcher.match("第3四半期会計期間末"));
+            assertEquals(matcher.bitsOf(List.of("計", "合計")), matcher.match("合計"));
+        }
+
+        @DisplayName("match : 文字列ごとに判定したときと同じ結果になる")
+        @Test
+        void match_same_as_contains() {
+            var keywordList = List.of("ab", "b", "bab", "abc", "ca", "aaa");
+            var matcher = KeywordMatcher.of(keywordList);
+            var random = new Random(0);
+
+            for (int i = 0; i < 1000; i++) {
+                var sb = new StringBuilder();
+                for (int j = random.nextInt(10); j > 0; j--) {
+                    sb.append("abc".charAt(random.nextInt(3)));
+                }
+                var text = sb.toString();
+
+                long expected = 0;
+                for (int k = 0; k < keywordList.size(); k++) {
+                    if (text.contains(keywordList.get(k))) {
+                        expected |= 1L << k;
+                    }
+                }
+                assertEquals(expected, matcher.match(text), text);
+            }
+        }
+
+        @DisplayName("bitOf : 登録されていないキーワードはエラーにする")
+        @Test
+        void bitOf_IllegalArgumentException() {
+            var matcher = KeywordMatcher.of(List.of("計"));
+
+            assertThrows(IllegalArgumentException.class, () -> matcher.bitOf("会計"));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NumericCellParserTest {
+
+    private NumericCellParser numericCellParser;
+
+    @BeforeEach
+    void setUp() {
+        numericCellParser = new NumericCellParser();
+    }
+
+    @Nested
+    class parse {
+
+        @DisplayName("parse : 表の数値を解析する")
+        @Test
+        void parse_ok() {
+            assertEquals(Optional.of(1234567L), numericCellParser.parse("1,234,567"));
+            assertEquals(Optional.of(-1234L), numericCellParser.parse("△1,234"));
+            assertEquals(Optional.of(1000L), numericCellParser.parse("※1 1,000"));
+            assertEquals(Optional.of(2000L), numericCellParser.parse("※２2,000"));
+            assertEquals(Optional.of(3000L), numericCellParser.parse("注3 3,000"));
+            assertEquals(Optional.of(4000L), numericCellParser.parse("*1 4,000"));
+            assertEquals(Optional.of(123456L), numericCellParser.parse("123,456株"));
+            assertEquals(Optional.of(0L), numericCellParser.parse("－"));
+            assertEquals(Optional.of(0L), numericCellParser.parse("―"));
+            assertEquals(Optional.of(12L), numericCellParser.parse("１２"));
+        }
+
+        @DisplayName("parse : 数値として認識できないときは空を返却する")
+        @Test
+        void parse_empty() {
+            assertEquals(Optional.empty(), numericCellParser.parse(""));
+            assertEquals(Optional.empty(), numericCellParser.parse(" "));
+            assertEquals(Optional.empty(), numericCellParser.parse("abc"));
+            assertEquals(Optional.empty(), numericCellParser.parse("9,223,372,036,854,775,808"));
+        }
+
+        @DisplayName("parse : 置換による解析と同じ結果を返却する")
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "0", "-", "--", "1-2", "△", "△-", "△△1", "1△", "△ 1", "※1△100", " 1 ", " 1,000 ",
+                "※ 1", "※10", "※101,000", "※※11", "※※1105", "※0", "※", "注6 1", "注 1", "*3", "*11",
+                "株", "1株", "△1株", "1\t", "+1", "9223372036854775807", "△9,223,372,036,854,775,808",
+                "△9,223,372,036,854,775,809", "٣", "１０００", "注※11", "*※11"
+        })
+        void parse_same_as_replacing(final String value) {
+            assertEquals(numericCellParser.parseByReplacing(value), numericCellParser.parse(value));
+        }
+
+        @DisplayName("parse : 任意の文字列で置換による解析と同じ結果を返却する")
+        @Test
+        void parse_same_as_replacing_random() {
+            final char[] alphabet = "0123456789０１２３４５６７８９,△－―-\u00a0 ※注*株+.a".toCharArray();
+            final Random random = new Random(0);
+            for (int i = 0; i < 2000; i++) {
+                final char[] chars = new char[1 + random.nextInt(8)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = alphabet[random.nextInt(alphabet.length)];
+                }
+                final String value = new String(chars);
+                if (value.isBlank()) {
+                    continue;
+                }
+
+                assertEquals(numericCellParser.parseByReplacing(value), numericCellParser.parse(value), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ParsedDocumentCacheTest {
+
+    @DisplayName("parse : 同一ファイルは一度だけ解析してキャッシュから返却する")
+    @Test
+    void parse_same_file() throws IOException {
+        var cache = new ParsedDocumentCache(2);
+        var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main.html");
+
+        var first = cache.parse(file);
+        var second = cache.parse(file);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @DisplayName("parse : ファイルが更新されたときは再度解析する")
+    @Test
+    void parse_modified_file(@TempDir Path tempDir) throws IOException {
+        var cache = new ParsedDocumentCache(2);
+        var file = tempDir.resolve("000000_honbun.htm").toFile();
+        Files.writeString(file.toPath(), "<html><body>before</body></html>", StandardCharsets.UTF_8);
+        //noinspection ResultOfMethodCallIgnored
+        file.setLastModified(1_000L);
+
+        var first = cache.parse(file.toPath());
+
+        Files.writeString(file.toPath(), "<html><body>after</body></html>", StandardCharsets.UTF_8);
+        //noinspection ResultOfMethodCallIgnored
+        file.setLastModified(2_000L);
+
+        var second = cache.parse(file.toPath());
+
+        assertNotSame(first, second);
+        assertEquals("after", second.body().text());
+    }
+
+    @DisplayName("parse : 保持件数の上限を超えたときは最も使われていないものから破棄する")
+    @Test
+    void parse_over_max_size(@TempDir Path tempDir) throws IOException {
+        var cache = new ParsedDocumentCache(2);
+        var file1 = tempDir.resolve("1.htm").toFile();
+        var file2 = tempDir.resolve("2.htm").toFile();
+        var file3 = tempDir.resolve("3.htm").toFile();
+        for (File file : new File[]{file1, file2, file3}) {
+            Files.writeString(file.toPath(), "<html></html>", StandardCharsets.UTF_8);
+        }
+
+        var first = cache.parse(file1.toPath());
+        cache.parse(file2.toPath());
+        cache.parse(file3.toPath());
+
+        assertEquals(2, cache.size());
+        assertNotSame(first, cache.parse(file1.toPath()));
+    }
+}
@@ -0,0 +1,87 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShareTableLocatorTest {
+
+    private final ShareTableLocator locator =
+            ShareTableLocator.of(List.of(ShareTableLocator.FISCAL_YEAR_END, ShareTableLocator.QUARTER_END));
+
+    @Nested
+    class locate {
+
+        @DisplayName("locate : 有価証券報告書の株式総数の位置を特定する")
+        @Test
+        void locate_fiscalYearEnd() {
+            var rowList = List.of(
+                    List.of("種類", "事業年度末現在発行数(株)(2020年3月31日)", "提出日現在発行数(株)"),
+                    List.of("普通株式", "15,560,000", "15,560,000"),
+                    List.of("計", "15,560,000", "15,560,000")
+            );
+
+            var actual = locator.locate(rowList).orElseThrow();
+
+            assertEquals(2, actual.getRowIndex());
+            assertEquals(1, actual.getColumnIndex());
+        }
+
+        @DisplayName("locate : 四半期報告書の株式総数の位置を特定する")
+        @Test
+        void locate_quarterEnd() {
+            var rowList = List.of(
+                    List.of("種類", "第3四半期会計期間末現在発行数(株)", "提出日現在発行数(株)"),
+                    List.of("普通株式", "1,000", "1,000"),
+                    List.of("計", "1,000", "1,000")
+            );
+
+            var actual = locator.locate(rowList).orElseThrow();
+
+            assertEquals(2, actual.getRowIndex());
+            assertEquals(1, actual.getColumnIndex());
+        }
+
+        @DisplayName("locate : \"会計\"のみを含む行は\"計\"の行としない")
+        @Test
+        void locate_accounting() {
+            var rowList = List.of(
+                    List.of("会計期間", "事業年度末現在発行数(株)"),
+                    List.of("普通株式", "1,000"),
+                    List.of("合計", "1,000")
+            );
+
+            var actual = locator.locate(rowList).orElseThrow();
+
+            assertEquals(2, actual.getRowIndex());
+            assertEquals(1, actual.getColumnIndex());
+        }
+
+        @DisplayName("locate : \"計\"の行の項目がそれより前の行にあるときはその行を対象とする")
+        @Test
+        void locate_sameTotalKeyInPreviousRow() {
+            var rowList = List.of(
+                    List.of("会計", "事業年度末現在発行数(株)"),
+                    List.of("普通株式", "1,000"),
+                    List.of("会計", "計")
+            );
+
+            var actual = locator.locate(rowList).orElseThrow();
+
+            assertEquals(0, actual.getRowIndex());
+            assertEquals(1, actual.getColumnIndex());
+        }
+
+        @DisplayName("locate : 項目が存在しないときは空を返却する")
+        @Test
+        void locate_empty() {
+            assertTrue(locator.locate(List.of(List.of("種類", "発行数"), List.of("計", "1,000"))).isEmpty());
+            assertTrue(locator.locate(List.of(List.of("種類", "事業年度末現在発行数"), List.of("普通株式", "1,000"))).isEmpty());
+        }
+    }
+}
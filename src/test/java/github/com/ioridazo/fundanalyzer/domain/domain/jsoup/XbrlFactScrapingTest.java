@@ -0,0 +1,161 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.jsoup;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.XbrlElement;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.XbrlFactResultBean;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerFileException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XbrlFactScrapingTest {
+
+    private static final String PATH = "src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/xbrl-fact";
+
+    private XbrlFactScraping xbrlFactScraping;
+
+    @BeforeEach
+    void setUp() {
+        xbrlFactScraping = new XbrlFactScraping();
+    }
+
+    @Nested
+    class findInstanceFile {
+
+        @DisplayName("findInstanceFile : 対象のフォルダ配下にあるXBRLインスタンスを返却する")
+        @Test
+        void findInstanceFile_ok() {
+            var filePath = Path.of(PATH + "/non-consolidated");
+
+            var actual = xbrlFactScraping.findInstanceFile(filePath);
+
+            assertEquals(
+                    Path.of(PATH + "/non-consolidated/jpcrp030000-asr-001_E00001-000_2020-03-31_01_2020-06-26.xbrl"),
+                    actual.orElseThrow()
+            );
+        }
+
+        @DisplayName("findInstanceFile : XBRLインスタンスが存在しないときは空を返却する")
+        @Test
+        void findInstanceFile_empty() {
+            var filePath = Path.of(PATH + "/not-exist");
+
+            assertTrue(xbrlFactScraping.findInstanceFile(filePath).isEmpty());
+        }
+
+        @DisplayName("findInstanceFile : XBRLインスタンスが複数存在するときはエラーにする")
+        @Test
+        void findInstanceFile_FundanalyzerFileException() {
+            var filePath = Path.of(PATH + "/multiple");
+
+            assertThrows(FundanalyzerFileException.class, () -> xbrlFactScraping.findInstanceFile(filePath));
+        }
+    }
+
+    @Nested
+    class scrapeFinancialStatement {
+
+        @DisplayName("scrapeFinancialStatement : 連結財務諸表の値を取得する")
+        @Test
+        void scrapeFinancialStatement_consolidated() {
+            var file = Path.of(PATH + "/consolidated/jpcrp030000-asr-001_E00000-000_2020-03-31_01_2020-06-26.xbrl");
+
+            var actual = xbrlFactScraping.scrapeFinancialStatement(
+                    file, XbrlElement.elementSetOf(FinancialStatementEnum.BALANCE_SHEET), "CurrentYearInstant");
+
+            assertEquals(List.of(
+                    XbrlFactResultBean.of("jppfs_cor:CurrentAssets", "CurrentYearInstant", "476095000000"),
+                    XbrlFactResultBean.of("jppfs_cor:CurrentLiabilities", "CurrentYearInstant", "1283815000000"),
+                    XbrlFactResultBean.of("jppfs_cor:NoncurrentLiabilities", "CurrentYearInstant", null)
+            ), actual);
+        }
+
+        @DisplayName("scrapeFinancialStatement : 連結財務諸表の値が存在しないときは個別財務諸表の値を取得する")
+        @Test
+        void scrapeFinancialStatement_non_consolidated() {
+            var file = Path.of(PATH + "/non-consolidated/jpcrp030000-asr-001_E00001-000_2020-03-31_01_2020-06-26.xbrl");
+
+            var actual = xbrlFactScraping.scrapeFinancialStatement(
+                    file, XbrlElement.elementSetOf(FinancialStatementEnum.BALANCE_SHEET), "CurrentYearInstant");
+
+            assertEquals(List.of(
+                    XbrlFactResultBean.of("jppfs_cor:CurrentAssets", "CurrentYearInstant_NonConsolidatedMember", "116109000")
+            ), actual);
+        }
+
+        @DisplayName("scrapeFinancialStatement : 損益計算書の値を取得する")
+        @Test
+        void scrapeFinancialStatement_pl() {
+            var file = Path.of(PATH + "/consolidated/jpcrp030000-asr-001_E00000-000_2020-03-31_01_2020-06-26.xbrl");
+
+            var actual = xbrlFactScraping.scrapeFinancialStatement(
+                    file, XbrlElement.elementSetOf(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT), "CurrentYearDuration");
+
+            assertEquals(List.of(
+                    XbrlFactResultBean.of("jppfs_cor:OperatingIncome", "CurrentYearDuration", "-15000000")
+            ), actual);
+        }
+
+        @DisplayName("scrapeFinancialStatement : 名前空間接頭辞に関わらず名前空間URIとローカル名で要素を照合する")
+        @Test
+        void scrapeFinancialStatement_prefix() {
+            var file = Path.of(PATH + "/prefix/jpcrp030000-asr-001_E00002-000_2020-03-31_01_2020-06-26.xbrl");
+
+            var actual = xbrlFactScraping.scrapeFinancialStatement(
+                    file, XbrlElement.elementSetOf(FinancialStatementEnum.BALANCE_SHEET), "CurrentYearInstant");
+
+            assertEquals(List.of(
+                    XbrlFactResultBean.of("jppfs_cor:CurrentAssets", "CurrentYearInstant", "476095000000"),
+                    XbrlFactResultBean.of("jppfs_cor:CurrentLiabilities", "CurrentYearInstant", null)
+            ), actual);
+        }
+
+        @DisplayName("scrapeFinancialStatement : IFRSの企業など対象の要素が存在しないときは空を返却する")
+        @Test
+        void scrapeFinancialStatement_empty() {
+            var file = Path.of(PATH + "/consolidated/jpcrp030000-asr-001_E00000-000_2020-03-31_01_2020-06-26.xbrl");
+
+            var actual = xbrlFactScraping.scrapeFinancialStatement(
+                    file, Set.of("jpigp_cor:CurrentAssetsIFRS"), "CurrentYearInstant");
+
+            assertTrue(actual.isEmpty());
+        }
+
+        @DisplayName("scrapeFinancialStatement : XBRLインスタンスを読み取れないときはエラーにする")
+        @Test
+        void scrapeFinancialStatement_FundanalyzerFileException() {
+            var file = Path.of(PATH + "/non-consolidated/0101010_honbun_jpcrp030000-asr-001_E00001-000_2020-03-31_01_2020-06-26_ixbrl.htm");
+
+            assertThrows(FundanalyzerFileException.class, () -> xbrlFactScraping.scrapeFinancialStatement(
+                    file, XbrlElement.elementSetOf(FinancialStatementEnum.BALANCE_SHEET), "CurrentYearInstant"));
+        }
+    }
+
+    @Nested
+    class elementName {
+
+        @DisplayName("elementName : EDINETタクソノミの要素名をスキーマ名とローカル名から生成する")
+        @Test
+        void elementName_edinet() {
+            assertEquals("jppfs_cor:CurrentAssets", XbrlFactScraping.elementName(
+                    "http://disclosure.edinet-fsa.go.jp/taxonomy/jppfs/2019-11-01/jppfs_cor", "CurrentAssets"));
+        }
+
+        @DisplayName("elementName : EDINETタクソノミ以外の要素はnullを返却する")
+        @Test
+        void elementName_other() {
+            assertNull(XbrlFactScraping.elementName("http://www.xbrl.org/2003/instance", "context"));
+            assertNull(XbrlFactScraping.elementName(null, "context"));
+        }
+    }
+}
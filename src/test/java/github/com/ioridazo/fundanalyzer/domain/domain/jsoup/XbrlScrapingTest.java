@@ -8,14 +8,26 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
-import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class XbrlScrapingTest {
 
@@ -23,7 +35,7 @@ class XbrlScrapingTest {
 
     @BeforeEach
     void setUp() {
-        xbrlScraping = Mockito.spy(XbrlScraping.class);
+        xbrlScraping = Mockito.spy(new XbrlScraping(true));
     }
 
     @Nested
@@ -39,14 +51,14 @@ class XbrlScrapingTest {
                     "貸借対照表",
                     null
             );
-            var filePath = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc");
+            var filePath = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc");
 
-            var expected = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc/000000_honbun.htm");
+            var expected = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc/000000_honbun.htm");
 
             var actual = xbrlScraping.findFile(filePath, scrapingKeyword);
 
             //noinspection OptionalGetWithoutIsPresent
-            assertEquals(expected.getPath(), actual.get().getPath());
+            assertEquals(expected, actual.get());
         }
 
         @DisplayName("findFile : 対象のフォルダ配下にあるファイルからキーワードに合致するものがないときはnullを返却する")
@@ -59,7 +71,7 @@ class XbrlScrapingTest {
                     "貸借対照表",
                     null
             );
-            var filePath = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/target_file_has_not_keyword/EXAMPLE/XBRL/PublicDoc");
+            var filePath = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/target_file_has_not_keyword/EXAMPLE/XBRL/PublicDoc");
 
             var actual = xbrlScraping.findFile(filePath, scrapingKeyword);
 
@@ -76,19 +88,43 @@ class XbrlScrapingTest {
                     "貸借対照表",
                     null
             );
-            var filePath = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/fundanalyzer_file_exception/EXAMPLE/XBRL/PublicDoc");
+            var filePath = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/fundanalyzer_file_exception/EXAMPLE/XBRL/PublicDoc");
 
             assertThrows(FundanalyzerFileException.class, () -> xbrlScraping.findFile(filePath, scrapingKeyword));
         }
     }
 
+    @Nested
+    class index {
+
+        @DisplayName("index : 索引をフォルダ内に保存し、保存した索引からファイルを見つける")
+        @Test
+        void index_ok(@TempDir Path tempDir) throws IOException {
+            var source = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc");
+            try (var files = Files.list(source)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.copy(file, tempDir.resolve(file.getFileName()));
+                }
+            }
+            var scrapingKeyword = new ScrapingKeywordEntity(null, null, "jpcrp_cor:BalanceSheetTextBlock", "貸借対照表", null);
+
+            xbrlScraping.index(tempDir);
+
+            assertTrue(tempDir.resolve("fundanalyzer-name-index.properties").toFile().isFile());
+
+            var actual = new XbrlScraping(true).findFile(tempDir, scrapingKeyword);
+
+            assertEquals(tempDir.resolve("000000_honbun.htm"), actual.orElseThrow());
+        }
+    }
+
     @Nested
     class scrapeFinancialStatement {
 
         @DisplayName("scrapeFinancialStatement : ファイルからキーワードに合致する財務諸表テーブルの科目とその値をスクレイピングする")
         @Test
         void scrapeFinancialStatement_ok_main() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = xbrlScraping.scrapeFinancialStatement(file, keyword);
@@ -125,7 +161,7 @@ class XbrlScrapingTest {
         @DisplayName("scrapeFinancialStatement : ファイルからキーワードに合致する財務諸表テーブルの科目とその値をスクレイピングする（年度の順序が逆の想定）")
         @Test
         void scrapeFinancialStatement_ok_no_main() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_no_main.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_no_main.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = xbrlScraping.scrapeFinancialStatement(file, keyword);
@@ -162,7 +198,7 @@ class XbrlScrapingTest {
         @DisplayName("scrapeFinancialStatement : ファイルからキーワードに合致する財務諸表テーブルの科目とその値をスクレイピングする")
         @Test
         void scrapeFinancialStatement_ok_IndexOutOfBoundsException() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main2.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main2.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = xbrlScraping.scrapeFinancialStatement(file, keyword);
@@ -199,7 +235,7 @@ class XbrlScrapingTest {
         @DisplayName("unit : ファイルから財務諸表の金額単位（千円）をスクレイピングする")
         @Test
         void unit_thousands_ok() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_thousands.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_thousands.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = xbrlScraping.unit(file, keyword);
@@ -210,7 +246,7 @@ class XbrlScrapingTest {
         @DisplayName("unit : ファイルから財務諸表の金額単位（百万円）をスクレイピングする")
         @Test
         void unit_millions_ok() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_millions.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_millions.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = xbrlScraping.unit(file, keyword);
@@ -221,7 +257,7 @@ class XbrlScrapingTest {
         @DisplayName("unit : ファイルから財務諸表の金額単位をスクレイピングに失敗したときの挙動を確認する")
         @Test
         void unit_millions_FundanalyzerFileException() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_failure.html");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_unit_failure.html");
             var keyword = "jpcrp_cor:BalanceSheetTextBlock";
 
             var actual = assertThrows(FundanalyzerFileException.class, () -> xbrlScraping.unit(file, keyword));
@@ -236,7 +272,7 @@ class XbrlScrapingTest {
         @DisplayName("scrapeNumberOfShares : ファイルから株式総数を取得し、その値をスクレイピングする")
         @Test
         void scrapeNumberOfShares_ok() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-number-of-shares/jsoup_ok.htm");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-number-of-shares/jsoup_ok.htm");
             var keyword = "jpcrp_cor:IssuedSharesTotalNumberOfSharesEtcTextBlock";
 
             var actual = xbrlScraping.scrapeNumberOfShares(file, keyword);
@@ -247,7 +283,7 @@ class XbrlScrapingTest {
         @DisplayName("scrapeNumberOfShares : ファイルから株式総数を取得するためのテーブルが存在しなかったときの挙動を確認する")
         @Test
         void scrapeNumberOfShares_FundanalyzerFileException_table() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-number-of-shares/jsoup_failure_table.htm");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-number-of-shares/jsoup_failure_table.htm");
             var keyword = "jpcrp_cor:IssuedSharesTotalNumberOfSharesEtcTextBlock";
 
             var actual = assertThrows(FundanalyzerFileException.class, () -> xbrlScraping.scrapeNumberOfShares(file, keyword));
@@ -258,7 +294,7 @@ class XbrlScrapingTest {
         @DisplayName("scrapeNumberOfShares : ファイルから株式総数を取得するためのキーワードが存在しなかったときの挙動を確認する")
         @Test
         void scrapeNumberOfShares_FundanalyzerFileException_keyword() {
-            var file = new File("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/logic/scraping/jsoup/scrape-number-of-shares/jsoup_failure_keyword.htm");
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/logic/scraping/jsoup/scrape-number-of-shares/jsoup_failure_keyword.htm");
             var keyword = "jpcrp_cor:IssuedSharesTotalNumberOfSharesEtcTextBlock";
 
             var actual = assertThrows(FundanalyzerFileException.class, () -> xbrlScraping.scrapeNumberOfShares(file, keyword));
@@ -266,4 +302,121 @@ class XbrlScrapingTest {
             System.out.println(actual.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class streaming {
+
+        @DisplayName("scrapeFinancialStatement : DOMを構築せずに読み取ったときとDOMを構築したときで同じ結果になることを確認する")
+        @ParameterizedTest
+        @ValueSource(strings = {"jsoup_main.html", "jsoup_main2.html", "jsoup_no_main.html", "jsoup_unit_millions.html", "jsoup_unit_thousands.html"})
+        void scrapeFinancialStatement_same_as_dom(String fileName) {
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/" + fileName);
+            var keyword = "jpcrp_cor:BalanceSheetTextBlock";
+
+            var actual = xbrlScraping.scrapeFinancialStatement(file, keyword);
+            var expected = new XbrlScraping(false).scrapeFinancialStatement(file, keyword);
+
+            assertFalse(actual.isEmpty());
+            assertEquals(expected, actual);
+        }
+
+        @DisplayName("scrapeNumberOfShares : DOMを構築せずに読み取ったときとDOMを構築したときで同じ結果になることを確認する")
+        @Test
+        void scrapeNumberOfShares_same_as_dom() {
+            var file = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-number-of-shares/jsoup_ok.htm");
+            var keyword = "jpcrp_cor:IssuedSharesTotalNumberOfSharesEtcTextBlock";
+
+            var actual = xbrlScraping.scrapeNumberOfShares(file, keyword);
+            var expected = new XbrlScraping(false).scrapeNumberOfShares(file, keyword);
+
+            assertEquals(expected, actual);
+        }
+
+        @DisplayName("findFile : DOMを構築せずに作成した索引からファイルを見つけられることを確認する")
+        @Test
+        void findFile_same_as_dom() {
+            var filePath = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/find-file/ok/EXAMPLE/XBRL/PublicDoc");
+            var scrapingKeyword = new ScrapingKeywordEntity(null, null, "jpcrp_cor:BalanceSheetTextBlock", null, null);
+
+            var actual = xbrlScraping.findFile(filePath, scrapingKeyword);
+            var expected = new XbrlScraping(false).findFile(filePath, scrapingKeyword);
+
+            assertEquals(expected, actual);
+            assertTrue(actual.isPresent());
+        }
+    }
+
+    @Nested
+    class zipFile {
+
+        @DisplayName("scrapeFinancialStatement : zipファイルを解凍せずにスクレイピングする")
+        @Test
+        void scrapeFinancialStatement_ok(@TempDir Path tempDir) throws IOException {
+            var source = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main.html");
+            var zip = tempDir.resolve("EXAMPLE.zip");
+            try (var fileSystem = FileSystems.newFileSystem(URI.create("jar:" + zip.toUri()), Map.of("create", "true"))) {
+                Files.createDirectories(fileSystem.getPath("/XBRL/PublicDoc"));
+                Files.copy(source, fileSystem.getPath("/XBRL/PublicDoc/0101010_honbun.htm"));
+            }
+            var scrapingKeyword = new ScrapingKeywordEntity(null, null, "jpcrp_cor:BalanceSheetTextBlock", null, null);
+
+            try (var fileSystem = FileSystems.newFileSystem(zip, (ClassLoader) null)) {
+                xbrlScraping.index(fileSystem.getPath("/XBRL/PublicDoc"));
+                var file = xbrlScraping.findFile(fileSystem.getPath("/XBRL/PublicDoc"), scrapingKeyword).orElseThrow();
+                var actual = xbrlScraping.scrapeFinancialStatement(file, scrapingKeyword.getKeyword());
+
+                assertEquals("0101010_honbun.htm", file.getFileName().toString());
+                assertEquals(xbrlScraping.scrapeFinancialStatement(source, scrapingKeyword.getKeyword()), actual);
+            }
+            // zipファイル内には保存せず、zipファイルと同じフォルダに保存する
+            try (var fileSystem = FileSystems.newFileSystem(zip, (ClassLoader) null)) {
+                assertFalse(Files.exists(fileSystem.getPath("/XBRL/PublicDoc/fundanalyzer-name-index.properties")));
+            }
+            assertTrue(Files.exists(tempDir.resolve("EXAMPLE.name-index.properties")));
+        }
+
+        @DisplayName("findFile : zipファイルと同じフォルダに保存された索引を読み込む")
+        @Test
+        void findFile_stored_index(@TempDir Path tempDir) throws IOException {
+            var zip = createZipFile(tempDir);
+            var indexFile = tempDir.resolve("EXAMPLE.name-index.properties");
+            Files.writeString(indexFile, "jpcrp_cor\\:BalanceSheetTextBlock=9999999_honbun.htm\n");
+            Files.setLastModifiedTime(indexFile, FileTime.fromMillis(Files.getLastModifiedTime(zip).toMillis() + 1000));
+            var scrapingKeyword = new ScrapingKeywordEntity(null, null, "jpcrp_cor:BalanceSheetTextBlock", null, null);
+
+            try (var fileSystem = FileSystems.newFileSystem(zip, (ClassLoader) null)) {
+                var actual = xbrlScraping.findFile(fileSystem.getPath("/XBRL/PublicDoc"), scrapingKeyword).orElseThrow();
+
+                assertEquals("9999999_honbun.htm", actual.getFileName().toString());
+            }
+        }
+
+        @DisplayName("findFile : zipファイルより古い索引は使用せずに作成し直す")
+        @Test
+        void findFile_stale_index(@TempDir Path tempDir) throws IOException {
+            var zip = createZipFile(tempDir);
+            var indexFile = tempDir.resolve("EXAMPLE.name-index.properties");
+            Files.writeString(indexFile, "jpcrp_cor\\:BalanceSheetTextBlock=9999999_honbun.htm\n");
+            Files.setLastModifiedTime(indexFile, FileTime.fromMillis(Files.getLastModifiedTime(zip).toMillis() - 1000));
+            var scrapingKeyword = new ScrapingKeywordEntity(null, null, "jpcrp_cor:BalanceSheetTextBlock", null, null);
+
+            try (var fileSystem = FileSystems.newFileSystem(zip, (ClassLoader) null)) {
+                xbrlScraping.index(fileSystem.getPath("/XBRL/PublicDoc"));
+                var actual = xbrlScraping.findFile(fileSystem.getPath("/XBRL/PublicDoc"), scrapingKeyword).orElseThrow();
+
+                assertEquals("0101010_honbun.htm", actual.getFileName().toString());
+            }
+            assertFalse(Files.readString(indexFile).contains("9999999_honbun.htm"));
+        }
+
+        private Path createZipFile(Path tempDir) throws IOException {
+            var source = Path.of("src/test/resources/github/com/ioridazo/fundanalyzer/domain/logic/scraping/jsoup/scrape-financial-statement/jsoup_main.html");
+            var zip = tempDir.resolve("EXAMPLE.zip");
+            try (var fileSystem = FileSystems.newFileSystem(URI.create("jar:" + zip.toUri()), Map.of("create", "true"))) {
+                Files.createDirectories(fileSystem.getPath("/XBRL/PublicDoc"));
+                Files.copy(source, fileSystem.getPath("/XBRL/PublicDoc/0101010_honbun.htm"));
+            }
+            return zip;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.specification;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.BackfillCheckpointDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.BackfillJobDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillCheckpointEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillJobEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.BackfillPhase;
+import github.com.ioridazo.fundanalyzer.domain.value.BackfillJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.seasar.doma.jdbc.Result;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackfillSpecificationTest {
+
+    private BackfillJobDao backfillJobDao;
+    private BackfillCheckpointDao backfillCheckpointDao;
+
+    private BackfillSpecification backfillSpecification;
+
+    private final LocalDate fromDate = LocalDate.parse("2021-05-01");
+    private final LocalDate toDate = LocalDate.parse("2021-05-31");
+
+    @BeforeEach
+    void setUp() {
+        backfillJobDao = Mockito.mock(BackfillJobDao.class);
+        backfillCheckpointDao = Mockito.mock(BackfillCheckpointDao.class);
+
+        backfillSpecification = new BackfillSpecification(backfillJobDao, backfillCheckpointDao);
+    }
+
+    @Nested
+    class start {
+
+        @DisplayName("start : 完了していないジョブが存在しないときは新しく登録する")
+        @Test
+        void insert() {
+            var entity = new BackfillJobEntity(1, fromDate, toDate, "0", null, null);
+            when(backfillJobDao.selectIncomplete(fromDate, toDate)).thenReturn(Optional.empty());
+            when(backfillJobDao.insert(any())).thenReturn(new Result<>(1, entity));
+
+            var actual = backfillSpecification.start(fromDate, toDate);
+
+            assertEquals(1, actual.getId());
+            assertTrue(actual.getCheckpointMap().isEmpty());
+        }
+
+        @DisplayName("start : 完了していないジョブが存在するときは処理段階を引き継いで再開する")
+        @Test
+        void resume() {
+            when(backfillJobDao.selectIncomplete(fromDate, toDate))
+                    .thenReturn(Optional.of(new BackfillJobEntity(2, fromDate, toDate, "0", null, null)));
+            when(backfillCheckpointDao.selectByJobId(2)).thenReturn(List.of(
+                    new BackfillCheckpointEntity(null, 2, fromDate, "3", null, null)
+            ));
+
+            var actual = backfillSpecification.start(fromDate, toDate);
+
+            assertEquals(2, actual.getId());
+            assertTrue(backfillSpecification.isDone(actual, fromDate, BackfillPhase.SCRAPED));
+            assertTrue(backfillSpecification.isDone(actual, fromDate, BackfillPhase.ANALYZED));
+            assertFalse(backfillSpecification.isDone(actual, fromDate, BackfillPhase.STOCK_IMPORTED));
+            assertFalse(backfillSpecification.isDone(actual, toDate, BackfillPhase.LIST_SAVED));
+            verify(backfillJobDao, times(0)).insert(any());
+        }
+    }
+
+    @Nested
+    class checkpoint {
+
+        @DisplayName("checkpoint : 処理段階を更新する")
+        @Test
+        void update() {
+            var job = BackfillJob.of(1, new ConcurrentHashMap<>());
+            when(backfillCheckpointDao.updatePhase(eq(1), eq(fromDate), eq("2"), any())).thenReturn(1);
+
+            backfillSpecification.checkpoint(job, fromDate, BackfillPhase.SCRAPED);
+
+            assertEquals(Optional.of(BackfillPhase.SCRAPED), job.getCheckpoint(fromDate));
+            verify(backfillCheckpointDao, times(0)).insert(any());
+        }
+
+        @DisplayName("checkpoint : 提出日の処理段階が存在しないときは登録する")
+        @Test
+        void insert() {
+            var job = BackfillJob.of(1, new ConcurrentHashMap<>());
+            when(backfillCheckpointDao.updatePhase(any(), any(), any(), any())).thenReturn(0);
+
+            backfillSpecification.checkpoint(job, fromDate, BackfillPhase.LIST_SAVED);
+
+            verify(backfillCheckpointDao, times(1)).insert(any());
+        }
+    }
+}
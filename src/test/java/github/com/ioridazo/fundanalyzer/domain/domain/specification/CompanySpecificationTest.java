@@ -1,22 +1,31 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.CompanyDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.CompanySyncDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.CompanyEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.CompanySyncEntity;
 import github.com.ioridazo.fundanalyzer.client.csv.bean.EdinetCsvResultBean;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,25 +33,163 @@ import static org.mockito.Mockito.when;
 class CompanySpecificationTest {
 
     private CompanyDao companyDao;
+    private CompanySyncDao companySyncDao;
+    private IndustrySpecification industrySpecification;
+    private SimpleMeterRegistry meterRegistry;
 
     private CompanySpecification companySpecification;
 
     @BeforeEach
     void setUp() {
         companyDao = Mockito.mock(CompanyDao.class);
+        companySyncDao = Mockito.mock(CompanySyncDao.class);
+        industrySpecification = Mockito.mock(IndustrySpecification.class);
+        meterRegistry = new SimpleMeterRegistry();
 
         companySpecification = Mockito.spy(new CompanySpecification(
                 companyDao,
-                Mockito.mock(IndustrySpecification.class)
+                companySyncDao,
+                industrySpecification,
+                meterRegistry,
+                2,
+                2
         ));
     }
 
-    @DisplayName("findLastUpdateDateTime : ")
-    @Test
-    void findLastUpdateDateTime() {
-        when(companyDao.selectAll()).thenReturn(List.of(defaultCompanyEntity()));
+    @Nested
+    class findCompanyByEdinetCode {
+
+        @DisplayName("findCompanyByEdinetCode : 取得した企業情報をキャッシュする")
+        @Test
+        void cached() {
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.of(defaultCompanyEntity()));
+
+            assertEquals("edinetCode", companySpecification.findCompanyByEdinetCode("edinetCode").orElseThrow().getEdinetCode());
+            assertEquals("edinetCode", companySpecification.findCompanyByEdinetCode("edinetCode").orElseThrow().getEdinetCode());
+
+            verify(companyDao, times(1)).selectByEdinetCode("edinetCode");
+            assertEquals(1.0, meterRegistry.get("fundanalyzer.company.cache")
+                    .tag("index", "edinet_code").tag("result", "hit").counter().count());
+            assertEquals(1.0, meterRegistry.get("fundanalyzer.company.cache")
+                    .tag("index", "edinet_code").tag("result", "miss").counter().count());
+        }
+
+        @DisplayName("findCompanyByEdinetCode : 企業情報が存在しないこともキャッシュする")
+        @Test
+        void cached_empty() {
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.empty());
+
+            assertTrue(companySpecification.findCompanyByEdinetCode("edinetCode").isEmpty());
+            assertTrue(companySpecification.findCompanyByEdinetCode("edinetCode").isEmpty());
+
+            verify(companyDao, times(1)).selectByEdinetCode("edinetCode");
+        }
+
+        @DisplayName("findCompanyByEdinetCode : 上限件数を超えたら最も長く参照されていない企業情報から破棄する")
+        @Test
+        void evicted() {
+            when(companyDao.selectByEdinetCode(any())).thenReturn(Optional.empty());
+
+            companySpecification.findCompanyByEdinetCode("edinetCode1");
+            companySpecification.findCompanyByEdinetCode("edinetCode2");
+            companySpecification.findCompanyByEdinetCode("edinetCode1");
+            companySpecification.findCompanyByEdinetCode("edinetCode3");
+            companySpecification.findCompanyByEdinetCode("edinetCode1");
+            companySpecification.findCompanyByEdinetCode("edinetCode2");
+
+            verify(companyDao, times(1)).selectByEdinetCode("edinetCode1");
+            verify(companyDao, times(2)).selectByEdinetCode("edinetCode2");
+            assertEquals(2.0, meterRegistry.get("fundanalyzer.company.cache.size").tag("index", "edinet_code").gauge().value());
+        }
+
+        @DisplayName("findCompanyByEdinetCode : 企業情報を登録したらキャッシュを破棄する")
+        @Test
+        void invalidated_insertIfNotExist() {
+            var results = new Results();
+            results.setEdinetCode("edinetCode");
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.empty());
+
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+            companySpecification.insertIfNotExist(results);
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+
+            verify(companyDao, times(3)).selectByEdinetCode("edinetCode");
+        }
+
+        @DisplayName("findCompanyByEdinetCode : 企業情報をまとめて登録したらキャッシュを破棄する")
+        @Test
+        void invalidated_insertIfNotExist_list() {
+            var results = new Results();
+            results.setEdinetCode("edinetCode");
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.empty());
+            when(companyDao.selectEdinetCodeByEdinetCodeList(List.of("edinetCode"))).thenReturn(List.of());
+
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+            companySpecification.insertIfNotExist(List.of(results));
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+
+            verify(companyDao, times(2)).selectByEdinetCode("edinetCode");
+        }
+
+        @DisplayName("findCompanyByEdinetCode : 企業情報を登録・更新したらキャッシュを破棄する")
+        @Test
+        void invalidated_upsert() {
+            var resultBean = new EdinetCsvResultBean();
+            resultBean.setEdinetCode("edinetCode");
+            resultBean.setSecuritiesCode("");
+            resultBean.setSettlementDate("");
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.of(defaultCompanyEntity()));
+            when(companyDao.selectByCode("code")).thenReturn(Optional.empty());
+            when(companyDao.selectAll()).thenReturn(List.of(defaultCompanyEntity()));
+
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+            companySpecification.findCompanyByCode("code");
+            companySpecification.upsert(List.of(resultBean));
+            companySpecification.findCompanyByEdinetCode("edinetCode");
+            companySpecification.findCompanyByCode("code");
+
+            verify(companyDao, times(2)).selectByEdinetCode("edinetCode");
+            verify(companyDao, times(2)).selectByCode("code");
+        }
+    }
+
+    @Nested
+    class findCompanyByCode {
+
+        @DisplayName("findCompanyByCode : 取得した企業情報をキャッシュする")
+        @Test
+        void cached() {
+            when(companyDao.selectByCode("code")).thenReturn(Optional.of(defaultCompanyEntity()));
+
+            companySpecification.findCompanyByCode("code");
+            companySpecification.findCompanyByCode("code");
+
+            verify(companyDao, times(1)).selectByCode("code");
+            assertEquals(1.0, meterRegistry.get("fundanalyzer.company.cache")
+                    .tag("index", "code").tag("result", "hit").counter().count());
+        }
+    }
+
+    @Nested
+    class findLastUpdateDateTime {
+
+        @DisplayName("findLastUpdateDateTime : 最後に企業情報を同期した日時を取得する")
+        @Test
+        void synced() {
+            when(companySyncDao.selectLatestSyncedAt()).thenReturn(Optional.of(LocalDateTime.of(2021, 6, 1, 9, 0)));
+
+            assertEquals("2021/06/01 09:00:00", companySpecification.findLastUpdateDateTime().orElseThrow());
+            verify(companyDao, times(0)).selectAll();
+        }
+
+        @DisplayName("findLastUpdateDateTime : 同期履歴が存在しないときは企業情報の最終更新日時を取得する")
+        @Test
+        void not_synced() {
+            when(companySyncDao.selectLatestSyncedAt()).thenReturn(Optional.empty());
+            when(companyDao.selectAll()).thenReturn(List.of(defaultCompanyEntity()));
 
-        assertEquals("2021/05/08 23:37:00", companySpecification.findLastUpdateDateTime().orElseThrow());
+            assertEquals("2021/05/08 23:37:00", companySpecification.findLastUpdateDateTime().orElseThrow());
+        }
     }
 
     @Nested
@@ -71,6 +218,56 @@ class CompanySpecificationTest {
             assertDoesNotThrow(() -> companySpecification.insertIfNotExist(results));
             verify(companyDao, times(1)).insert(any());
         }
+
+        @DisplayName("insertIfNotExist : 一意制約違反のときはinsertをスキップする")
+        @Test
+        void uniqueConstraint() {
+            var results = new Results();
+            results.setEdinetCode("edinetCode");
+
+            when(companyDao.selectByEdinetCode("edinetCode")).thenReturn(Optional.empty());
+            when(companyDao.insert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+
+            assertDoesNotThrow(() -> companySpecification.insertIfNotExist(results));
+        }
+
+        @DisplayName("insertIfNotExist : 登録済みのEDINETコードを除いてまとめて登録する")
+        @Test
+        void batchInsert() {
+            var results1 = new Results();
+            results1.setEdinetCode("E00001");
+            var results2 = new Results();
+            results2.setEdinetCode("E00002");
+            var results3 = new Results();
+            results3.setEdinetCode("E00001");
+
+            when(companyDao.selectEdinetCodeByEdinetCodeList(List.of("E00001", "E00002"))).thenReturn(List.of("E00002"));
+
+            assertDoesNotThrow(() -> companySpecification.insertIfNotExist(List.of(results1, results2, results3, new Results())));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<CompanyEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(companyDao, times(1)).batchInsert(captor.capture());
+            assertEquals(List.of("E00001"), captor.getValue().stream().map(CompanyEntity::getEdinetCode).collect(Collectors.toList()));
+            verify(companyDao, times(0)).selectByEdinetCode(any());
+        }
+
+        @DisplayName("insertIfNotExist : まとめて登録して一意制約違反のときは1件ずつ登録し直す")
+        @Test
+        void batchInsert_uniqueConstraint() {
+            var results = new Results();
+            results.setEdinetCode("E00001");
+
+            when(companyDao.selectEdinetCodeByEdinetCodeList(any())).thenReturn(List.of());
+            when(companyDao.batchInsert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+            when(companyDao.insert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+
+            assertDoesNotThrow(() -> companySpecification.insertIfNotExist(List.of(results)));
+            verify(companyDao, times(1)).insert(any());
+        }
     }
 
     @Nested
@@ -88,8 +285,8 @@ class CompanySpecificationTest {
             when(companyDao.selectAll()).thenReturn(List.of(defaultCompanyEntity()));
 
             assertDoesNotThrow(() -> companySpecification.upsert(resultBeanList));
-            verify(companyDao, times(1)).update(any());
-            verify(companyDao, times(0)).insert(any());
+            verify(companyDao, times(1)).batchUpdate(any());
+            verify(companyDao, times(0)).batchInsert(any());
         }
 
         @DisplayName("upsert : 企業情報がデータベースに存在しなかったらinsertする")
@@ -104,8 +301,83 @@ class CompanySpecificationTest {
             when(companyDao.selectAll()).thenReturn(List.of(defaultCompanyEntity()));
 
             assertDoesNotThrow(() -> companySpecification.upsert(resultBeanList));
-            verify(companyDao, times(0)).update(any());
-            verify(companyDao, times(1)).insert(any());
+            verify(companyDao, times(0)).batchUpdate(any());
+            verify(companyDao, times(1)).batchInsert(any());
+        }
+
+        @DisplayName("upsert : 企業情報に変更がなかったら登録も更新もしない")
+        @Test
+        void unchanged() {
+            var resultBean = resultBean("edinetCode");
+            when(industrySpecification.convertFromNameToId("業種")).thenReturn(1);
+            when(companyDao.selectAll()).thenReturn(List.of(new CompanyEntity(
+                    null, "name", 1, "edinetCode", "9", "9", 0, null, null, LocalDateTime.of(2021, 5, 8, 23, 37))));
+
+            assertDoesNotThrow(() -> companySpecification.upsert(List.of(resultBean)));
+            verify(companyDao, times(0)).batchUpdate(any());
+            verify(companyDao, times(0)).batchInsert(any());
+        }
+
+        @DisplayName("upsert : 企業情報に変更がなくても同期した日時を登録する")
+        @Test
+        void synced() {
+            var now = LocalDateTime.of(2021, 6, 1, 9, 0);
+            var resultBean = resultBean("edinetCode");
+            doReturn(now).when(companySpecification).nowLocalDateTime();
+            when(industrySpecification.convertFromNameToId("業種")).thenReturn(1);
+            when(companyDao.selectAll()).thenReturn(List.of(new CompanyEntity(
+                    null, "name", 1, "edinetCode", "9", "9", 0, null, null, LocalDateTime.of(2021, 5, 8, 23, 37))));
+
+            assertDoesNotThrow(() -> companySpecification.upsert(List.of(resultBean)));
+            verify(companySyncDao, times(1)).insert(CompanySyncEntity.of(now));
+        }
+
+        @DisplayName("upsert : 指定件数ずつまとめて登録・更新する")
+        @Test
+        void partition() {
+            when(industrySpecification.convertFromNameToId("業種")).thenReturn(1);
+            when(companyDao.selectAll()).thenReturn(List.of(
+                    new CompanyEntity(null, "old", 1, "edinetCode1", "9", "9", 0, null, null, null)));
+
+            companySpecification.upsert(List.of(
+                    resultBean("edinetCode1"),
+                    resultBean("edinetCode2"),
+                    resultBean("edinetCode3"),
+                    resultBean("edinetCode4")
+            ));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<CompanyEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(companyDao, times(2)).batchInsert(captor.capture());
+            assertEquals(List.of(List.of("edinetCode2", "edinetCode3"), List.of("edinetCode4")), captor.getAllValues().stream()
+                    .map(list -> list.stream().map(CompanyEntity::getEdinetCode).collect(Collectors.toList()))
+                    .collect(Collectors.toList()));
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<CompanyEntity>> updateCaptor = ArgumentCaptor.forClass(List.class);
+            verify(companyDao, times(1)).batchUpdate(updateCaptor.capture());
+            assertEquals("edinetCode1", updateCaptor.getValue().get(0).getEdinetCode());
+            assertEquals("name", updateCaptor.getValue().get(0).getCompanyName());
+        }
+
+        @DisplayName("upsert : まとめて登録して一意制約違反のときは1件ずつ登録し直す")
+        @Test
+        void uniqueConstraint() {
+            when(industrySpecification.convertFromNameToId("業種")).thenReturn(1);
+            when(companyDao.selectAll()).thenReturn(List.of());
+            when(companyDao.batchInsert(any())).thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+
+            assertDoesNotThrow(() -> companySpecification.upsert(List.of(resultBean("edinetCode1"), resultBean("edinetCode2"))));
+            verify(companyDao, times(2)).insert(any());
+        }
+
+        private EdinetCsvResultBean resultBean(final String edinetCode) {
+            var resultBean = new EdinetCsvResultBean();
+            resultBean.setEdinetCode(edinetCode);
+            resultBean.setSubmitterName("name");
+            resultBean.setIndustry("業種");
+            resultBean.setSecuritiesCode("");
+            resultBean.setSettlementDate("");
+            return resultBean;
         }
     }
 
@@ -4,23 +4,32 @@ import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.DocumentDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentEntity;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentStatus;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
 import github.com.ioridazo.fundanalyzer.domain.value.Company;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
 import github.com.ioridazo.fundanalyzer.domain.value.EdinetDocument;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerSqlForeignKeyException;
 import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DocumentSpecificationTest {
@@ -267,6 +276,95 @@ class DocumentSpecificationTest {
         }
     }
 
+    @Nested
+    class processing {
+
+        Document document = new Document(
+                "documentId1",
+                null,
+                null,
+                "E00001",
+                null,
+                LocalDate.parse("2021-05-09"),
+                null,
+                null,
+                DocumentStatus.NOT_YET,
+                DocumentStatus.NOT_YET,
+                DocumentStatus.NOT_YET,
+                null,
+                DocumentStatus.NOT_YET,
+                null,
+                DocumentStatus.NOT_YET,
+                null,
+                false
+        );
+
+        @BeforeEach
+        void setUp() {
+            documentSpecification.statusBatchSize = 10;
+        }
+
+        @DisplayName("beginProcessing : 処理中のドキュメントはデータベースから再取得せずに処理ステータスを反映する")
+        @Test
+        void applyInMemory() {
+            documentSpecification.beginProcessing(List.of(document));
+            documentSpecification.updateDownloadToDone(document);
+            documentSpecification.updateDecodeToDone(document);
+            documentSpecification.updateFsToDone(document, FinancialStatementEnum.BALANCE_SHEET, "path");
+
+            var actual = documentSpecification.findDocument("documentId1");
+
+            assertEquals(DocumentStatus.DONE, actual.getDownloaded());
+            assertEquals(DocumentStatus.DONE, actual.getDecoded());
+            assertEquals(DocumentStatus.DONE, actual.getScrapedBs());
+            assertEquals("path", actual.getBsDocumentPath().orElseThrow());
+            assertEquals(DocumentStatus.NOT_YET, actual.getScrapedPl());
+            verify(documentDao, times(0)).selectByDocumentId(any());
+            verify(documentDao, times(0)).update(any());
+            verify(documentDao, times(0)).updateStatus(any());
+        }
+
+        @DisplayName("endProcessing : 処理ステータスの更新内容をドキュメントごとにまとめて反映する")
+        @Test
+        void flush() {
+            documentSpecification.beginProcessing(List.of(document));
+            documentSpecification.updateDownloadToDone(document);
+            documentSpecification.updateDecodeToDone(document);
+            documentSpecification.updateFsToError(document, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT);
+            documentSpecification.endProcessing(List.of(document));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<DocumentEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(documentDao, times(1)).updateStatus(captor.capture());
+            assertEquals(1, captor.getValue().size());
+            assertEquals("1", captor.getValue().get(0).getDownloaded());
+            assertEquals("1", captor.getValue().get(0).getDecoded());
+            assertEquals("9", captor.getValue().get(0).getScrapedPl());
+            assertNull(captor.getValue().get(0).getScrapedBs());
+            verify(documentDao, times(0)).update(any());
+        }
+
+        @DisplayName("updateDownloadToDone : 件数が上限に達したときはまとめて反映する")
+        @Test
+        void batchSize() {
+            documentSpecification.statusBatchSize = 1;
+
+            documentSpecification.beginProcessing(List.of(document));
+            documentSpecification.updateDownloadToDone(document);
+
+            verify(documentDao, times(1)).updateStatus(any());
+        }
+
+        @DisplayName("updateDownloadToDone : 処理中ではないドキュメントはそのまま更新する")
+        @Test
+        void notProcessing() {
+            documentSpecification.updateDownloadToDone(document);
+
+            verify(documentDao, times(1)).update(any());
+            verify(documentDao, times(0)).updateStatus(any());
+        }
+    }
+
     @Nested
     class parseDocumentPeriod {
 
@@ -322,6 +420,62 @@ class DocumentSpecificationTest {
 
     }
 
+    @Nested
+    class insert {
+
+        LocalDate submitDate = LocalDate.parse("2021-06-06");
+
+        private Results results(final String docId, final String parentDocId) {
+            var results = new Results();
+            results.setDocId(docId);
+            results.setDocTypeCode("120");
+            results.setParentDocID(parentDocId);
+            return results;
+        }
+
+        @DisplayName("insert : 登録済みのドキュメントと親書類をまとめて取得し、未登録のドキュメントをまとめて登録する")
+        @Test
+        void batchInsert() {
+            var parent = results("parent", null);
+            parent.setPeriodEnd("2020-12-31");
+            when(documentDao.selectByDocumentIdList(any())).thenReturn(List.of(
+                    DocumentEntity.builder().documentId("already").build(),
+                    DocumentEntity.builder().documentId("registered").documentPeriod(LocalDate.parse("2019-01-01")).build()
+            ));
+
+            documentSpecification.insert(submitDate, List.of(
+                    parent,
+                    results("already", null),
+                    results("child1", "parent"),
+                    results("child2", "registered")
+            ));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<DocumentEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(documentDao, times(1)).selectByDocumentIdList(any());
+            verify(documentDao, times(1)).batchInsert(captor.capture());
+            verify(documentDao, times(0)).selectByDocumentId(any());
+            assertEquals(List.of("parent", "child1", "child2"),
+                    captor.getValue().stream().map(DocumentEntity::getDocumentId).collect(Collectors.toList()));
+            assertEquals(List.of(LocalDate.parse("2020-01-01"), LocalDate.parse("2020-01-01"), LocalDate.parse("2019-01-01")),
+                    captor.getValue().stream().map(entity -> entity.getDocumentPeriod().orElseThrow()).collect(Collectors.toList()));
+        }
+
+        @DisplayName("insert : まとめて登録して参照整合性制約違反となったときは1件ずつ登録し直して原因を特定する")
+        @Test
+        void foreignKey() {
+            when(documentDao.selectByDocumentIdList(any())).thenReturn(List.of());
+            when(documentDao.batchInsert(any()))
+                    .thenThrow(new DataIntegrityViolationException("", new SQLIntegrityConstraintViolationException()));
+            when(documentDao.insert(any()))
+                    .thenThrow(new DataIntegrityViolationException("", new SQLIntegrityConstraintViolationException()));
+
+            assertThrows(FundanalyzerSqlForeignKeyException.class,
+                    () -> documentSpecification.insert(submitDate, List.of(results("docId", null))));
+            verify(documentDao, times(1)).insert(any());
+        }
+    }
+
     private DocumentEntity defaultDocumentEntity(LocalDate submitDate) {
         return DocumentEntity.builder()
                 .id(1)
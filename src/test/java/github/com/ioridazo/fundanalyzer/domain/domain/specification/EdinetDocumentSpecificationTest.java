@@ -1,5 +1,6 @@
 package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 
+import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.EdinetDocumentDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.EdinetDocumentEntity;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.EdinetDocumentSpecification;
@@ -7,11 +8,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class EdinetDocumentSpecificationTest {
@@ -106,4 +116,54 @@ class EdinetDocumentSpecificationTest {
             assertEquals(LocalDate.EPOCH, actual.getPeriodEnd());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class insert {
+
+        private Results results(final String docId) {
+            var results = new Results();
+            results.setDocId(docId);
+            return results;
+        }
+
+        @DisplayName("insert : 登録済みの書類IDを除いてまとめて登録する")
+        @Test
+        void batchInsert() {
+            when(edinetDocumentDao.selectDocIdByDocIdList(List.of("doc1", "doc2", "doc3"))).thenReturn(List.of("doc2"));
+
+            edinetDocumentSpecification.insert(List.of(results("doc1"), results("doc2"), results("doc3"), results("doc1")));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<EdinetDocumentEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(edinetDocumentDao, times(1)).batchInsert(captor.capture());
+            assertEquals(List.of("doc1", "doc3"),
+                    captor.getValue().stream().map(EdinetDocumentEntity::getDocId).collect(Collectors.toList()));
+            verify(edinetDocumentDao, times(0)).insert(any());
+        }
+
+        @DisplayName("insert : すべて登録済みのときは登録しない")
+        @Test
+        void allExist() {
+            when(edinetDocumentDao.selectDocIdByDocIdList(List.of("doc1"))).thenReturn(List.of("doc1"));
+
+            edinetDocumentSpecification.insert(List.of(results("doc1")));
+
+            verify(edinetDocumentDao, times(0)).batchInsert(any());
+        }
+
+        @DisplayName("insert : まとめて登録して一意制約違反となったときは1件ずつ登録し直す")
+        @Test
+        void uniqueConstraint() {
+            when(edinetDocumentDao.selectDocIdByDocIdList(any())).thenReturn(List.of());
+            when(edinetDocumentDao.batchInsert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+            when(edinetDocumentDao.insert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)))
+                    .thenReturn(null);
+
+            assertDoesNotThrow(() -> edinetDocumentSpecification.insert(List.of(results("doc1"), results("doc2"))));
+
+            verify(edinetDocumentDao, times(2)).insert(any());
+        }
+    }
+}
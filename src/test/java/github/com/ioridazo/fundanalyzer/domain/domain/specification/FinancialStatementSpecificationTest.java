@@ -9,6 +9,7 @@ import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.Financi
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.QuarterType;
 import github.com.ioridazo.fundanalyzer.domain.value.BsSubject;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.FinanceValue;
 import github.com.ioridazo.fundanalyzer.domain.value.PlSubject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,6 +24,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class FinancialStatementSpecificationTest {
@@ -119,6 +122,105 @@ class FinancialStatementSpecificationTest {
         }
     }
 
+    @Nested
+    class getFinanceValue {
+
+        LocalDate submitDate = LocalDate.parse("2021-05-14");
+
+        private Document document(final String documentId, final String edinetCode) {
+            return new Document(
+                    documentId,
+                    DocumentTypeCode.DTC_120,
+                    QuarterType.QT_4,
+                    edinetCode,
+                    LocalDate.parse("2021-01-01"),
+                    submitDate,
+                    LocalDate.parse("2020-04-01"),
+                    LocalDate.parse("2021-03-31"),
+                    DocumentStatus.DONE,
+                    null,
+                    DocumentStatus.DONE,
+                    null,
+                    DocumentStatus.DONE,
+                    null,
+                    DocumentStatus.DONE,
+                    null,
+                    false
+            );
+        }
+
+        private FinancialStatementEntity entity(final String edinetCode, final String fs, final String subjectId, final Long value) {
+            return new FinancialStatementEntity(
+                    null,
+                    null,
+                    edinetCode,
+                    fs,
+                    subjectId,
+                    LocalDate.parse("2020-04-01"),
+                    LocalDate.parse("2021-03-31"),
+                    value,
+                    "120",
+                    null,
+                    submitDate,
+                    null,
+                    null
+            );
+        }
+
+        @BeforeEach
+        void setUp() {
+            when(subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_ASSETS))
+                    .thenReturn(List.of(new BsSubject("1", "1", "1", null), new BsSubject("2", "1", "2", null)));
+            when(subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_INVESTMENTS_AND_OTHER_ASSETS))
+                    .thenReturn(List.of(new BsSubject("3", "3", "1", null)));
+            when(subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_LIABILITIES))
+                    .thenReturn(List.of(new BsSubject("4", "4", "1", null)));
+            when(subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_FIXED_LIABILITIES))
+                    .thenReturn(List.of(new BsSubject("5", "5", "1", null)));
+            when(subjectSpecification.findPlSubjectList(PlSubject.PlEnum.OPERATING_PROFIT))
+                    .thenReturn(List.of(new PlSubject("1", "1", "1", null)));
+        }
+
+        @DisplayName("getFinanceValue : ドキュメントの財務諸表の値を一度に取得して科目ごとの値を特定する")
+        @Test
+        void single() {
+            var document = document("id", "E00001");
+            when(financialStatementDao.selectByCodeAndYear("E00001", "2021", "120", submitDate)).thenReturn(List.of(
+                    entity("E00001", "1", "1", null),
+                    entity("E00001", "1", "2", 1000L),
+                    entity("E00001", "1", "3", 300L),
+                    entity("E00001", "1", "4", 400L),
+                    entity("E00001", "1", "5", 500L),
+                    entity("E00001", "2", "1", 600L),
+                    entity("E00001", "4", "0", 700L)
+            ));
+
+            var actual = financialStatementSpecification.getFinanceValue(document);
+
+            assertEquals(FinanceValue.of(1000L, 300L, 400L, 500L, 600L, 700L), actual);
+            verify(financialStatementDao, times(0)).selectByUniqueKey(any(), any(), any(), any(), any(), any());
+        }
+
+        @DisplayName("getFinanceValueMap : 複数のドキュメントの財務諸表の値を一度に取得してドキュメントごとに振り分ける")
+        @Test
+        void batch() {
+            when(financialStatementDao.selectByCodeListAndSubmitDateList(List.of("E00001", "E00002", "E00003"), List.of(submitDate)))
+                    .thenReturn(List.of(
+                            entity("E00001", "1", "1", 100L),
+                            entity("E00002", "1", "2", 200L),
+                            entity("E00002", "4", "0", 700L)
+                    ));
+
+            var actual = financialStatementSpecification.getFinanceValueMap(
+                    List.of(document("id1", "E00001"), document("id2", "E00002"), document("id3", "E00003")));
+
+            assertEquals(FinanceValue.of(100L, null, null, null, null, null), actual.get("id1"));
+            assertEquals(FinanceValue.of(200L, null, null, null, null, 700L), actual.get("id2"));
+            assertEquals(FinanceValue.of(null, null, null, null, null, null), actual.get("id3"));
+            verify(subjectSpecification, times(1)).findPlSubjectList(PlSubject.PlEnum.OPERATING_PROFIT);
+        }
+    }
+
     @Nested
     class parseBsSubjectValue {
 
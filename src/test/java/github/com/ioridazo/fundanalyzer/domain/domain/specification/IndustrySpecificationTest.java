@@ -3,6 +3,7 @@ package github.com.ioridazo.fundanalyzer.domain.domain.specification;
 import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.IndustryDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.IndustryEntity;
 import github.com.ioridazo.fundanalyzer.client.csv.bean.EdinetCsvResultBean;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,7 +13,9 @@ import org.mockito.Mockito;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -38,8 +41,8 @@ class IndustrySpecificationTest {
 
         @BeforeEach
         void setUp() {
-            when(industryDao.selectByName("既に登録されている業種"))
-                    .thenReturn(new IndustryEntity(1, "既に登録されている業種", null));
+            when(industryDao.selectAll())
+                    .thenReturn(List.of(new IndustryEntity(1, "既に登録されている業種", null)));
         }
 
         @DisplayName("insert: industryが登録されていなかったら登録されることを確認する")
@@ -67,6 +70,24 @@ class IndustrySpecificationTest {
             // insertされないことを確認する
             verify(industryDao, times(0)).insert(any());
         }
+
+        @DisplayName("insert: industryが登録されたら業種マスタを読み込み直すことを確認する")
+        @Test
+        void insertIndustry_reload() {
+            var edinetCsvResultBean = new EdinetCsvResultBean();
+            edinetCsvResultBean.setIndustry("まだ登録されていない業種");
+            when(industryDao.selectAll())
+                    .thenReturn(List.of(new IndustryEntity(1, "既に登録されている業種", null)))
+                    .thenReturn(List.of(
+                            new IndustryEntity(1, "既に登録されている業種", null),
+                            new IndustryEntity(2, "まだ登録されていない業種", null)
+                    ));
+
+            industrySpecification.insert(List.of(edinetCsvResultBean));
+
+            assertEquals(2, industrySpecification.convertFromNameToId("まだ登録されていない業種"));
+            verify(industryDao, times(2)).selectAll();
+        }
     }
 
     @Nested
@@ -74,8 +95,11 @@ class IndustrySpecificationTest {
 
         @BeforeEach
         void setUp() {
-            when(industryDao.selectByName("銀行業")).thenReturn(new IndustryEntity(28, "銀行業", null));
-            when(industryDao.selectByName("保険業")).thenReturn(new IndustryEntity(29, "保険業", null));
+            when(industryDao.selectAll()).thenReturn(List.of(
+                    new IndustryEntity(1, "水産・農林業", null),
+                    new IndustryEntity(28, "銀行業", null),
+                    new IndustryEntity(29, "保険業", null)
+            ));
         }
 
         @DisplayName("isTarget : true")
@@ -95,5 +119,48 @@ class IndustrySpecificationTest {
             assertFalse(industrySpecification.isTarget(id));
 
         }
+
+        @DisplayName("isTarget : 業種マスタは一度だけ読み込む")
+        @Test
+        void load_once() {
+            industrySpecification.isTarget(1);
+            industrySpecification.isTarget(28);
+            industrySpecification.isTarget(29);
+
+            verify(industryDao, times(1)).selectAll();
+            verify(industryDao, times(0)).selectByName(any());
+        }
+    }
+
+    @Nested
+    class convert {
+
+        @BeforeEach
+        void setUp() {
+            when(industryDao.selectAll()).thenReturn(List.of(new IndustryEntity(1, "水産・農林業", null)));
+        }
+
+        @DisplayName("convertFromNameToId : 業種名から業種IDに変換する")
+        @Test
+        void convertFromNameToId() {
+            assertEquals(1, industrySpecification.convertFromNameToId("水産・農林業"));
+        }
+
+        @DisplayName("convertFromIdToName : 業種IDから業種名に変換する")
+        @Test
+        void convertFromIdToName() {
+            assertEquals("水産・農林業", industrySpecification.convertFromIdToName(1));
+            assertEquals("水産・農林業", industrySpecification.convertFromIdToName(1));
+
+            verify(industryDao, times(1)).selectAll();
+        }
+
+        @DisplayName("convertFromIdToName : 業種が存在しないときは読み込み直してからエラーにする")
+        @Test
+        void convertFromIdToName_notFound() {
+            assertThrows(FundanalyzerRuntimeException.class, () -> industrySpecification.convertFromIdToName(2));
+
+            verify(industryDao, times(2)).selectAll();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package github.com.ioridazo.fundanalyzer.domain.domain.specification;
+
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.ScrapingKeywordDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.dao.transaction.ScrapingKeywordHitDao;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.ScrapingKeywordEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentTypeCode;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.ScrapingKeywordHitEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.seasar.doma.jdbc.BatchResult;
+import org.seasar.doma.jdbc.UniqueConstraintException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScrapingKeywordSpecificationTest {
+
+    private ScrapingKeywordDao scrapingKeywordDao;
+    private ScrapingKeywordHitDao scrapingKeywordHitDao;
+
+    private ScrapingKeywordSpecification scrapingKeywordSpecification;
+
+    private final ScrapingKeywordEntity consolidated =
+            new ScrapingKeywordEntity(1, "1", "jpcrp_cor:ConsolidatedBalanceSheetTextBlock", null, null);
+    private final ScrapingKeywordEntity nonConsolidated =
+            new ScrapingKeywordEntity(2, "1", "jpcrp_cor:BalanceSheetTextBlock", null, null);
+    private final ScrapingKeywordEntity quarterly =
+            new ScrapingKeywordEntity(6, "1", "jpcrp_cor:QuarterlyConsolidatedBalanceSheetTextBlock", null, null);
+
+    @BeforeEach
+    void setUp() {
+        scrapingKeywordDao = Mockito.mock(ScrapingKeywordDao.class);
+        scrapingKeywordHitDao = Mockito.mock(ScrapingKeywordHitDao.class);
+
+        scrapingKeywordSpecification = new ScrapingKeywordSpecification(scrapingKeywordDao, scrapingKeywordHitDao);
+
+        when(scrapingKeywordDao.selectByFinancialStatementId("1")).thenReturn(List.of(consolidated, nonConsolidated, quarterly));
+    }
+
+    @Nested
+    class findKeywordList {
+
+        @DisplayName("findKeywordList : 合致件数が存在しないときは登録順で返却する")
+        @Test
+        void noHit() {
+            var actual = scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120);
+
+            assertEquals(List.of(consolidated, nonConsolidated, quarterly), actual);
+        }
+
+        @DisplayName("findKeywordList : 書類種別コードごとの合致件数の多い順に返却する")
+        @Test
+        void ordered() {
+            when(scrapingKeywordHitDao.selectAll()).thenReturn(List.of(
+                    new ScrapingKeywordHitEntity(null, 6, "140", 10L, null, null),
+                    new ScrapingKeywordHitEntity(null, 2, "140", 3L, null, null),
+                    new ScrapingKeywordHitEntity(null, 1, "120", 20L, null, null)
+            ));
+
+            assertEquals(
+                    List.of(quarterly, nonConsolidated, consolidated),
+                    scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140)
+            );
+            assertEquals(
+                    List.of(consolidated, nonConsolidated, quarterly),
+                    scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120)
+            );
+        }
+    }
+
+    @Nested
+    class isConsolidated {
+
+        @DisplayName("isConsolidated : 連結財務諸表のキーワードかどうかを判定する")
+        @Test
+        void isConsolidated() {
+            assertTrue(scrapingKeywordSpecification.isConsolidated(consolidated));
+            assertTrue(scrapingKeywordSpecification.isConsolidated(quarterly));
+            assertFalse(scrapingKeywordSpecification.isConsolidated(nonConsolidated));
+        }
+    }
+
+    @Nested
+    class countHit {
+
+        @DisplayName("countHit : 合致件数をメモリ上で加算してデータベースには反映しない")
+        @Test
+        void increment() {
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+
+            assertEquals(1, scrapingKeywordSpecification.hitCount(quarterly, DocumentTypeCode.DTC_140));
+            assertEquals(List.of(quarterly, consolidated, nonConsolidated),
+                    scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140));
+            verify(scrapingKeywordHitDao, times(0)).increment(any(), any(), anyLong(), any());
+            verify(scrapingKeywordHitDao, times(0)).batchIncrement(any());
+            verify(scrapingKeywordHitDao, times(0)).insert(any());
+        }
+    }
+
+    @Nested
+    class flushHitCount {
+
+        @DisplayName("flushHitCount : 加算分をまとめてデータベースに反映する")
+        @Test
+        void batchIncrement() {
+            when(scrapingKeywordHitDao.batchIncrement(any())).thenReturn(new BatchResult<>(new int[]{1, 1}, List.of()));
+
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.countHit(consolidated, DocumentTypeCode.DTC_120);
+            scrapingKeywordSpecification.flushHitCount();
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ScrapingKeywordHitEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(scrapingKeywordHitDao, times(1)).batchIncrement(captor.capture());
+            assertEquals(
+                    Map.of(6, 2L, 1, 1L),
+                    captor.getValue().stream().collect(Collectors.toMap(
+                            ScrapingKeywordHitEntity::getScrapingKeywordId, ScrapingKeywordHitEntity::getHitCount))
+            );
+            verify(scrapingKeywordHitDao, times(0)).insert(any());
+        }
+
+        @DisplayName("flushHitCount : 加算分が存在しないときはデータベースに反映しない")
+        @Test
+        void empty() {
+            when(scrapingKeywordHitDao.batchIncrement(any())).thenReturn(new BatchResult<>(new int[]{1}, List.of()));
+
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.flushHitCount();
+            scrapingKeywordSpecification.flushHitCount();
+
+            verify(scrapingKeywordHitDao, times(1)).batchIncrement(any());
+        }
+
+        @DisplayName("flushHitCount : データベースに存在しないときは登録する")
+        @Test
+        void insert() {
+            when(scrapingKeywordHitDao.batchIncrement(any())).thenReturn(new BatchResult<>(new int[]{0}, List.of()));
+
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.flushHitCount();
+
+            verify(scrapingKeywordHitDao, times(1)).insert(any());
+        }
+
+        @DisplayName("flushHitCount : 一意制約違反のときは加算する")
+        @Test
+        void uniqueConstraint() {
+            when(scrapingKeywordHitDao.batchIncrement(any())).thenReturn(new BatchResult<>(new int[]{0}, List.of()));
+            when(scrapingKeywordHitDao.insert(any()))
+                    .thenThrow(new DuplicateKeyException("", Mockito.mock(UniqueConstraintException.class)));
+
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.flushHitCount();
+
+            verify(scrapingKeywordHitDao, times(1)).increment(eq(6), eq("140"), eq(1L), any());
+        }
+
+        @DisplayName("flushHitCount : 反映に失敗したときはエラーにせず次回に持ち越す")
+        @Test
+        void failure() {
+            when(scrapingKeywordHitDao.batchIncrement(any()))
+                    .thenThrow(new DataAccessResourceFailureException(""))
+                    .thenReturn(new BatchResult<>(new int[]{1}, List.of()));
+
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            assertDoesNotThrow(() -> scrapingKeywordSpecification.flushHitCount());
+            scrapingKeywordSpecification.countHit(quarterly, DocumentTypeCode.DTC_140);
+            scrapingKeywordSpecification.flushHitCount();
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<ScrapingKeywordHitEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(scrapingKeywordHitDao, times(2)).batchIncrement(captor.capture());
+            assertEquals(2L, captor.getAllValues().get(1).get(0).getHitCount());
+            assertEquals(2, scrapingKeywordSpecification.hitCount(quarterly, DocumentTypeCode.DTC_140));
+        }
+    }
+
+    @Nested
+    class findKeywordOrder {
+
+        @DisplayName("findKeywordOrder : 合致件数の存在する書類種別コードごとにキーワードの並び順を返却する")
+        @Test
+        void keywordOrder() {
+            when(scrapingKeywordHitDao.selectAll()).thenReturn(List.of(
+                    new ScrapingKeywordHitEntity(null, 6, "140", 10L, null, null)
+            ));
+
+            var actual = scrapingKeywordSpecification.findKeywordOrder();
+
+            assertEquals(Map.of("貸借対照表", Map.of("140", List.of(
+                    ScrapingKeywordSpecification.KeywordHitCount.of("jpcrp_cor:QuarterlyConsolidatedBalanceSheetTextBlock", 10),
+                    ScrapingKeywordSpecification.KeywordHitCount.of("jpcrp_cor:ConsolidatedBalanceSheetTextBlock", 0),
+                    ScrapingKeywordSpecification.KeywordHitCount.of("jpcrp_cor:BalanceSheetTextBlock", 0)
+            ))), actual);
+        }
+    }
+}
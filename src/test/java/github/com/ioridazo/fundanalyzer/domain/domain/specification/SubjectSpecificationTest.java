@@ -5,13 +5,25 @@ import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.PlSubjectDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.BsSubjectEntity;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.PlSubjectEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.Subject;
+import github.com.ioridazo.fundanalyzer.domain.value.BsSubject;
+import github.com.ioridazo.fundanalyzer.domain.value.PlSubject;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SubjectSpecificationTest {
@@ -38,8 +50,8 @@ class SubjectSpecificationTest {
         var fs = FinancialStatementEnum.BALANCE_SHEET;
         var subjectId = "1";
 
-        when(bsSubjectDao.selectById(subjectId))
-                .thenReturn(new BsSubjectEntity("1", "1", "1", "name"));
+        when(bsSubjectDao.selectAll())
+                .thenReturn(List.of(new BsSubjectEntity("1", "1", "1", "name")));
 
         var actual = subjectSpecification.findSubject(fs, subjectId);
 
@@ -57,8 +69,8 @@ class SubjectSpecificationTest {
         var fs = FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT;
         var subjectId = "1";
 
-        when(plSubjectDao.selectById(subjectId))
-                .thenReturn(new PlSubjectEntity("1", "1", "1", "name"));
+        when(plSubjectDao.selectAll())
+                .thenReturn(List.of(new PlSubjectEntity("1", "1", "1", "name")));
 
         var actual = subjectSpecification.findSubject(fs, subjectId);
 
@@ -69,4 +81,111 @@ class SubjectSpecificationTest {
                 () -> assertEquals("name", actual.getName())
         );
     }
-}
\ No newline at end of file
+
+    @DisplayName("findSubject : 科目が存在しないときはエラーにする")
+    @Test
+    void findSubject_notFound() {
+        when(bsSubjectDao.selectAll()).thenReturn(List.of());
+
+        assertThrows(FundanalyzerRuntimeException.class,
+                () -> subjectSpecification.findSubject(FinancialStatementEnum.BALANCE_SHEET, "1"));
+    }
+
+    @DisplayName("findBsSubject : 科目名から科目を取得する")
+    @Test
+    void findBsSubject_name() {
+        when(bsSubjectDao.selectAll()).thenReturn(List.of(
+                new BsSubjectEntity("1", "1", "1", "流動資産合計"),
+                new BsSubjectEntity("2", "1", "2", "流動資産合計"),
+                new BsSubjectEntity("3", "4", "1", "投資その他の資産合計")
+        ));
+
+        assertAll(
+                () -> assertEquals("1", subjectSpecification.findBsSubject("流動資産合計").orElseThrow().getId()),
+                () -> assertEquals("3", subjectSpecification.findBsSubject("投資その他の資産合計").orElseThrow().getId()),
+                () -> assertTrue(subjectSpecification.findBsSubject("subject").isEmpty())
+        );
+    }
+
+    @DisplayName("findPlSubject : 科目名から科目を取得する")
+    @Test
+    void findPlSubject_name() {
+        when(plSubjectDao.selectAll()).thenReturn(List.of(new PlSubjectEntity("1", "3", "1", "営業利益")));
+
+        assertAll(
+                () -> assertEquals("1", subjectSpecification.findPlSubject("営業利益").orElseThrow().getId()),
+                () -> assertTrue(subjectSpecification.findPlSubject("subject").isEmpty())
+        );
+    }
+
+    @DisplayName("findBsSubject : 科目から科目情報を取得する")
+    @Test
+    void findBsSubject_enum() {
+        when(bsSubjectDao.selectAll()).thenReturn(List.of(
+                new BsSubjectEntity("1", "8", "2", "name"),
+                new BsSubjectEntity("2", "8", "1", "name"),
+                new BsSubjectEntity("3", "10", null, "負債合計")
+        ));
+
+        assertAll(
+                () -> assertEquals("2", subjectSpecification.findBsSubject(BsSubject.BsEnum.TOTAL_CURRENT_LIABILITIES).getId()),
+                () -> assertEquals("3", subjectSpecification.findBsSubject(BsSubject.BsEnum.TOTAL_LIABILITIES).getId()),
+                () -> assertThrows(FundanalyzerRuntimeException.class,
+                        () -> subjectSpecification.findBsSubject(BsSubject.BsEnum.TOTAL_FIXED_LIABILITIES))
+        );
+    }
+
+    @DisplayName("findBsSubjectList : 大科目IDの科目を詳細科目ID順に取得する")
+    @Test
+    void findBsSubjectList() {
+        when(bsSubjectDao.selectAll()).thenReturn(List.of(
+                new BsSubjectEntity("1", "1", "2", "name"),
+                new BsSubjectEntity("2", "1", "1", "name"),
+                new BsSubjectEntity("3", "4", "1", "name")
+        ));
+
+        var actual = subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_ASSETS);
+
+        assertEquals(List.of("2", "1"), actual.stream().map(Subject::getId).collect(Collectors.toList()));
+        assertTrue(subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_FIXED_LIABILITIES).isEmpty());
+    }
+
+    @DisplayName("findPlSubjectList : 大科目IDの科目を詳細科目ID順に取得する")
+    @Test
+    void findPlSubjectList() {
+        when(plSubjectDao.selectAll()).thenReturn(List.of(
+                new PlSubjectEntity("1", "3", "2", "name"),
+                new PlSubjectEntity("2", "3", "1", "name")
+        ));
+
+        var actual = subjectSpecification.findPlSubjectList(PlSubject.PlEnum.OPERATING_PROFIT);
+
+        assertEquals(List.of("2", "1"), actual.stream().map(Subject::getId).collect(Collectors.toList()));
+    }
+
+    @DisplayName("findBsSubject : 科目マスタは一度だけ読み込む")
+    @Test
+    void registry_loadOnce() {
+        when(bsSubjectDao.selectAll()).thenReturn(List.of(new BsSubjectEntity("1", "1", "1", "name")));
+
+        subjectSpecification.findBsSubject("name");
+        subjectSpecification.findSubject(FinancialStatementEnum.BALANCE_SHEET, "1");
+        subjectSpecification.findBsSubjectList(BsSubject.BsEnum.TOTAL_CURRENT_ASSETS);
+
+        verify(bsSubjectDao, times(1)).selectAll();
+        verify(plSubjectDao, times(1)).selectAll();
+        verify(bsSubjectDao, times(0)).selectById(any());
+    }
+
+    @DisplayName("refresh : 科目マスタを読み込み直す")
+    @Test
+    void refresh() {
+        when(bsSubjectDao.selectAll())
+                .thenReturn(List.of(new BsSubjectEntity("1", "1", "1", "name")))
+                .thenReturn(List.of(new BsSubjectEntity("2", "1", "1", "name")));
+
+        assertEquals("1", subjectSpecification.findBsSubject("name").orElseThrow().getId());
+        subjectSpecification.refresh();
+        assertEquals("2", subjectSpecification.findBsSubject("name").orElseThrow().getId());
+    }
+}
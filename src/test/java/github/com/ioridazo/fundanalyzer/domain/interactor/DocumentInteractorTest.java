@@ -3,18 +3,22 @@ package github.com.ioridazo.fundanalyzer.domain.interactor;
 import github.com.ioridazo.fundanalyzer.client.edinet.EdinetClient;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListRequestParameter;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.request.ListType;
-import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.EdinetResponse;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Metadata;
 import github.com.ioridazo.fundanalyzer.client.edinet.entity.response.Results;
 import github.com.ioridazo.fundanalyzer.client.file.FileOperator;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentStatus;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.CompanySpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.DocumentSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.EdinetDocumentSpecification;
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.ScrapingKeywordSpecification;
 import github.com.ioridazo.fundanalyzer.domain.usecase.ScrapingUseCase;
 import github.com.ioridazo.fundanalyzer.domain.value.Document;
+import github.com.ioridazo.fundanalyzer.domain.value.ScrapedDocument;
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
 import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
 import github.com.ioridazo.fundanalyzer.web.model.IdInputData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,10 +28,17 @@ import org.mockito.Mockito;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,8 +49,10 @@ class DocumentInteractorTest {
     private CompanySpecification companySpecification;
     private DocumentSpecification documentSpecification;
     private EdinetDocumentSpecification edinetDocumentSpecification;
+    private ScrapingKeywordSpecification scrapingKeywordSpecification;
     private FileOperator fileOperator;
     private EdinetClient edinetClient;
+    private SimpleMeterRegistry meterRegistry;
 
     private DocumentInteractor documentInteractor;
 
@@ -49,18 +62,24 @@ class DocumentInteractorTest {
         companySpecification = Mockito.mock(CompanySpecification.class);
         documentSpecification = Mockito.mock(DocumentSpecification.class);
         edinetDocumentSpecification = Mockito.mock(EdinetDocumentSpecification.class);
+        scrapingKeywordSpecification = Mockito.mock(ScrapingKeywordSpecification.class);
         fileOperator = Mockito.mock(FileOperator.class);
         edinetClient = Mockito.mock(EdinetClient.class);
+        meterRegistry = new SimpleMeterRegistry();
 
         documentInteractor = Mockito.spy(new DocumentInteractor(
                 scraping,
                 companySpecification,
                 documentSpecification,
                 edinetDocumentSpecification,
+                scrapingKeywordSpecification,
                 fileOperator,
-                edinetClient
+                edinetClient,
+                new DocumentPipeline(meterRegistry, 2, 1, 2, 1, 2, 1, 2, 1)
         ));
         documentInteractor.targetTypeCodes = List.of("120");
+        documentInteractor.listBatchSize = 1;
+        documentInteractor.decodeZipFile = true;
     }
 
     @Nested
@@ -72,23 +91,79 @@ class DocumentInteractorTest {
         @Test
         void present() {
             doNothing().when(documentInteractor).saveEdinetList(inputData);
-            doNothing().when(documentInteractor).scrape((Document) any());
+            doNothing().when(documentInteractor).process(any());
             when(documentSpecification.targetList(inputData)).thenReturn(List.of(defaultDocument()));
 
             assertDoesNotThrow(() -> documentInteractor.allProcess(inputData));
             verify(documentInteractor, times(1)).saveEdinetList(inputData);
-            verify(documentInteractor, times(1)).scrape((Document) any());
+            verify(documentInteractor, times(1)).process(List.of(defaultDocument()));
         }
 
         @DisplayName("allProcess : ドキュメントがないときはなにもしない")
         @Test
         void empty() {
             doNothing().when(documentInteractor).saveEdinetList(inputData);
-            doNothing().when(documentInteractor).scrape((Document) any());
+            doNothing().when(documentInteractor).process(any());
 
             assertDoesNotThrow(() -> documentInteractor.allProcess(inputData));
             verify(documentInteractor, times(1)).saveEdinetList(inputData);
-            verify(documentInteractor, times(0)).scrape((Document) any());
+            verify(documentInteractor, times(0)).process(any());
+        }
+    }
+
+    @Nested
+    class process {
+
+        @DisplayName("process : ドキュメントごとに各段階を順に処理する")
+        @Test
+        void ok() {
+            var document1 = defaultDocument();
+            var document2 = new Document("id2", null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, false);
+            var scrapedDocument = ScrapedDocument.of(document1, null, null, null, 0);
+            doReturn(true).when(documentInteractor).download(document1);
+            doReturn(false).when(documentInteractor).download(document2);
+            doNothing().when(documentInteractor).decode(any());
+            doReturn(Optional.of(scrapedDocument)).when(documentInteractor).extract(document1);
+            doReturn(Optional.empty()).when(documentInteractor).extract(document2);
+            doNothing().when(documentInteractor).persist(any(), any());
+
+            assertDoesNotThrow(() -> documentInteractor.process(List.of(document1, document2)));
+            verify(documentInteractor, times(1)).decode(document1);
+            verify(documentInteractor, times(0)).decode(document2);
+            verify(documentInteractor, times(1)).persist(document1, Optional.of(scrapedDocument));
+            verify(documentInteractor, times(1)).persist(document2, Optional.empty());
+            assertEquals(2, meterRegistry.get("fundanalyzer.pipeline.stage.processed").tag("stage", "persist").timer().count());
+            assertEquals(1, meterRegistry.get("fundanalyzer.pipeline.stage.processed").tag("stage", "decode").timer().count());
+            verify(documentSpecification, times(1)).endProcessing(List.of(document1, document2));
+            verify(scrapingKeywordSpecification, times(1)).flushHitCount();
+        }
+
+        @DisplayName("process : 処理ステータスの反映に失敗してもスクレイピングキーワードの合致件数を反映する")
+        @Test
+        void endProcessing_failure() {
+            var document = defaultDocument();
+            doReturn(false).when(documentInteractor).download(any());
+            doReturn(Optional.empty()).when(documentInteractor).extract(any());
+            doNothing().when(documentInteractor).persist(any(), any());
+            doThrow(FundanalyzerRuntimeException.class).when(documentSpecification).endProcessing(any());
+
+            assertThrows(FundanalyzerRuntimeException.class, () -> documentInteractor.process(List.of(document)));
+            verify(scrapingKeywordSpecification, times(1)).flushHitCount();
+        }
+
+        @DisplayName("process : 処理に失敗したドキュメントがあっても他のドキュメントを処理してからエラーにする")
+        @Test
+        void error() {
+            var document1 = defaultDocument();
+            var document2 = new Document("id2", null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, false);
+            doReturn(false).when(documentInteractor).download(any());
+            doThrow(FundanalyzerRuntimeException.class).when(documentInteractor).extract(document1);
+            doReturn(Optional.empty()).when(documentInteractor).extract(document2);
+            doNothing().when(documentInteractor).persist(any(), any());
+
+            assertThrows(FundanalyzerRuntimeException.class, () -> documentInteractor.process(List.of(document1, document2)));
+            verify(documentInteractor, times(0)).persist(eq(document1), any());
+            verify(documentInteractor, times(1)).persist(document2, Optional.empty());
         }
     }
 
@@ -113,19 +188,24 @@ class DocumentInteractorTest {
             already.setDocId("already");
             already.setDocTypeCode("120");
             already.setPeriodEnd("2020-12-31");
-            var edinetResponse = new EdinetResponse();
-            edinetResponse.setMetadata(metadata);
-            edinetResponse.setResults(List.of(target, already));
 
-            when(edinetClient.list(new ListRequestParameter(LocalDate.parse("2020-09-19"), ListType.DEFAULT))).thenReturn(edinetResponse);
-            when(edinetClient.list(new ListRequestParameter(LocalDate.parse("2020-09-19"), ListType.GET_LIST))).thenReturn(edinetResponse);
+            when(edinetClient.listResults(eq(new ListRequestParameter(LocalDate.parse("2020-09-19"), ListType.GET_LIST)), eq(1), any()))
+                    .thenAnswer(invocation -> {
+                        Consumer<List<Results>> consumer = invocation.getArgument(2);
+                        consumer.accept(List.of(target));
+                        consumer.accept(List.of(already));
+                        return metadata;
+                    });
 
             assertDoesNotThrow(() -> documentInteractor.saveEdinetList(inputData));
 
-            verify(edinetDocumentSpecification, times(1)).insert(edinetResponse);
-            verify(companySpecification, times(1)).insertIfNotExist(target);
-            verify(companySpecification, times(1)).insertIfNotExist(already);
-            verify(documentSpecification, times(1)).insert(LocalDate.parse("2020-09-19"), edinetResponse);
+            verify(edinetClient, times(0)).list(any());
+            verify(edinetDocumentSpecification, times(1)).insert(List.of(target));
+            verify(edinetDocumentSpecification, times(1)).insert(List.of(already));
+            verify(companySpecification, times(1)).insertIfNotExist(List.of(target));
+            verify(companySpecification, times(1)).insertIfNotExist(List.of(already));
+            verify(documentSpecification, times(1)).insert(LocalDate.parse("2020-09-19"), List.of(target));
+            verify(documentSpecification, times(1)).insert(LocalDate.parse("2020-09-19"), List.of(already));
         }
 
         @DisplayName("saveEdinetList: 対象件数がないときはなにもしない")
@@ -137,16 +217,15 @@ class DocumentInteractorTest {
             resultSet.setCount("0");
             var metadata = new Metadata();
             metadata.setResultset(resultSet);
-            var edinetResponse = new EdinetResponse();
-            edinetResponse.setMetadata(metadata);
 
-            when(edinetClient.list(new ListRequestParameter(LocalDate.parse("2020-09-19"), ListType.DEFAULT))).thenReturn(edinetResponse);
+            when(edinetClient.listResults(eq(new ListRequestParameter(LocalDate.parse("2020-09-19"), ListType.GET_LIST)), eq(1), any()))
+                    .thenReturn(metadata);
 
             assertDoesNotThrow(() -> documentInteractor.saveEdinetList(inputData));
 
-            verify(edinetDocumentSpecification, times(0)).insert(edinetResponse);
-            verify(companySpecification, times(0)).insertIfNotExist(any());
-            verify(documentSpecification, times(0)).insert(LocalDate.parse("2020-09-19"), edinetResponse);
+            verify(edinetDocumentSpecification, times(0)).insert(any());
+            verify(companySpecification, times(0)).insertIfNotExist(anyList());
+            verify(documentSpecification, times(0)).insert(any(), any());
         }
     }
 
@@ -190,6 +269,7 @@ class DocumentInteractorTest {
 
             @BeforeEach
             void setUp() {
+                when(scraping.extract(any(), any())).thenReturn(ScrapedDocument.of(null, null, null, null, 0));
                 when(documentSpecification.findDocument("notYet")).thenReturn(new Document(
                         "notYet",
                         null,
@@ -293,7 +373,8 @@ class DocumentInteractorTest {
 
                 assertDoesNotThrow(() -> documentInteractor.scrape(document));
                 verify(documentSpecification, times(1)).updateStoreToDone(document);
-                verify(scraping, times(0)).download(document);
+                verify(scraping, times(0)).acquire(document);
+                verify(scraping, times(0)).decode(document);
             }
 
             @DisplayName("scrape : ダウンロード未済であればファイル取得する")
@@ -323,7 +404,73 @@ class DocumentInteractorTest {
 
                 assertDoesNotThrow(() -> documentInteractor.scrape(document));
                 verify(documentSpecification, times(0)).updateStoreToDone(document);
-                verify(scraping, times(1)).download(document);
+                verify(scraping, times(1)).acquire(document);
+            }
+
+            @DisplayName("scrape : zipファイルを解凍しないときは取得済みのzipファイルを確認して索引を作成する")
+            @Test
+            void notYet_download_zipFile_isPresent() {
+                var document = new Document(
+                        "notYet",
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        DocumentStatus.NOT_YET,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        false
+                );
+
+                documentInteractor.decodeZipFile = false;
+                when(fileOperator.findZipFile(any())).thenReturn(Optional.of(List.of("notYet.zip")));
+                when(fileOperator.findDecodedFile(any())).thenReturn(Optional.of(List.of()));
+
+                assertDoesNotThrow(() -> documentInteractor.scrape(document));
+                verify(documentSpecification, times(1)).updateDownloadToDone(document);
+                verify(documentSpecification, times(0)).updateStoreToDone(document);
+                verify(scraping, times(0)).acquire(document);
+                verify(scraping, times(1)).decode(document);
+            }
+
+            @DisplayName("scrape : zipファイルを解凍しないときは解凍済みのフォルダがあってもzipファイルを取得する")
+            @Test
+            void notYet_download_zipFile_isEmpty() {
+                var document = new Document(
+                        "notYet",
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        DocumentStatus.NOT_YET,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        DocumentStatus.NOT_YET,
+                        null,
+                        false
+                );
+
+                documentInteractor.decodeZipFile = false;
+                when(fileOperator.findZipFile(any())).thenReturn(Optional.of(List.of("other.zip")));
+                when(fileOperator.findDecodedFile(any())).thenReturn(Optional.of(List.of("notYet")));
+
+                assertDoesNotThrow(() -> documentInteractor.scrape(document));
+                verify(documentSpecification, times(0)).updateStoreToDone(document);
+                verify(scraping, times(1)).acquire(document);
             }
 
             @DisplayName("scrape : ステータス処理前であれば処理する")
@@ -353,10 +500,8 @@ class DocumentInteractorTest {
                 when(documentSpecification.findDocument("error_decoded")).thenReturn(document);
 
                 assertDoesNotThrow(() -> documentInteractor.scrape(document));
-                verify(scraping, times(0)).download(document);
-                verify(scraping, times(0)).bs(document);
-                verify(scraping, times(0)).pl(document);
-                verify(scraping, times(0)).ns(document);
+                verify(scraping, times(0)).acquire(document);
+                verify(scraping, times(0)).extract(any(), any());
             }
 
             @DisplayName("scrape : ステータス処理前であれば処理する")
@@ -382,13 +527,20 @@ class DocumentInteractorTest {
                         false
                 );
 
+                var scrapedDocument = ScrapedDocument.of(document, null, null, null, 0);
                 when(fileOperator.findDecodedFile(any())).thenReturn(Optional.of(List.of()));
+                when(scraping.acquire(document)).thenReturn(true);
+                when(scraping.extract(any(), any())).thenReturn(scrapedDocument);
 
                 assertDoesNotThrow(() -> documentInteractor.scrape(document));
-                verify(scraping, times(1)).download(document);
-                verify(scraping, times(1)).bs(document);
-                verify(scraping, times(1)).pl(document);
-                verify(scraping, times(1)).ns(document);
+                verify(scraping, times(1)).acquire(document);
+                verify(scraping, times(1)).decode(document);
+                verify(scraping, times(1)).extract(document, List.of(
+                        FinancialStatementEnum.BALANCE_SHEET,
+                        FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT,
+                        FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES
+                ));
+                verify(scraping, times(1)).register(scrapedDocument);
             }
 
             @DisplayName("scrape : ステータス処理済であれば処理しない")
@@ -417,10 +569,8 @@ class DocumentInteractorTest {
                 when(fileOperator.findDecodedFile(any())).thenReturn(Optional.of(List.of()));
 
                 assertDoesNotThrow(() -> documentInteractor.scrape(document));
-                verify(scraping, times(0)).download(document);
-                verify(scraping, times(0)).bs(document);
-                verify(scraping, times(0)).pl(document);
-                verify(scraping, times(0)).ns(document);
+                verify(scraping, times(0)).acquire(document);
+                verify(scraping, times(0)).extract(any(), any());
             }
 
             @DisplayName("scrape : 処理ステータスがすべて [9（ERROR）] のときは除外フラグをONにする")
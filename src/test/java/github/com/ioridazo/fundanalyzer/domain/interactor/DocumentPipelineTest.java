@@ -0,0 +1,78 @@
+package github.com.ioridazo.fundanalyzer.domain.interactor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DocumentPipeline documentPipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        documentPipeline = new DocumentPipeline(meterRegistry, 1, 1, 1, 1, 1, 1, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        documentPipeline.shutdown();
+    }
+
+    @Nested
+    class submit {
+
+        @DisplayName("submit : 処理を実行して件数を記録する")
+        @Test
+        void ok() {
+            var actual = documentPipeline.scrape().submit(() -> "scraped").join();
+
+            assertEquals("scraped", actual);
+            assertEquals(1, meterRegistry.get("fundanalyzer.pipeline.stage.processed").tag("stage", "scrape").timer().count());
+            assertEquals(0, meterRegistry.get("fundanalyzer.pipeline.stage.processed").tag("stage", "download").timer().count());
+        }
+
+        @DisplayName("submit : 待機数が上限に達しているときは空きができるまで待機する")
+        @Test
+        void backpressure() throws InterruptedException {
+            var latch = new CountDownLatch(1);
+            var stage = documentPipeline.download();
+
+            // 実行中1件と待機中1件で上限に達する
+            var first = stage.submit(() -> await(latch));
+            var second = stage.submit(() -> await(latch));
+            var third = CompletableFuture.supplyAsync(() -> stage.submit(() -> true).join());
+
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertFalse(third.isDone());
+            assertEquals(1.0, meterRegistry.get("fundanalyzer.pipeline.stage.queue.depth").tag("stage", "download").gauge().value());
+
+            latch.countDown();
+            assertTrue(first.join());
+            assertTrue(second.join());
+            assertTrue(third.join());
+        }
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
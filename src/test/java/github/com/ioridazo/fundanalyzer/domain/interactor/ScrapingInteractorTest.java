@@ -2,15 +2,19 @@ package github.com.ioridazo.fundanalyzer.domain.interactor;
 
 import github.com.ioridazo.fundanalyzer.client.edinet.EdinetClient;
 import github.com.ioridazo.fundanalyzer.client.file.FileOperator;
-import github.com.ioridazo.fundanalyzer.domain.domain.dao.master.ScrapingKeywordDao;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.master.ScrapingKeywordEntity;
+import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.DocumentTypeCode;
 import github.com.ioridazo.fundanalyzer.domain.domain.entity.transaction.FinancialStatementEnum;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.NumericCellParser;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.XbrlFactScraping;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.XbrlScraping;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.FinancialTableResultBean;
 import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.Unit;
+import github.com.ioridazo.fundanalyzer.domain.domain.jsoup.bean.XbrlFactResultBean;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.CompanySpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.DocumentSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.FinancialStatementSpecification;
+import github.com.ioridazo.fundanalyzer.domain.domain.specification.ScrapingKeywordSpecification;
 import github.com.ioridazo.fundanalyzer.domain.domain.specification.SubjectSpecification;
 import github.com.ioridazo.fundanalyzer.domain.value.BsSubject;
 import github.com.ioridazo.fundanalyzer.domain.value.Company;
@@ -25,9 +29,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.util.Pair;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -46,40 +53,51 @@ import static org.mockito.Mockito.when;
 
 class ScrapingInteractorTest {
 
-    private ScrapingKeywordDao scrapingKeywordDao;
     private CompanySpecification companySpecification;
     private SubjectSpecification subjectSpecification;
     private DocumentSpecification documentSpecification;
     private FinancialStatementSpecification financialStatementSpecification;
+    private ScrapingKeywordSpecification scrapingKeywordSpecification;
     private XbrlScraping xbrlScraping;
+    private XbrlFactScraping xbrlFactScraping;
     private FileOperator fileOperator;
     private EdinetClient edinetClient;
+    private PlatformTransactionManager transactionManager;
 
     private ScrapingInteractor scrapingInteractor;
 
     @BeforeEach
     void setUp() {
-        scrapingKeywordDao = Mockito.mock(ScrapingKeywordDao.class);
         companySpecification = Mockito.mock(CompanySpecification.class);
         subjectSpecification = Mockito.mock(SubjectSpecification.class);
         documentSpecification = Mockito.mock(DocumentSpecification.class);
         financialStatementSpecification = Mockito.mock(FinancialStatementSpecification.class);
+        scrapingKeywordSpecification = Mockito.mock(ScrapingKeywordSpecification.class);
         xbrlScraping = Mockito.mock(XbrlScraping.class);
+        xbrlFactScraping = Mockito.mock(XbrlFactScraping.class);
         fileOperator = Mockito.mock(FileOperator.class);
         edinetClient = Mockito.mock(EdinetClient.class);
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
 
         scrapingInteractor = Mockito.spy(new ScrapingInteractor(
-                scrapingKeywordDao,
                 companySpecification,
                 subjectSpecification,
                 documentSpecification,
                 financialStatementSpecification,
+                scrapingKeywordSpecification,
                 xbrlScraping,
+                xbrlFactScraping,
+                new NumericCellParser(),
                 fileOperator,
-                edinetClient
+                edinetClient,
+                new TransactionTemplate(transactionManager),
+                Runnable::run
         ));
         scrapingInteractor.pathEdinet = "pathEdinet";
         scrapingInteractor.pathDecode = "pathDecode";
+        scrapingInteractor.xbrlFactTargetList = List.of("1", "2");
+        scrapingInteractor.decodeZipFile = true;
+        scrapingInteractor.decodeTargetList = List.of("PublicDoc/*honbun*", "PublicDoc/*.xbrl");
     }
 
     @Nested
@@ -93,8 +111,9 @@ class ScrapingInteractorTest {
             assertDoesNotThrow(() -> scrapingInteractor.download(document));
             verify(edinetClient, times(1)).acquisition(any(), any());
             verify(documentSpecification, times(1)).updateDownloadToDone(document);
-            verify(fileOperator, times(1)).decodeZipFile(any(), any());
+            verify(fileOperator, times(1)).decodeZipFile(any(), any(), any());
             verify(documentSpecification, times(1)).updateDecodeToDone(document);
+            verify(xbrlScraping, times(1)).index(any());
         }
 
         @DisplayName("download : ダウンロード処理に失敗したとき")
@@ -105,19 +124,46 @@ class ScrapingInteractorTest {
             verify(edinetClient, times(1)).acquisition(any(), any());
             verify(documentSpecification, times(1)).updateDownloadToError(document);
             verify(documentSpecification, times(0)).updateDownloadToDone(document);
-            verify(fileOperator, times(0)).decodeZipFile(any(), any());
+            verify(fileOperator, times(0)).decodeZipFile(any(), any(), any());
             verify(documentSpecification, times(0)).updateDecodeToDone(document);
         }
 
         @DisplayName("download : zipファイルの解凍処理に失敗したとき")
         @Test
         void iOException() throws IOException {
-            doThrow(new IOException()).when(fileOperator).decodeZipFile(any(), any());
+            doThrow(new IOException()).when(fileOperator).decodeZipFile(any(), any(), any());
             assertDoesNotThrow(() -> scrapingInteractor.download(document));
             verify(edinetClient, times(1)).acquisition(any(), any());
             verify(documentSpecification, times(0)).updateDownloadToError(document);
             verify(documentSpecification, times(1)).updateDownloadToDone(document);
-            verify(fileOperator, times(1)).decodeZipFile(any(), any());
+            verify(fileOperator, times(1)).decodeZipFile(any(), any(), any());
+            verify(documentSpecification, times(0)).updateDecodeToDone(document);
+            verify(documentSpecification, times(1)).updateDecodeToError(document);
+        }
+
+        @DisplayName("download : zipファイルを解凍せずに索引を作成する")
+        @Test
+        void execute_zipFile() throws IOException {
+            scrapingInteractor.decodeZipFile = false;
+            var zipFile = Mockito.mock(FileSystem.class);
+            when(fileOperator.openZipFile(any())).thenReturn(zipFile);
+
+            assertDoesNotThrow(() -> scrapingInteractor.download(document));
+            verify(documentSpecification, times(1)).updateDownloadToDone(document);
+            verify(fileOperator, times(0)).decodeZipFile(any(), any(), any());
+            verify(documentSpecification, times(1)).updateDecodeToDone(document);
+            verify(xbrlScraping, times(1)).index(any());
+            verify(zipFile, times(1)).close();
+        }
+
+        @DisplayName("download : zipファイルの読み取りに失敗したとき")
+        @Test
+        void iOException_zipFile() throws IOException {
+            scrapingInteractor.decodeZipFile = false;
+            when(fileOperator.openZipFile(any())).thenThrow(IOException.class);
+
+            assertDoesNotThrow(() -> scrapingInteractor.download(document));
+            verify(documentSpecification, times(1)).updateDownloadToDone(document);
             verify(documentSpecification, times(0)).updateDecodeToDone(document);
             verify(documentSpecification, times(1)).updateDecodeToError(document);
         }
@@ -129,13 +175,13 @@ class ScrapingInteractorTest {
         Document document = defaultDocument();
         Company company = defaultCompany();
 
-        File file = new File("file");
+        Path file = Path.of("file");
         ScrapingKeywordEntity scrapingKeyword = new ScrapingKeywordEntity(null, null, "keyword", null, null);
 
         @BeforeEach
         void setUp() {
             when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.of(company));
-            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.BALANCE_SHEET));
+            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.BALANCE_SHEET), any());
         }
 
         @DisplayName("bs : 貸借対照表をスクレイピングする")
@@ -171,10 +217,99 @@ class ScrapingInteractorTest {
             verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.BALANCE_SHEET, "file");
         }
 
+        @DisplayName("bs : HTMLのテーブルの科目をXBRLインスタンスの値で登録し、対応する要素がない科目はテーブルの値で登録する")
+        @Test
+        void insert_xbrlFact() {
+            var instanceFile = Path.of("instance.xbrl");
+            var currentAssets = new BsSubject("1", null, null, null);
+            var heading = new BsSubject("2", null, null, null);
+            var fact = XbrlFactResultBean.of("jppfs_cor:CurrentAssets", "CurrentYearInstant", "476095000000");
+            var liabilities = XbrlFactResultBean.of("jppfs_cor:Liabilities", "CurrentYearInstant", "100");
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(
+                    FinancialTableResultBean.of("流動資産合計", null, "476,095", Unit.MILLIONS_OF_YEN),
+                    FinancialTableResultBean.of("流動資産", null, "2", Unit.THOUSANDS_OF_YEN)
+            ));
+            when(scrapingKeywordSpecification.isConsolidated(scrapingKeyword)).thenReturn(true);
+            when(xbrlFactScraping.findInstanceFile(any())).thenReturn(Optional.of(instanceFile));
+            when(xbrlFactScraping.scrapeFinancialStatement(eq(instanceFile), any(), eq("CurrentYearInstant")))
+                    .thenReturn(List.of(fact, liabilities));
+            when(subjectSpecification.findBsSubject("流動資産合計")).thenReturn(Optional.of(currentAssets));
+            when(subjectSpecification.findBsSubject("流動資産")).thenReturn(Optional.of(heading));
+            when(subjectSpecification.findBsSubject("負債合計")).thenReturn(Optional.of(new BsSubject("3", null, null, null)));
+            doNothing().when(scrapingInteractor).doBsOptionIfTarget(company, document);
+
+            assertDoesNotThrow(() -> scrapingInteractor.bs(document));
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "1", document, 476095000000L);
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "2", document, 2000L);
+            // HTMLのテーブルに存在しない科目は登録しない
+            verify(financialStatementSpecification, times(0))
+                    .insert(eq(company), eq(FinancialStatementEnum.BALANCE_SHEET), eq("3"), eq(document), any());
+            verify(scrapingInteractor, times(1)).doBsOptionIfTarget(company, document);
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.BALANCE_SHEET, "file");
+        }
+
+        @DisplayName("bs : 個別財務諸表のテーブルのときはXBRLインスタンスの個別財務諸表の値を読み取る")
+        @Test
+        void insert_xbrlFact_nonConsolidated() {
+            var instanceFile = Path.of("instance.xbrl");
+            var fact = XbrlFactResultBean.of(
+                    "jppfs_cor:CurrentAssets", "CurrentYearInstant_NonConsolidatedMember", "476095000000");
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(
+                    FinancialTableResultBean.of("流動資産合計", null, "476,095", Unit.MILLIONS_OF_YEN)));
+            when(scrapingKeywordSpecification.isConsolidated(scrapingKeyword)).thenReturn(false);
+            when(xbrlFactScraping.findInstanceFile(any())).thenReturn(Optional.of(instanceFile));
+            when(xbrlFactScraping.scrapeFinancialStatement(eq(instanceFile), any(), eq("CurrentYearInstant_NonConsolidatedMember")))
+                    .thenReturn(List.of(fact));
+            when(subjectSpecification.findBsSubject("流動資産合計")).thenReturn(Optional.of(new BsSubject("1", null, null, null)));
+            doNothing().when(scrapingInteractor).doBsOptionIfTarget(company, document);
+
+            assertDoesNotThrow(() -> scrapingInteractor.bs(document));
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "1", document, 476095000000L);
+        }
+
+        @DisplayName("bs : XBRLインスタンスに値が存在しないときはHTMLから読み取る")
+        @Test
+        void insert_xbrlFactEmpty() {
+            var resultBean = FinancialTableResultBean.of("subject", null, "1", Unit.THOUSANDS_OF_YEN);
+
+            when(xbrlFactScraping.findInstanceFile(any())).thenReturn(Optional.of(Path.of("instance.xbrl")));
+            when(xbrlFactScraping.scrapeFinancialStatement(any(), any(), any())).thenReturn(List.of());
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(resultBean));
+            when(subjectSpecification.findBsSubject("subject")).thenReturn(Optional.of(new BsSubject("id", null, null, null)));
+            doNothing().when(scrapingInteractor).doBsOptionIfTarget(company, document);
+
+            assertDoesNotThrow(() -> scrapingInteractor.bs(document));
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "id", document, 1000L);
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.BALANCE_SHEET, "file");
+            verify(documentSpecification, times(0)).updateFsToError(document, FinancialStatementEnum.BALANCE_SHEET);
+        }
+
+        @DisplayName("bs : XBRLインスタンスから読み取る対象でないときはHTMLから読み取る")
+        @Test
+        void insert_notXbrlFactTarget() {
+            var resultBean = FinancialTableResultBean.of("subject", null, "1", Unit.THOUSANDS_OF_YEN);
+            scrapingInteractor.xbrlFactTargetList = List.of();
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(resultBean));
+            when(subjectSpecification.findBsSubject("subject")).thenReturn(Optional.of(new BsSubject("id", null, null, null)));
+            doNothing().when(scrapingInteractor).doBsOptionIfTarget(company, document);
+
+            assertDoesNotThrow(() -> scrapingInteractor.bs(document));
+            verify(xbrlFactScraping, times(0)).findInstanceFile(any());
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "id", document, 1000L);
+        }
+
         @DisplayName("bs : キーワードに合致するファイルが存在しないときはエラーにする")
         @Test
         void fundanalyzerFileException() {
-            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any());
+            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any(), any());
 
             assertDoesNotThrow(() -> scrapingInteractor.bs(document));
             verify(scrapingInteractor, times(0)).doBsOptionIfTarget(company, document);
@@ -232,13 +367,13 @@ class ScrapingInteractorTest {
         Document document = defaultDocument();
         Company company = defaultCompany();
 
-        File file = new File("file");
+        Path file = Path.of("file");
         ScrapingKeywordEntity scrapingKeyword = new ScrapingKeywordEntity(null, null, "keyword", null, null);
 
         @BeforeEach
         void setUp() {
             when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.of(company));
-            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT));
+            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT), any());
         }
 
         @DisplayName("pl : 損益計算書をスクレイピングする")
@@ -272,10 +407,31 @@ class ScrapingInteractorTest {
             verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "file");
         }
 
+        @DisplayName("pl : HTMLのテーブルの科目をXBRLインスタンスの値で登録する")
+        @Test
+        void insert_xbrlFact() {
+            var instanceFile = Path.of("instance.xbrl");
+            var plSubject = new PlSubject("id", null, null, null);
+            var fact = XbrlFactResultBean.of("jppfs_cor:OperatingIncome", "CurrentYearDuration", "-15000000");
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(
+                    FinancialTableResultBean.of("営業損失（△）", null, "△15,000", Unit.THOUSANDS_OF_YEN)));
+            when(scrapingKeywordSpecification.isConsolidated(scrapingKeyword)).thenReturn(true);
+            when(xbrlFactScraping.findInstanceFile(any())).thenReturn(Optional.of(instanceFile));
+            when(xbrlFactScraping.scrapeFinancialStatement(eq(instanceFile), any(), eq("CurrentYearDuration"))).thenReturn(List.of(fact));
+            when(subjectSpecification.findPlSubject("営業損失（△）")).thenReturn(Optional.of(plSubject));
+            when(subjectSpecification.findPlSubject("営業利益")).thenReturn(Optional.of(plSubject));
+
+            assertDoesNotThrow(() -> scrapingInteractor.pl(document));
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "id", document, -15000000L);
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "file");
+        }
+
         @DisplayName("pl : キーワードに合致するファイルが存在しないときはエラーにする")
         @Test
         void fundanalyzerFileException() {
-            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any());
+            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any(), any());
 
             assertDoesNotThrow(() -> scrapingInteractor.pl(document));
             verify(scrapingInteractor, times(0)).doBsOptionIfTarget(company, document);
@@ -297,13 +453,13 @@ class ScrapingInteractorTest {
         Document document = defaultDocument();
         Company company = defaultCompany();
 
-        File file = new File("file");
+        Path file = Path.of("file");
         ScrapingKeywordEntity scrapingKeyword = new ScrapingKeywordEntity(null, null, "keyword", null, null);
 
         @BeforeEach
         void setUp() {
             when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.of(company));
-            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES));
+            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), eq(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES), any());
         }
 
         @DisplayName("ns : 株式総数をスクレイピングする")
@@ -321,7 +477,7 @@ class ScrapingInteractorTest {
         @DisplayName("ns : キーワードに合致するファイルが存在しないときはエラーにする")
         @Test
         void fundanalyzerFileException() {
-            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any());
+            doThrow(new FundanalyzerFileException()).when(scrapingInteractor).findTargetFile(any(), any(), any());
 
             assertDoesNotThrow(() -> scrapingInteractor.ns(document));
             verify(scrapingInteractor, times(0)).doBsOptionIfTarget(company, document);
@@ -337,6 +493,89 @@ class ScrapingInteractorTest {
         }
     }
 
+    @Nested
+    class scrape {
+
+        Document document = defaultDocument();
+        Company company = defaultCompany();
+
+        Path file = Path.of("file");
+        ScrapingKeywordEntity scrapingKeyword = new ScrapingKeywordEntity(null, null, "keyword", null, null);
+        List<FinancialStatementEnum> fsList = List.of(
+                FinancialStatementEnum.BALANCE_SHEET,
+                FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT,
+                FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES
+        );
+
+        @BeforeEach
+        void setUp() {
+            when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.of(company));
+            doReturn(Pair.of(file, scrapingKeyword)).when(scrapingInteractor).findTargetFile(any(), any(), any());
+            doNothing().when(scrapingInteractor).doBsOptionIfTarget(company, document);
+        }
+
+        @DisplayName("scrape : 財務諸表をまとめてスクレイピングし、一つのトランザクションで登録する")
+        @Test
+        void insert() {
+            var resultBean = FinancialTableResultBean.of("subject", null, "1", Unit.THOUSANDS_OF_YEN);
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(resultBean));
+            when(subjectSpecification.findBsSubject("subject")).thenReturn(Optional.of(new BsSubject("bs", null, null, null)));
+            when(subjectSpecification.findPlSubject("subject")).thenReturn(Optional.of(new PlSubject("pl", null, null, null)));
+            when(xbrlScraping.scrapeNumberOfShares(file, "keyword")).thenReturn("1000");
+
+            assertDoesNotThrow(() -> scrapingInteractor.scrape(document, fsList));
+            verify(companySpecification, times(1)).findCompanyByEdinetCode("edinetCode");
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.BALANCE_SHEET, "bs", document, 1000L);
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "pl", document, 1000L);
+            verify(financialStatementSpecification, times(1))
+                    .insert(company, FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES, "0", document, 1000L);
+            verify(scrapingInteractor, times(1)).doBsOptionIfTarget(company, document);
+            fsList.forEach(fs -> verify(documentSpecification, times(1)).updateFsToDone(document, fs, "file"));
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+        }
+
+        @DisplayName("scrape : 読み取りに失敗した財務諸表のみエラーにする")
+        @Test
+        void fundanalyzerFileException() {
+            var resultBean = FinancialTableResultBean.of("subject", null, "1", Unit.THOUSANDS_OF_YEN);
+
+            when(xbrlScraping.scrapeFinancialStatement(file, "keyword")).thenReturn(List.of(resultBean));
+            when(subjectSpecification.findBsSubject("subject")).thenReturn(Optional.of(new BsSubject("bs", null, null, null)));
+            when(subjectSpecification.findPlSubject("subject")).thenReturn(Optional.of(new PlSubject("pl", null, null, null)));
+            doThrow(new FundanalyzerFileException()).when(scrapingInteractor)
+                    .findTargetFile(any(), eq(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES), any());
+
+            assertDoesNotThrow(() -> scrapingInteractor.scrape(document, fsList));
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.BALANCE_SHEET, "file");
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.PROFIT_AND_LESS_STATEMENT, "file");
+            verify(documentSpecification, times(1)).updateFsToError(document, FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES);
+            verify(financialStatementSpecification, times(0))
+                    .insert(any(), eq(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES), any(), any(), any());
+        }
+
+        @DisplayName("scrape : 対象の財務諸表のみスクレイピングする")
+        @Test
+        void insert_target() {
+            when(xbrlScraping.scrapeNumberOfShares(file, "keyword")).thenReturn("1000");
+
+            assertDoesNotThrow(() -> scrapingInteractor.scrape(document, List.of(FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES)));
+            verify(xbrlScraping, times(0)).scrapeFinancialStatement(any(), any());
+            verify(scrapingInteractor, times(0)).doBsOptionIfTarget(company, document);
+            verify(documentSpecification, times(1)).updateFsToDone(document, FinancialStatementEnum.TOTAL_NUMBER_OF_SHARES, "file");
+        }
+
+        @DisplayName("scrape : 企業情報が存在しないときはエラーにする")
+        @Test
+        void fundanalyzerRuntimeException() {
+            when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.empty());
+            assertThrows(FundanalyzerRuntimeException.class, () -> scrapingInteractor.scrape(document, fsList));
+        }
+    }
+
     @Nested
     class findTargetFile {
 
@@ -347,36 +586,113 @@ class ScrapingInteractorTest {
                 "remarks",
                 null
         );
-        File targetFile = new File("");
+        Path targetFile = Path.of("");
 
         @DisplayName("findTargetFile : フォルダから処理対象のファイルを取得する")
         @Test
         void ok() {
-            when(scrapingKeywordDao.selectByFinancialStatementId("1")).thenReturn(List.of(scrapingKeyword));
-            when(xbrlScraping.findFile(targetFile, scrapingKeyword)).thenReturn(Optional.of(new File("actual")));
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120)).thenReturn(List.of(scrapingKeyword));
+            when(xbrlScraping.findFile(targetFile, scrapingKeyword)).thenReturn(Optional.of(Path.of("actual")));
 
-            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET);
+            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120);
 
-            assertEquals(new File("actual"), actual.getFirst());
+            assertEquals(Path.of("actual"), actual.getFirst());
             assertEquals(scrapingKeyword, actual.getSecond());
         }
 
         @DisplayName("findTargetFile : 対象のファイルが存在しなかったらエラー発生する")
         @Test
         void noFile() {
-            when(scrapingKeywordDao.selectByFinancialStatementId("1")).thenReturn(List.of(scrapingKeyword));
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120)).thenReturn(List.of(scrapingKeyword));
             when(xbrlScraping.findFile(targetFile, scrapingKeyword)).thenThrow(FundanalyzerFileException.class);
 
-            assertThrows(FundanalyzerFileException.class, () -> scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET));
+            assertThrows(FundanalyzerFileException.class, () -> scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120));
         }
 
         @DisplayName("findTargetFile : キーワードに合致するファイルが存在しなかったらエラー発生する")
         @Test
         void noKeyword() {
-            when(scrapingKeywordDao.selectByFinancialStatementId("1")).thenReturn(List.of(scrapingKeyword));
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120)).thenReturn(List.of(scrapingKeyword));
             when(xbrlScraping.findFile(targetFile, scrapingKeyword)).thenReturn(Optional.empty());
 
-            assertThrows(FundanalyzerFileException.class, () -> scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET));
+            assertThrows(FundanalyzerFileException.class, () -> scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120));
+        }
+
+        @DisplayName("findTargetFile : 合致件数の多い連結財務諸表のキーワードに合致して登録順で優先されるものが存在しなければそれを返却する")
+        @Test
+        void consolidated() {
+            var consolidated = new ScrapingKeywordEntity(1, "1", "ConsolidatedBalanceSheetTextBlock", null, null);
+            var quarterly = new ScrapingKeywordEntity(6, "1", "QuarterlyConsolidatedBalanceSheetTextBlock", null, null);
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140))
+                    .thenReturn(List.of(quarterly, consolidated));
+            when(scrapingKeywordSpecification.isConsolidated(any())).thenReturn(true);
+            when(xbrlScraping.findFile(targetFile, quarterly)).thenReturn(Optional.of(Path.of("quarterly")));
+            when(xbrlScraping.findFile(targetFile, consolidated)).thenReturn(Optional.empty());
+
+            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140);
+
+            assertEquals(Path.of("quarterly"), actual.getFirst());
+            assertEquals(quarterly, actual.getSecond());
+            verify(scrapingKeywordSpecification, times(1)).countHit(quarterly, DocumentTypeCode.DTC_140);
+        }
+
+        @DisplayName("findTargetFile : 合致件数の多い連結財務諸表のキーワードに合致しても登録順で優先される連結財務諸表があればそちらを返却する")
+        @Test
+        void consolidated_lowerIdExists() {
+            var consolidated = new ScrapingKeywordEntity(1, "1", "ConsolidatedBalanceSheetTextBlock", null, null);
+            var quarterly = new ScrapingKeywordEntity(6, "1", "QuarterlyConsolidatedBalanceSheetTextBlock", null, null);
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140))
+                    .thenReturn(List.of(quarterly, consolidated));
+            when(scrapingKeywordSpecification.isConsolidated(any())).thenReturn(true);
+            when(xbrlScraping.findFile(targetFile, quarterly)).thenReturn(Optional.of(Path.of("quarterly")));
+            when(xbrlScraping.findFile(targetFile, consolidated)).thenReturn(Optional.of(Path.of("consolidated")));
+
+            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_140);
+
+            assertEquals(Path.of("consolidated"), actual.getFirst());
+            assertEquals(consolidated, actual.getSecond());
+            verify(scrapingKeywordSpecification, times(1)).countHit(consolidated, DocumentTypeCode.DTC_140);
+            verify(scrapingKeywordSpecification, times(0)).countHit(quarterly, DocumentTypeCode.DTC_140);
+        }
+
+        @DisplayName("findTargetFile : 個別財務諸表のキーワードに合致しても登録順で優先される連結財務諸表があればそちらを返却する")
+        @Test
+        void nonConsolidated_consolidatedExists() {
+            var consolidated = new ScrapingKeywordEntity(1, "1", "ConsolidatedBalanceSheetTextBlock", null, null);
+            var nonConsolidated = new ScrapingKeywordEntity(2, "1", "BalanceSheetTextBlock", null, null);
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120))
+                    .thenReturn(List.of(nonConsolidated, consolidated));
+            when(scrapingKeywordSpecification.isConsolidated(consolidated)).thenReturn(true);
+            when(xbrlScraping.findFile(targetFile, nonConsolidated)).thenReturn(Optional.of(Path.of("nonConsolidated")));
+            when(xbrlScraping.findFile(targetFile, consolidated)).thenReturn(Optional.of(Path.of("consolidated")));
+
+            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120);
+
+            assertEquals(Path.of("consolidated"), actual.getFirst());
+            assertEquals(consolidated, actual.getSecond());
+            verify(scrapingKeywordSpecification, times(1)).countHit(consolidated, DocumentTypeCode.DTC_120);
+        }
+
+        @DisplayName("findTargetFile : 連結財務諸表が存在しなければ個別財務諸表のキーワードのファイルを返却する")
+        @Test
+        void nonConsolidated() {
+            var consolidated = new ScrapingKeywordEntity(1, "1", "ConsolidatedBalanceSheetTextBlock", null, null);
+            var nonConsolidated = new ScrapingKeywordEntity(2, "1", "BalanceSheetTextBlock", null, null);
+            var quarterly = new ScrapingKeywordEntity(6, "1", "QuarterlyConsolidatedBalanceSheetTextBlock", null, null);
+            when(scrapingKeywordSpecification.findKeywordList(FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120))
+                    .thenReturn(List.of(nonConsolidated, consolidated, quarterly));
+            when(scrapingKeywordSpecification.isConsolidated(consolidated)).thenReturn(true);
+            when(scrapingKeywordSpecification.isConsolidated(quarterly)).thenReturn(true);
+            when(xbrlScraping.findFile(targetFile, nonConsolidated)).thenReturn(Optional.of(Path.of("nonConsolidated")));
+            when(xbrlScraping.findFile(targetFile, consolidated)).thenReturn(Optional.empty());
+
+            var actual = scrapingInteractor.findTargetFile(targetFile, FinancialStatementEnum.BALANCE_SHEET, DocumentTypeCode.DTC_120);
+
+            assertEquals(Path.of("nonConsolidated"), actual.getFirst());
+            assertEquals(nonConsolidated, actual.getSecond());
+            // 登録順で個別財務諸表より後のキーワードは確認しない
+            verify(xbrlScraping, times(0)).findFile(targetFile, quarterly);
+            verify(scrapingKeywordSpecification, times(1)).countHit(nonConsolidated, DocumentTypeCode.DTC_120);
         }
     }
 
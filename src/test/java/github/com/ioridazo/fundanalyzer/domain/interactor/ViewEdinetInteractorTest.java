@@ -21,6 +21,7 @@ import org.mockito.Mockito;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -118,7 +119,7 @@ class ViewEdinetInteractorTest {
             when(documentSpecification.targetList(inputData)).thenReturn(List.of(document));
             when(documentSpecification.allStatusDone(document)).thenReturn(false);
             when(companySpecification.findCompanyByEdinetCode("edinetCode")).thenReturn(Optional.of(company));
-            when(financialStatementSpecification.getFinanceValue(document)).thenReturn(financeValue);
+            when(financialStatementSpecification.getFinanceValueMap(List.of(document))).thenReturn(Map.of("id", financeValue));
 
             var actual = viewEdinetInteractor.viewEdinetDetail(inputData);
             assertAll(
@@ -0,0 +1,90 @@
+package github.com.ioridazo.fundanalyzer.domain.service;
+
+import github.com.ioridazo.fundanalyzer.exception.FundanalyzerRuntimeException;
+import github.com.ioridazo.fundanalyzer.web.model.DateInputData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackfillOrchestratorTest {
+
+    private BackfillOrchestrator backfillOrchestrator;
+
+    private final DateInputData day1 = DateInputData.of(LocalDate.parse("2021-05-01"));
+    private final DateInputData day2 = DateInputData.of(LocalDate.parse("2021-05-02"));
+    private final DateInputData day3 = DateInputData.of(LocalDate.parse("2021-05-03"));
+
+    @BeforeEach
+    void setUp() {
+        backfillOrchestrator = new BackfillOrchestrator(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backfillOrchestrator.shutdown();
+    }
+
+    @Nested
+    class run {
+
+        @DisplayName("run : 提出日ごとの処理を並列に実行し、すべて完了してから全体の処理を提出日順に実行する")
+        @Test
+        void ok() {
+            // すべての提出日が同時に実行されていないと通過できない
+            var latch = new CountDownLatch(3);
+            var events = Collections.synchronizedList(new ArrayList<String>());
+
+            backfillOrchestrator.run(
+                    List.of(day1, day2, day3),
+                    date -> {
+                        latch.countDown();
+                        assertTrue(await(latch));
+                        events.add("perDate:" + date.getDate());
+                    },
+                    date -> events.add("afterAll:" + date.getDate())
+            );
+
+            assertEquals(List.of("afterAll:2021-05-01", "afterAll:2021-05-02", "afterAll:2021-05-03"), events.subList(3, 6));
+            assertTrue(events.subList(0, 3).stream().allMatch(event -> event.startsWith("perDate:")));
+        }
+
+        @DisplayName("run : 処理に失敗した提出日は全体の処理から除外して、最後に例外を返却する")
+        @Test
+        void failure() {
+            var afterAll = Collections.synchronizedList(new ArrayList<DateInputData>());
+
+            assertThrows(FundanalyzerRuntimeException.class, () -> backfillOrchestrator.run(
+                    List.of(day1, day2, day3),
+                    date -> {
+                        if (day2.equals(date)) {
+                            throw new FundanalyzerRuntimeException();
+                        }
+                    },
+                    afterAll::add
+            ));
+            assertEquals(List.of(day1, day3), afterAll);
+        }
+    }
+
+    private static boolean await(final CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}